@@ -0,0 +1,49 @@
+package com.drogueria.bellavista.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTOs de estado del pool de conexiones
+ */
+public class ConnectionPoolDTO {
+
+    /**
+     * Estado actual del pool y llamadores que más tiempo retienen conexiones
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private Integer active;
+        private Integer idle;
+        private Integer pending;
+        private Integer total;
+        private Integer maximumPoolSize;
+        private Integer minimumIdle;
+        private Long connectionTimeoutMs;
+        private Double meanAcquireMs;
+        private Double maxAcquireMs;
+        private List<Holder> holders;
+    }
+
+    /**
+     * Retención de conexiones por llamador
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Holder {
+        private String caller;
+        private Long count;
+        private Double totalMs;
+        private Double meanMs;
+        private Double maxMs;
+    }
+}
@@ -0,0 +1,24 @@
+package com.drogueria.bellavista.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de consumo de memoria y CPU de un endpoint (método controlador)
+ * Totales y medias desde el arranque; los máximos son de la ventana reciente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointResourceDTO {
+    private String handler;
+    private Long requests;
+    private Long totalAllocatedBytes;
+    private Long meanAllocatedBytes;
+    private Long maxAllocatedBytes;
+    private Double meanCpuMs;
+    private Double maxCpuMs;
+}
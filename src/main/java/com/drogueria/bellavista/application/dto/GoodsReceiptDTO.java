@@ -69,6 +69,17 @@ public class GoodsReceiptDTO {
         private LocalDateTime expectedDeliveryDate;
     }
     
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchReceiveRequest {
+        
+        @NotEmpty(message = "Goods receipt IDs cannot be empty")
+        @Size(max = 100, message = "Cannot receive more than 100 goods receipts at once")
+        private List<@NotNull(message = "Goods receipt ID is required") Long> goodsReceiptIds;
+    }
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -103,4 +114,15 @@ public class GoodsReceiptDTO {
         private Integer totalReceivedQuantity;
         private List<GoodsReceiptItemResponse> items;
     }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchReceiveResponse {
+        private Integer totalReceipts;
+        private Integer distinctProducts;
+        private Integer totalReceivedQuantity;
+        private List<Response> receipts;
+    }
 }
@@ -108,6 +108,7 @@ public class ProductDTO {
         private Boolean active;
         private Boolean needsRestock;
         private Boolean available;
+        private Integer stockSlots;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
     }
@@ -125,4 +126,48 @@ public class ProductDTO {
         @Min(value = 1, message = "La cantidad debe ser al menos 1")
         private Integer quantity;
     }
+    
+    /**
+     * DTO para repartir el stock de un producto en varias filas
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockShardingRequest {
+        
+        @NotNull(message = "La cantidad de particiones es obligatoria")
+        @Min(value = 2, message = "Se requieren al menos 2 particiones")
+        @Max(value = 64, message = "No se permiten más de 64 particiones")
+        private Integer slots;
+    }
+    
+    /**
+     * DTO de respuesta para un movimiento de stock
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockMovementResponse {
+        private Long id;
+        private Long productId;
+        private String movementType;
+        private Integer quantity;
+        private String reference;
+        private LocalDateTime createdAt;
+    }
+    
+    /**
+     * DTO de respuesta para stock a una fecha
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockAsOfResponse {
+        private Long productId;
+        private LocalDateTime at;
+        private Integer stock;
+    }
 }
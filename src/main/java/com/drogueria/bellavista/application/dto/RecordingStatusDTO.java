@@ -0,0 +1,24 @@
+package com.drogueria.bellavista.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de estado de la grabación JFR bajo demanda
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatusDTO {
+    private String name;
+    private String state;
+    private LocalDateTime startedAt;
+    private Long maxAgeMinutes;
+    private Long maxSizeMb;
+    private Long sizeBytes;
+}
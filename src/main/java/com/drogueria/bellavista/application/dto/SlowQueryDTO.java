@@ -0,0 +1,24 @@
+package com.drogueria.bellavista.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una sentencia SQL lenta
+ * Los parámetros se reportan por tipo (forma), nunca por valor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private String query;
+    private String sql;
+    private String parameters;
+    private Long elapsedMs;
+    private LocalDateTime executedAt;
+}
@@ -0,0 +1,38 @@
+package com.drogueria.bellavista.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTOs para Sincronización incremental
+ */
+public class SyncDTO {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangesResponse {
+        private List<ProductDTO.Response> products;
+        private List<CustomerDTO.Response> customers;
+        private List<SupplierDTO.Response> suppliers;
+        private List<DeletedRecord> deleted;
+        private Long nextSince;
+        private Boolean hasMore;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedRecord {
+        private String entityType;
+        private Long id;
+        private LocalDateTime deletedAt;
+    }
+}
@@ -8,6 +8,7 @@ import com.drogueria.bellavista.domain.model.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -78,6 +79,27 @@ public class GoodsReceiptUseCaseMapper {
             .build();
     }
     
+    /**
+     * Convierte el resultado de una recepción por lote a BatchReceiveResponse DTO
+     */
+    public GoodsReceiptDTO.BatchReceiveResponse toBatchResponse(List<GoodsReceipt> receipts) {
+        return GoodsReceiptDTO.BatchReceiveResponse.builder()
+            .totalReceipts(receipts.size())
+            .distinctProducts((int) receipts.stream()
+                .flatMap(receipt -> receipt.getItems().stream())
+                .filter(item -> item.getReceivedQuantity() != null && item.getReceivedQuantity() > 0)
+                .map(GoodsReceiptItem::getProductId)
+                .distinct()
+                .count())
+            .totalReceivedQuantity(receipts.stream()
+                .mapToInt(GoodsReceipt::getTotalReceivedQuantity)
+                .sum())
+            .receipts(receipts.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList()))
+            .build();
+    }
+    
     /**
      * Convierte GoodsReceiptItem a GoodsReceiptItemResponse DTO
      */
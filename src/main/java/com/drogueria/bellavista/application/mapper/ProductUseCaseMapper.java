@@ -2,6 +2,7 @@ package com.drogueria.bellavista.application.mapper;
 
 import com.drogueria.bellavista.application.dto.ProductDTO;
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
 import org.springframework.stereotype.Component;
 
 /**
@@ -69,8 +70,27 @@ public class ProductUseCaseMapper {
                 .active(product.getActive())
                 .needsRestock(product.needsRestock())
                 .available(product.isAvailable())
+                .stockSlots(product.getStockSlots())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
+    
+    /**
+     * Convierte un movimiento de stock a Response DTO
+     */
+    public ProductDTO.StockMovementResponse toResponse(StockMovement movement) {
+        if (movement == null) {
+            return null;
+        }
+        
+        return ProductDTO.StockMovementResponse.builder()
+                .id(movement.getId())
+                .productId(movement.getProductId())
+                .movementType(movement.getMovementType())
+                .quantity(movement.getQuantity())
+                .reference(movement.getReference())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,105 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.CustomerDTO;
+import com.drogueria.bellavista.application.dto.ProductDTO;
+import com.drogueria.bellavista.application.dto.SupplierDTO;
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
+import com.drogueria.bellavista.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de consultas - Lado de lectura de productos, clientes y proveedores
+ * Los endpoints GET reciben los DTO de respuesta tal como salen de la consulta,
+ * sin materializar entidades ni modelos de dominio. Lo único que se ajusta en
+ * memoria es el stock de los productos gestionados por el motor de inventario.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogQueryService {
+
+    private final ProductQueryRepository productQueryRepository;
+    private final CustomerQueryRepository customerQueryRepository;
+    private final SupplierQueryRepository supplierQueryRepository;
+    private final InventoryEngine inventoryEngine;
+
+    public ProductDTO.Response getProductById(Long id) {
+        return withEngineStock(productQueryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id)));
+    }
+
+    public ProductDTO.Response getProductByCode(String code) {
+        return withEngineStock(productQueryRepository.findByCode(code)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "code", code)));
+    }
+
+    public List<ProductDTO.Response> getProducts(boolean activeOnly) {
+        return withEngineStock(activeOnly
+            ? productQueryRepository.findAllActive()
+            : productQueryRepository.findAll());
+    }
+
+    public List<ProductDTO.Response> getProductsByCategory(String category) {
+        return withEngineStock(productQueryRepository.findByCategory(category));
+    }
+
+    public List<ProductDTO.Response> searchProductsByName(String name) {
+        return withEngineStock(productQueryRepository.findByNameContaining(name));
+    }
+
+    /**
+     * Productos por reabastecer: la consulta ya evalúa filas y particiones;
+     * los candidatos del motor de inventario se vuelven a evaluar en memoria
+     */
+    public List<ProductDTO.Response> getProductsNeedingRestock() {
+        return withEngineStock(productQueryRepository.findNeedingRestock()).stream()
+            .filter(response -> Boolean.TRUE.equals(response.getNeedsRestock()))
+            .collect(Collectors.toList());
+    }
+
+    public CustomerDTO.Response getCustomerById(Long id) {
+        return customerQueryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+    }
+
+    public List<CustomerDTO.Response> getCustomers(boolean activeOnly) {
+        return activeOnly ? customerQueryRepository.findAllActive() : customerQueryRepository.findAll();
+    }
+
+    public SupplierDTO.Response getSupplierById(Long id) {
+        return supplierQueryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id));
+    }
+
+    public SupplierDTO.Response getSupplierByCode(String code) {
+        return supplierQueryRepository.findByCode(code)
+            .orElseThrow(() -> new ResourceNotFoundException("Supplier", "code", code));
+    }
+
+    public List<SupplierDTO.Response> getSuppliers(boolean activeOnly) {
+        return activeOnly ? supplierQueryRepository.findAllActive() : supplierQueryRepository.findAll();
+    }
+
+    /**
+     * Reemplazar el stock por el del motor de inventario y recalcular los campos derivados
+     */
+    private ProductDTO.Response withEngineStock(ProductDTO.Response response) {
+        if (inventoryEngine.manages(response.getId())) {
+            int stock = inventoryEngine.stockOf(response.getId());
+            response.setStock(stock);
+            response.setNeedsRestock(response.getMinStock() != null && stock <= response.getMinStock());
+            response.setAvailable(Boolean.TRUE.equals(response.getActive()) && stock > 0);
+        }
+        return response;
+    }
+
+    private List<ProductDTO.Response> withEngineStock(List<ProductDTO.Response> responses) {
+        responses.forEach(this::withEngineStock);
+        return responses;
+    }
+}
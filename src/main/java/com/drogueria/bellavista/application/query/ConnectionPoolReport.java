@@ -0,0 +1,14 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.ConnectionPoolDTO;
+
+/**
+ * Puerto de lectura - Estado del pool de conexiones a la base de datos
+ */
+public interface ConnectionPoolReport {
+
+    /**
+     * Estado actual con, como máximo, {@code holders} llamadores ordenados por tiempo total de retención
+     */
+    ConnectionPoolDTO.Response status(int holders);
+}
@@ -0,0 +1,18 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.CustomerDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de lectura - Clientes proyectados directamente a DTO de respuesta
+ */
+public interface CustomerQueryRepository {
+
+    Optional<CustomerDTO.Response> findById(Long id);
+
+    List<CustomerDTO.Response> findAll();
+
+    List<CustomerDTO.Response> findAllActive();
+}
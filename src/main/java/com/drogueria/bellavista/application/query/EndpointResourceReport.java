@@ -0,0 +1,16 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.EndpointResourceDTO;
+
+import java.util.List;
+
+/**
+ * Puerto de lectura - Memoria asignada y CPU por endpoint
+ */
+public interface EndpointResourceReport {
+
+    /**
+     * Los que más memoria han asignado en total primero, como máximo {@code limit}
+     */
+    List<EndpointResourceDTO> heaviest(int limit);
+}
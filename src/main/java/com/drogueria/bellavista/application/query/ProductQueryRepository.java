@@ -0,0 +1,27 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.ProductDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de lectura - Productos proyectados directamente a DTO de respuesta
+ * El stock devuelto es el de base de datos (fila o suma de particiones)
+ */
+public interface ProductQueryRepository {
+
+    Optional<ProductDTO.Response> findById(Long id);
+
+    Optional<ProductDTO.Response> findByCode(String code);
+
+    List<ProductDTO.Response> findAll();
+
+    List<ProductDTO.Response> findAllActive();
+
+    List<ProductDTO.Response> findByCategory(String category);
+
+    List<ProductDTO.Response> findByNameContaining(String name);
+
+    List<ProductDTO.Response> findNeedingRestock();
+}
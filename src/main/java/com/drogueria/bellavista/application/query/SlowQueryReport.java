@@ -0,0 +1,16 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.SlowQueryDTO;
+
+import java.util.List;
+
+/**
+ * Puerto de lectura - Sentencias SQL lentas de la ventana de observación actual
+ */
+public interface SlowQueryReport {
+
+    /**
+     * Las más lentas primero, como máximo {@code limit}
+     */
+    List<SlowQueryDTO> slowest(int limit);
+}
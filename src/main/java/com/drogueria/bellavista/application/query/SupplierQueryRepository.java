@@ -0,0 +1,20 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.SupplierDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de lectura - Proveedores proyectados directamente a DTO de respuesta
+ */
+public interface SupplierQueryRepository {
+
+    Optional<SupplierDTO.Response> findById(Long id);
+
+    Optional<SupplierDTO.Response> findByCode(String code);
+
+    List<SupplierDTO.Response> findAll();
+
+    List<SupplierDTO.Response> findAllActive();
+}
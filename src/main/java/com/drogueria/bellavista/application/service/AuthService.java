@@ -2,6 +2,7 @@ package com.drogueria.bellavista.application.service;
 
 import com.drogueria.bellavista.domain.model.Role;
 import com.drogueria.bellavista.domain.model.User;
+import com.drogueria.bellavista.domain.service.PipelineStageEvent;
 import com.drogueria.bellavista.domain.service.UserService;
 import com.drogueria.bellavista.exception.AuthenticationException;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
@@ -70,21 +71,29 @@ public class AuthService implements UserDetailsService {
      */
     public String authenticateUser(String username, String password) {
         try {
+            PipelineStageEvent stage = PipelineStageEvent.start(PipelineStageEvent.AUTH, "load-user");
             User user = userService.getUserByUsername(username);
 
             if (!user.isActive()) {
                 throw new AuthenticationException("User account is disabled");
             }
+            stage.finish();
 
+            stage = PipelineStageEvent.start(PipelineStageEvent.AUTH, "verify-password");
             if (!userService.verifyPassword(password, user.getPassword())) {
                 throw new AuthenticationException("Invalid username or password");
             }
+            stage.finish();
 
             // Update last login
+            stage = PipelineStageEvent.start(PipelineStageEvent.AUTH, "update-last-login");
             userService.updateLastLogin(user.getId());
+            stage.finish();
 
             // Generate token using custom authentication-like object
+            stage = PipelineStageEvent.start(PipelineStageEvent.AUTH, "issue-token");
             String token = jwtUtils.generateTokenFromUsername(username);
+            stage.finish();
             return token;
 
         } catch (Exception e) {
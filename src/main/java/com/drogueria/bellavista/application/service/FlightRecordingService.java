@@ -0,0 +1,128 @@
+package com.drogueria.bellavista.application.service;
+
+import com.drogueria.bellavista.application.dto.RecordingStatusDTO;
+import com.drogueria.bellavista.exception.BusinessException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de grabación JFR bajo demanda
+ * Una sola grabación continua a la vez, acotada por antigüedad y tamaño para
+ * que pueda quedarse encendida mientras se espera un pico de latencia.
+ * Usa la configuración "profile" del JDK más los eventos bellavista.PipelineStage.
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    static final String RECORDING_NAME = "bellavista-on-demand";
+
+    @Value("${app.jfr.settings:profile}")
+    private String settings;
+
+    @Value("${app.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${app.jfr.max-size-mb:200}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private LocalDateTime startedAt;
+    private Path lastDump;
+
+    /**
+     * Iniciar la grabación; falla si ya hay una en curso
+     */
+    public synchronized RecordingStatusDTO start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BusinessException("Ya hay una grabación JFR en curso");
+        }
+        closeRecording();
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            started.setMaxSize(maxSizeMb * 1024 * 1024);
+            started.enable("bellavista.PipelineStage").withoutThreshold();
+            started.start();
+            recording = started;
+            startedAt = LocalDateTime.now();
+        } catch (IOException | ParseException ex) {
+            throw new BusinessException("No se pudo cargar la configuración JFR '" + settings + "': " + ex.getMessage());
+        }
+        log.info("Grabación JFR iniciada (máx. {} min / {} MB)", maxAgeMinutes, maxSizeMb);
+        return status();
+    }
+
+    /**
+     * Detener la grabación; sus datos quedan disponibles para descarga
+     */
+    public synchronized RecordingStatusDTO stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new BusinessException("No hay una grabación JFR en curso");
+        }
+        recording.stop();
+        log.info("Grabación JFR detenida");
+        return status();
+    }
+
+    public synchronized RecordingStatusDTO status() {
+        if (recording == null) {
+            return RecordingStatusDTO.builder().name(RECORDING_NAME).state("NONE").build();
+        }
+        return RecordingStatusDTO.builder()
+                .name(RECORDING_NAME)
+                .state(recording.getState().name())
+                .startedAt(startedAt)
+                .maxAgeMinutes(maxAgeMinutes)
+                .maxSizeMb(maxSizeMb)
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    /**
+     * Volcar la grabación (en curso o detenida) a un archivo .jfr temporal
+     * Cada volcado reemplaza al anterior.
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new BusinessException("No hay una grabación JFR para descargar");
+        }
+        try {
+            deleteLastDump();
+            Path file = Files.createTempFile("bellavista-", ".jfr");
+            recording.dump(file);
+            lastDump = file;
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+            lastDump = null;
+        }
+    }
+}
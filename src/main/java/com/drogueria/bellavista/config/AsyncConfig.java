@@ -1,13 +1,22 @@
 package com.drogueria.bellavista.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Configuration for async processing.
  * Enables @Async annotation for non-blocking email sending.
+ * Async tasks inherit the caller's trace context (and its log correlation ids).
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
 }
@@ -2,12 +2,17 @@ package com.drogueria.bellavista.config;
 
 import com.drogueria.bellavista.exception.AuthenticationException;
 import com.drogueria.bellavista.exception.BusinessException;
+import com.drogueria.bellavista.exception.ErrorCode;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
+import com.drogueria.bellavista.infrastructure.web.ErrorResponseWriter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,26 +53,18 @@ public class GlobalExceptionHandler {
      * Maneja ResourceNotFoundException
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex) {
-        ErrorResponse error = new ErrorResponse(
-            HttpStatus.NOT_FOUND.value(),
-            "Not Found",
-            ex.getMessage()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    public ResponseEntity<byte[]> handleResourceNotFound(ResourceNotFoundException ex) {
+        return ErrorResponseWriter.response(ex.getCode(), ex.getMessage());
     }
     
     /**
      * Maneja BusinessException
+     * Los rechazos de negocio son frecuentes (Métrica 2.2): se escriben con el
+     * cuerpo precalculado de su código en lugar de pasar por ErrorResponse y Jackson
      */
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
-        ErrorResponse error = new ErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
-            "Business Error",
-            ex.getMessage()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException ex) {
+        return ErrorResponseWriter.response(ex.getCode(), ex.getMessage());
     }
     
     /**
@@ -96,6 +93,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
+    /**
+     * Maneja conflictos de concurrencia (@Version, bloqueo no disponible) que agotaron los reintentos
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Concurrent Modification",
+            "El registro fue modificado por otra operación. Intente nuevamente"
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    /**
+     * Maneja el vencimiento del plazo de la petición (timeout de sentencia o de transacción)
+     */
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<byte[]> handleDeadlineExceeded(RuntimeException ex) {
+        return ErrorResponseWriter.response(ErrorCode.DEADLINE_EXCEEDED, ErrorCode.DEADLINE_EXCEEDED.format());
+    }
+    
     /**
      * Maneja errores de validación
      */
@@ -50,6 +50,7 @@ public class SecurityConfig {
                     config.setAllowedOrigins(Arrays.asList("https://invetoryrx.onrender.com", "http://localhost:5173"));
                     config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
                     config.setAllowedHeaders(Arrays.asList("*"));
+                    config.setExposedHeaders(Arrays.asList("ETag", "Server-Timing"));
                     config.setAllowCredentials(true);
                     return config;
 
@@ -1,21 +1,79 @@
 package com.drogueria.bellavista.config;
 
+import com.drogueria.bellavista.infrastructure.admission.ConcurrencyLimits;
+import com.drogueria.bellavista.infrastructure.web.ConditionalGetRoutes;
+import com.drogueria.bellavista.infrastructure.web.ServerTimingAdminInterceptor;
+import com.drogueria.bellavista.infrastructure.web.TimedJsonHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Configuración CORS para permitir peticiones desde el frontend
+ * y GET condicional (ETag / Cache-Control) para datos maestros
+ * Con Server-Timing activo, la escritura JSON se cronometra como fase propia y se
+ * anota en la petición si la hizo un administrador
+ * Con el límite adaptativo activo, las escrituras de pedidos, recepciones y stock
+ * pasan por un límite de concurrencia por grupo
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
-    
+
+    private final ConditionalGetRoutes conditionalGetRoutes;
+    private final ObjectProvider<ConcurrencyLimits> concurrencyLimits;
+
+    @Value("${app.server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
+
+    public WebConfig(ConditionalGetRoutes conditionalGetRoutes,
+                     ObjectProvider<ConcurrencyLimits> concurrencyLimits) {
+        this.conditionalGetRoutes = conditionalGetRoutes;
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "Server-Timing")
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        conditionalGetRoutes.register(registry);
+        if (serverTimingEnabled) {
+            registry.addInterceptor(new ServerTimingAdminInterceptor());
+        }
+        concurrencyLimits.ifAvailable(limits -> {
+            registry.addInterceptor(limits.interceptor("orders"))
+                    .addPathPatterns("/orders", "/orders/**");
+            registry.addInterceptor(limits.interceptor("goods-receipts"))
+                    .addPathPatterns("/goods-receipts", "/goods-receipts/**");
+            registry.addInterceptor(limits.interceptor("stock"))
+                    .addPathPatterns("/products/*/reduce-stock", "/products/*/increase-stock", "/products/*/stock/**");
+        });
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!serverTimingEnabled) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJsonHttpMessageConverter)) {
+                converters.set(i, new TimedJsonHttpMessageConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.drogueria.bellavista.controller;
+
+import com.drogueria.bellavista.application.dto.ConnectionPoolDTO;
+import com.drogueria.bellavista.application.dto.EndpointResourceDTO;
+import com.drogueria.bellavista.application.dto.RecordingStatusDTO;
+import com.drogueria.bellavista.application.dto.SlowQueryDTO;
+import com.drogueria.bellavista.application.query.ConnectionPoolReport;
+import com.drogueria.bellavista.application.query.EndpointResourceReport;
+import com.drogueria.bellavista.application.query.SlowQueryReport;
+import com.drogueria.bellavista.application.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Controlador REST - Diagnóstico de rendimiento
+ * Solo ADMIN
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private static final int MAX_LIMIT = 100;
+
+    /** Descarga binaria grande: ServerTimingFilter no la retiene en memoria */
+    public static final String RECORDING_FILE_PATH = "/recordings/file";
+
+    private final SlowQueryReport slowQueryReport;
+    private final EndpointResourceReport endpointResourceReport;
+    private final ConnectionPoolReport connectionPoolReport;
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Sentencias SQL más lentas de la ventana de observación
+     * GET /admin/queries/slow?limit=20
+     */
+    @GetMapping("/queries/slow")
+    public ResponseEntity<List<SlowQueryDTO>> getSlowQueries(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowQueryReport.slowest(clamp(limit)));
+    }
+
+    /**
+     * Endpoints que más memoria asignan (y su CPU)
+     * GET /admin/endpoints/resources?limit=20
+     */
+    @GetMapping("/endpoints/resources")
+    public ResponseEntity<List<EndpointResourceDTO>> getEndpointResources(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(endpointResourceReport.heaviest(clamp(limit)));
+    }
+
+    /**
+     * Estado del pool de conexiones y llamadores que más tiempo retienen conexión
+     * GET /admin/pool?holders=10
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<ConnectionPoolDTO.Response> getConnectionPool(@RequestParam(defaultValue = "10") int holders) {
+        return ResponseEntity.ok(connectionPoolReport.status(clamp(holders)));
+    }
+
+    /**
+     * Estado de la grabación JFR bajo demanda
+     * GET /admin/recordings
+     */
+    @GetMapping("/recordings")
+    public ResponseEntity<RecordingStatusDTO> getRecording() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    /**
+     * Iniciar grabación JFR continua (acotada por antigüedad y tamaño)
+     * POST /admin/recordings/start
+     */
+    @PostMapping("/recordings/start")
+    public ResponseEntity<RecordingStatusDTO> startRecording() {
+        return ResponseEntity.ok(flightRecordingService.start());
+    }
+
+    /**
+     * Detener la grabación JFR
+     * POST /admin/recordings/stop
+     */
+    @PostMapping("/recordings/stop")
+    public ResponseEntity<RecordingStatusDTO> stopRecording() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    /**
+     * Descargar la grabación JFR (en curso o detenida)
+     * GET /admin/recordings/file
+     */
+    @GetMapping(RECORDING_FILE_PATH)
+    public ResponseEntity<Resource> downloadRecording() {
+        Path file = flightRecordingService.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
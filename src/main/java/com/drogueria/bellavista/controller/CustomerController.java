@@ -2,6 +2,7 @@ package com.drogueria.bellavista.controller;
 
 import com.drogueria.bellavista.application.dto.CustomerDTO;
 import com.drogueria.bellavista.application.mapper.CustomerUseCaseMapper;
+import com.drogueria.bellavista.application.query.CatalogQueryService;
 import com.drogueria.bellavista.domain.model.Customer;
 import com.drogueria.bellavista.domain.service.CustomerService;
 import jakarta.validation.Valid;
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CatalogQueryService catalogQueryService;
     private final CustomerUseCaseMapper mapper;
 
     @PostMapping
@@ -47,9 +49,7 @@ public class CustomerController {
 
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDTO.Response> getCustomerById(@PathVariable Long id) {
-        Customer customer = customerService.getCustomerById(id);
-        CustomerDTO.Response response = mapper.toResponse(customer);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getCustomerById(id));
     }
 
     @GetMapping("/code/{code}")
@@ -68,20 +68,12 @@ public class CustomerController {
 
     @GetMapping
     public ResponseEntity<List<CustomerDTO.Response>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        List<CustomerDTO.Response> responses = customers.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogQueryService.getCustomers(false));
     }
 
     @GetMapping("/status/active")
     public ResponseEntity<List<CustomerDTO.Response>> getActiveCustomers() {
-        List<Customer> customers = customerService.getActiveCustomers();
-        List<CustomerDTO.Response> responses = customers.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogQueryService.getCustomers(true));
     }
 
     @GetMapping("/type/{customerType}")
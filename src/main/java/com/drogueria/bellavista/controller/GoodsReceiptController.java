@@ -149,6 +149,18 @@ public class GoodsReceiptController {
         return ResponseEntity.ok(mapper.toResponse(receivedReceipt));
     }
     
+    /**
+     * POST /api/goods-receipts/receive-batch - Confirmar varias recepciones a la vez
+     * Todas o ninguna: el stock se incrementa una vez por producto con la suma recibida
+     */
+    @PostMapping("/receive-batch")
+    public ResponseEntity<GoodsReceiptDTO.BatchReceiveResponse> receiveGoodsReceipts(
+            @Valid @RequestBody GoodsReceiptDTO.BatchReceiveRequest request) {
+        
+        List<GoodsReceipt> receivedReceipts = goodsReceiptService.receiveGoodsReceipts(request.getGoodsReceiptIds());
+        return ResponseEntity.ok(mapper.toBatchResponse(receivedReceipts));
+    }
+    
     /**
      * PATCH /api/goods-receipts/{id}/reject - Rechazar recepción de mercancía
      * Cambia status a REJECTED sin afectar stock
@@ -7,12 +7,14 @@ import com.drogueria.bellavista.domain.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -48,7 +50,11 @@ public class OrderController {
      * GET /orders/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDTO.Response> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<?> getOrderById(@PathVariable Long id) {
+        Optional<String> document = orderService.findOrderDocumentById(id);
+        if (document.isPresent()) {
+            return json(document.get());
+        }
         Order order = orderService.getOrderById(id);
         return ResponseEntity.ok(mapper.toResponse(order));
     }
@@ -58,7 +64,11 @@ public class OrderController {
      * GET /orders/number/{orderNumber}
      */
     @GetMapping("/number/{orderNumber}")
-    public ResponseEntity<OrderDTO.Response> getOrderByOrderNumber(@PathVariable String orderNumber) {
+    public ResponseEntity<?> getOrderByOrderNumber(@PathVariable String orderNumber) {
+        Optional<String> document = orderService.findOrderDocumentByOrderNumber(orderNumber);
+        if (document.isPresent()) {
+            return json(document.get());
+        }
         Order order = orderService.getOrderByOrderNumber(orderNumber);
         return ResponseEntity.ok(mapper.toResponse(order));
     }
@@ -81,9 +91,12 @@ public class OrderController {
      * GET /orders/customer/{customerId}
      */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderDTO.Response>> getOrdersByCustomerId(@PathVariable Long customerId) {
-        List<Order> orders = orderService.getOrdersByCustomerId(customerId);
-        List<OrderDTO.Response> responses = orders.stream()
+    public ResponseEntity<?> getOrdersByCustomerId(@PathVariable Long customerId) {
+        Optional<List<String>> documents = orderService.getOrderDocumentsByCustomerId(customerId);
+        if (documents.isPresent()) {
+            return json(documents.get().stream().collect(Collectors.joining(",", "[", "]")));
+        }
+        List<OrderDTO.Response> responses = orderService.getOrdersByCustomerId(customerId).stream()
             .map(mapper::toResponse)
             .collect(Collectors.toList());
         return ResponseEntity.ok(responses);
@@ -159,4 +172,11 @@ public class OrderController {
         
         return ResponseEntity.ok(responses);
     }
+    
+    /**
+     * Respuesta con un documento de lectura ya serializado: el texto se envía tal cual
+     */
+    private ResponseEntity<String> json(String body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -2,14 +2,18 @@ package com.drogueria.bellavista.controller;
 
 import com.drogueria.bellavista.application.dto.ProductDTO;
 import com.drogueria.bellavista.application.mapper.ProductUseCaseMapper;
+import com.drogueria.bellavista.application.query.CatalogQueryService;
 import com.drogueria.bellavista.domain.model.Product;
 import com.drogueria.bellavista.domain.service.ProductService;
+import com.drogueria.bellavista.domain.service.StockLedgerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +28,8 @@ import java.util.stream.Collectors;
 public class ProductController {
     
     private final ProductService productService;
+    private final StockLedgerService stockLedgerService;
+    private final CatalogQueryService catalogQueryService;
     private final ProductUseCaseMapper mapper;
     
     /**
@@ -63,9 +69,7 @@ public class ProductController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO.Response> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        ProductDTO.Response response = mapper.toResponse(product);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getProductById(id));
     }
     
     /**
@@ -74,9 +78,7 @@ public class ProductController {
      */
     @GetMapping("/code/{code}")
     public ResponseEntity<ProductDTO.Response> getProductByCode(@PathVariable String code) {
-        Product product = productService.getProductByCode(code);
-        ProductDTO.Response response = mapper.toResponse(product);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getProductByCode(code));
     }
     
     /**
@@ -87,15 +89,7 @@ public class ProductController {
     public ResponseEntity<List<ProductDTO.Response>> getAllProducts(
             @RequestParam(required = false) Boolean active) {
         
-        List<Product> products = active != null && active 
-            ? productService.getActiveProducts() 
-            : productService.getAllProducts();
-        
-        List<ProductDTO.Response> response = products.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getProducts(active != null && active));
     }
     
     /**
@@ -106,12 +100,7 @@ public class ProductController {
     public ResponseEntity<List<ProductDTO.Response>> searchProducts(
             @RequestParam String name) {
         
-        List<Product> products = productService.searchProductsByName(name);
-        List<ProductDTO.Response> response = products.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.searchProductsByName(name));
     }
     
     /**
@@ -122,12 +111,7 @@ public class ProductController {
     public ResponseEntity<List<ProductDTO.Response>> getProductsByCategory(
             @PathVariable String category) {
         
-        List<Product> products = productService.getProductsByCategory(category);
-        List<ProductDTO.Response> response = products.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getProductsByCategory(category));
     }
     
     /**
@@ -136,12 +120,7 @@ public class ProductController {
      */
     @GetMapping("/restock-needed")
     public ResponseEntity<List<ProductDTO.Response>> getProductsNeedingRestock() {
-        List<Product> products = productService.getProductsNeedingRestock();
-        List<ProductDTO.Response> response = products.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(catalogQueryService.getProductsNeedingRestock());
     }
     
     /**
@@ -174,6 +153,63 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Stock de un producto a una fecha dada, calculado desde el libro de movimientos
+     * GET /api/products/{id}/stock/as-of?at=2024-01-31T23:59:59
+     */
+    @GetMapping("/{id}/stock/as-of")
+    public ResponseEntity<ProductDTO.StockAsOfResponse> getStockAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        
+        ProductDTO.StockAsOfResponse response = ProductDTO.StockAsOfResponse.builder()
+                .productId(id)
+                .at(at)
+                .stock(stockLedgerService.getStockAsOf(id, at))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Últimos movimientos de stock de un producto
+     * GET /api/products/{id}/stock/movements?limit=50
+     */
+    @GetMapping("/{id}/stock/movements")
+    public ResponseEntity<List<ProductDTO.StockMovementResponse>> getStockMovements(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        List<ProductDTO.StockMovementResponse> response = stockLedgerService.getRecentMovements(id, limit).stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Repartir el stock de un producto muy vendido en varias particiones
+     * PUT /api/products/{id}/stock/sharding
+     */
+    @PutMapping("/{id}/stock/sharding")
+    public ResponseEntity<ProductDTO.Response> enableStockSharding(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductDTO.StockShardingRequest request) {
+        
+        Product product = productService.enableStockSharding(id, request.getSlots());
+        return ResponseEntity.ok(mapper.toResponse(product));
+    }
+    
+    /**
+     * Volver a guardar el stock del producto en una sola fila
+     * DELETE /api/products/{id}/stock/sharding
+     */
+    @DeleteMapping("/{id}/stock/sharding")
+    public ResponseEntity<ProductDTO.Response> disableStockSharding(@PathVariable Long id) {
+        Product product = productService.disableStockSharding(id);
+        return ResponseEntity.ok(mapper.toResponse(product));
+    }
+    
     /**
      * Activar/Desactivar producto
      * PATCH /api/products/{id}/toggle-status
@@ -2,6 +2,7 @@ package com.drogueria.bellavista.controller;
 
 import com.drogueria.bellavista.application.dto.SupplierDTO;
 import com.drogueria.bellavista.application.mapper.SupplierUseCaseMapper;
+import com.drogueria.bellavista.application.query.CatalogQueryService;
 import com.drogueria.bellavista.domain.model.Supplier;
 import com.drogueria.bellavista.domain.service.SupplierService;
 import jakarta.validation.Valid;
@@ -11,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controlador REST - Proveedores
@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 public class SupplierController {
     
     private final SupplierService supplierService;
+    private final CatalogQueryService catalogQueryService;
     private final SupplierUseCaseMapper mapper;
     
     @PostMapping
@@ -44,32 +45,22 @@ public class SupplierController {
     
     @GetMapping("/{id}")
     public ResponseEntity<SupplierDTO.Response> getSupplierById(@PathVariable Long id) {
-        Supplier supplier = supplierService.getSupplierById(id);
-        return ResponseEntity.ok(mapper.toResponse(supplier));
+        return ResponseEntity.ok(catalogQueryService.getSupplierById(id));
     }
     
     @GetMapping("/code/{code}")
     public ResponseEntity<SupplierDTO.Response> getSupplierByCode(@PathVariable String code) {
-        Supplier supplier = supplierService.getSupplierByCode(code);
-        return ResponseEntity.ok(mapper.toResponse(supplier));
+        return ResponseEntity.ok(catalogQueryService.getSupplierByCode(code));
     }
     
     @GetMapping
     public ResponseEntity<List<SupplierDTO.Response>> getAllSuppliers() {
-        List<Supplier> suppliers = supplierService.getAllSuppliers();
-        List<SupplierDTO.Response> responses = suppliers.stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogQueryService.getSuppliers(false));
     }
     
     @GetMapping("/status/active")
     public ResponseEntity<List<SupplierDTO.Response>> getActiveSuppliers() {
-        List<Supplier> suppliers = supplierService.getActiveSuppliers();
-        List<SupplierDTO.Response> responses = suppliers.stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogQueryService.getSuppliers(true));
     }
     
     @PatchMapping("/{id}/deactivate")
@@ -0,0 +1,63 @@
+package com.drogueria.bellavista.controller;
+
+import com.drogueria.bellavista.application.dto.SyncDTO;
+import com.drogueria.bellavista.application.mapper.CustomerUseCaseMapper;
+import com.drogueria.bellavista.application.mapper.ProductUseCaseMapper;
+import com.drogueria.bellavista.application.mapper.SupplierUseCaseMapper;
+import com.drogueria.bellavista.domain.model.SyncChangeSet;
+import com.drogueria.bellavista.domain.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.stream.Collectors;
+
+/**
+ * Controlador REST - Sincronización incremental para POS y clientes móviles
+ */
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final ProductUseCaseMapper productMapper;
+    private final CustomerUseCaseMapper customerMapper;
+    private final SupplierUseCaseMapper supplierMapper;
+
+    /**
+     * Cambios desde la última secuencia recibida
+     * GET /api/sync/changes?since=0&limit=500
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SyncDTO.ChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+
+        SyncChangeSet changes = syncService.getChangesSince(since, limit);
+
+        SyncDTO.ChangesResponse response = SyncDTO.ChangesResponse.builder()
+                .products(changes.getProducts().stream()
+                        .map(productMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .customers(changes.getCustomers().stream()
+                        .map(customerMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .suppliers(changes.getSuppliers().stream()
+                        .map(supplierMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .deleted(changes.getDeleted().stream()
+                        .map(d -> SyncDTO.DeletedRecord.builder()
+                                .entityType(d.getEntityType())
+                                .id(d.getEntityId())
+                                .deletedAt(d.getDeletedAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .nextSince(changes.getNextSince())
+                .hasMore(changes.getHasMore())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -34,6 +34,8 @@ public class Customer {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Versión para control de concurrencia optimista
+    private Long changeSeq; // Secuencia de cambio para sincronización incremental
     
     /**
      * Lógica de negocio: Validar si tiene crédito disponible
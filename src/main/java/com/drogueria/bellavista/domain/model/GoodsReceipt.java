@@ -35,6 +35,7 @@ public class GoodsReceipt {
     private LocalDateTime actualDeliveryDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Versión para control de concurrencia optimista
     
     /**
      * Agregar línea a la recepción
@@ -29,6 +29,9 @@ public class Product {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Versión para control de concurrencia optimista
+    private Long changeSeq; // Secuencia de cambio para sincronización incremental
+    private Integer stockSlots; // > 1 = stock repartido en filas de product_stock_slots
     
     /**
      * Lógica de negocio: Validar si el producto necesita reabastecimiento
@@ -37,6 +40,13 @@ public class Product {
         return this.stock != null && this.minStock != null && this.stock <= this.minStock;
     }
     
+    /**
+     * Lógica de negocio: El stock está repartido en varias filas (SKU de alta concurrencia)
+     */
+    public boolean isStockSharded() {
+        return this.stockSlots != null && this.stockSlots > 1;
+    }
+    
     /**
      * Lógica de negocio: Verificar disponibilidad
      */
@@ -0,0 +1,32 @@
+package com.drogueria.bellavista.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de dominio - Movimiento de stock
+ * Registro inmutable de cada cambio de stock de un producto (libro mayor de inventario)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement {
+
+    public static final String TYPE_INITIAL = "INITIAL";
+    public static final String TYPE_ORDER = "ORDER";
+    public static final String TYPE_ORDER_CANCELLATION = "ORDER_CANCELLATION";
+    public static final String TYPE_GOODS_RECEIPT = "GOODS_RECEIPT";
+    public static final String TYPE_ADJUSTMENT = "ADJUSTMENT";
+
+    private Long id;
+    private Long productId;
+    private String movementType; // INITIAL, ORDER, ORDER_CANCELLATION, GOODS_RECEIPT, ADJUSTMENT
+    private Integer quantity; // Positivo = entrada, negativo = salida
+    private String reference; // Número de orden o recepción que originó el movimiento
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.drogueria.bellavista.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de dominio - Foto de stock
+ * Stock de un producto inmediatamente después del movimiento lastMovementId.
+ * Las consultas parten de la foto más cercana y solo suman los movimientos posteriores.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    private Long id;
+    private Long productId;
+    private Integer quantity;
+    private Long lastMovementId;
+    private LocalDateTime takenAt;
+}
@@ -32,6 +32,7 @@ public class Supplier {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long changeSeq; // Secuencia de cambio para sincronización incremental
     
     /**
      * Validar si proveedor está disponible
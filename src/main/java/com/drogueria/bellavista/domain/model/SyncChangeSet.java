@@ -0,0 +1,26 @@
+package com.drogueria.bellavista.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entidad de dominio - Conjunto de cambios desde una secuencia dada
+ * nextSince es la secuencia que el cliente debe enviar en la siguiente consulta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangeSet {
+
+    private List<Product> products;
+    private List<Customer> customers;
+    private List<Supplier> suppliers;
+    private List<SyncTombstone> deleted;
+    private Long nextSince;
+    private Boolean hasMore;
+}
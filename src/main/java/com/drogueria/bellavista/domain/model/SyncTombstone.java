@@ -0,0 +1,28 @@
+package com.drogueria.bellavista.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de dominio - Registro eliminado
+ * Permite a los clientes de sincronización borrar su copia local
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String CUSTOMER = "CUSTOMER";
+    public static final String SUPPLIER = "SUPPLIER";
+
+    private Long changeSeq;
+    private String entityType;
+    private Long entityId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,14 @@
+package com.drogueria.bellavista.domain.repository;
+
+/**
+ * Puerto/Interfaz de Repositorio - Versiones de colecciones de datos maestros
+ */
+public interface CollectionVersionRepository {
+
+    /**
+     * Versión confirmada de una colección: la mayor secuencia de cambio (change_seq)
+     * entre sus filas y las eliminaciones registradas
+     * Es la misma en todas las instancias y sube con cada cambio confirmado
+     */
+    long currentVersion(String collection);
+}
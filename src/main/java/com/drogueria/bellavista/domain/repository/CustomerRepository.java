@@ -31,9 +31,17 @@ public interface CustomerRepository {
     
     void delete(Long id);
     
+    boolean existsById(Long id);
+    
     boolean existsByCode(String code);
     
     boolean existsByEmail(String email);
     
     boolean existsByDocumentNumber(String documentNumber);
+    
+    /**
+     * Registros creados o modificados con secuencia de cambio mayor a since,
+     * en orden ascendente de secuencia
+     */
+    List<Customer> findChangedSince(long since, int limit);
 }
@@ -0,0 +1,15 @@
+package com.drogueria.bellavista.domain.repository;
+
+/**
+ * Puerto/Interfaz de Repositorio - Secuencias de numeración de documentos
+ */
+public interface DocumentSequenceRepository {
+
+    /**
+     * Reservar un bloque de blockSize números consecutivos para un prefijo
+     * La reserva no es transaccional: un rollback del llamador no la deshace
+     * y no bloquea a otras transacciones que reserven a la vez
+     * @return primer número del bloque
+     */
+    long allocateBlock(String prefix, int blockSize);
+}
@@ -2,6 +2,7 @@ package com.drogueria.bellavista.domain.repository;
 
 import com.drogueria.bellavista.domain.model.GoodsReceipt;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface GoodsReceiptRepository {
      */
     Optional<GoodsReceipt> findById(Long id);
     
+    /**
+     * Buscar varias por ID con sus items en una sola consulta por tabla
+     */
+    List<GoodsReceipt> findAllById(Collection<Long> ids);
+    
     /**
      * Buscar por número de recepción
      */
@@ -59,4 +65,9 @@ public interface GoodsReceiptRepository {
      * Validar que el número de recepción no exista
      */
     boolean existsByReceiptNumber(String receiptNumber);
+    
+    /**
+     * Verificar si una orden tiene alguna recepción en el estado dado
+     */
+    boolean existsByOrderIdAndStatus(Long orderId, String status);
 }
@@ -0,0 +1,44 @@
+package com.drogueria.bellavista.domain.repository;
+
+/**
+ * Puerto - Motor de inventario en memoria
+ * Cuando está activo mantiene el stock vigente de los productos que gestiona y
+ * decide las reservas sin tocar la fila del producto; la persistencia en
+ * products.stock ocurre en segundo plano.
+ * Los cambios hechos dentro de una transacción se confirman con ella: si se
+ * revierte, el motor los deshace solo.
+ */
+public interface InventoryEngine {
+
+    /**
+     * Indica si el stock del producto lo decide el motor
+     */
+    boolean manages(Long productId);
+
+    int stockOf(Long productId);
+
+    /**
+     * Descontar stock si alcanza
+     * @return false si el stock disponible es menor a la cantidad
+     */
+    boolean tryReserve(Long productId, int quantity);
+
+    /**
+     * Sumar (o restar, si delta es negativo) sin validar disponibilidad
+     * Se usa para devoluciones y aumentos de stock
+     */
+    void add(Long productId, int delta);
+
+    /**
+     * Fijar el stock de un producto
+     * @return diferencia aplicada respecto al valor anterior
+     */
+    int set(Long productId, int stock);
+
+    /**
+     * Empezar a gestionar un producto con el stock ya persistido
+     */
+    void register(Long productId, int stock);
+
+    void evict(Long productId);
+}
@@ -0,0 +1,33 @@
+package com.drogueria.bellavista.domain.repository;
+
+import com.drogueria.bellavista.domain.model.Order;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto/Interfaz de Repositorio - Documentos de lectura de órdenes
+ * Cada orden se guarda ya serializada (JSON) junto con sus ítems; las lecturas
+ * devuelven ese texto tal cual para enviarlo al cliente
+ */
+public interface OrderDocumentRepository {
+
+    /**
+     * Crear o reemplazar el documento de una orden (en la transacción actual)
+     */
+    void save(Order order);
+
+    Optional<String> findById(Long orderId);
+
+    Optional<String> findByOrderNumber(String orderNumber);
+
+    /**
+     * Documentos de un cliente, de la orden más reciente a la más antigua
+     */
+    List<String> findByCustomerId(Long customerId);
+
+    /**
+     * Órdenes que todavía no tienen documento (creadas antes del modelo de lectura)
+     */
+    List<Long> findOrderIdsWithoutDocument(int limit);
+}
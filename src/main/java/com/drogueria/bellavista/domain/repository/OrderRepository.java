@@ -21,6 +21,8 @@ public interface OrderRepository {
     
     List<Order> findByCustomerId(Long customerId);
     
+    long countByCustomerId(Long customerId);
+    
     List<Order> findByStatus(String status);
     
     List<Order> findByCustomerIdAndStatus(Long customerId, String status);
@@ -17,6 +17,12 @@ public interface ProductRepository {
      */
     Product save(Product product);
     
+    /**
+     * Guardar el producto sin modificar la columna de stock
+     * (el stock lo persiste el motor de inventario)
+     */
+    Product saveKeepingStock(Product product);
+    
     /**
      * Buscar producto por ID
      */
@@ -61,4 +67,27 @@ public interface ProductRepository {
      * Verificar si existe un producto con el código dado
      */
     boolean existsByCode(String code);
+    
+    /**
+     * Número de particiones de stock de un producto (1 = sin particionar)
+     * Sirve además como verificación de existencia: vacío si el producto no existe
+     */
+    Optional<Integer> findStockSlotsById(Long id);
+    
+    /**
+     * Registros creados o modificados con secuencia de cambio mayor a since,
+     * en orden ascendente de secuencia
+     */
+    List<Product> findChangedSince(long since, int limit);
+    
+    /**
+     * Publicar en la sincronización un cambio de stock que no escribió la fila del producto
+     * (particiones); la secuencia de cambio se asigna en diferido
+     */
+    void markStockChanged(Long id);
+    
+    /**
+     * Productos con stock repartido en particiones
+     */
+    List<Product> findStockSharded();
 }
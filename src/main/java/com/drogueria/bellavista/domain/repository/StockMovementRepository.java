@@ -0,0 +1,50 @@
+package com.drogueria.bellavista.domain.repository;
+
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.model.StockSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto/Interfaz de Repositorio - Libro de movimientos de stock
+ * Solo permite agregar movimientos y fotos; nunca modificarlos
+ */
+public interface StockMovementRepository {
+
+    StockMovement save(StockMovement movement);
+
+    StockSnapshot saveSnapshot(StockSnapshot snapshot);
+
+    Optional<StockSnapshot> findLatestSnapshot(Long productId);
+
+    Optional<StockSnapshot> findLatestSnapshotAtOrBefore(Long productId, LocalDateTime at);
+
+    /**
+     * Último movimiento del producto posterior a una foto creado hasta una fecha
+     */
+    Optional<Long> findLastMovementIdUpTo(Long productId, Long afterMovementId, LocalDateTime upTo);
+
+    /**
+     * Suma de cantidades de los movimientos en el rango (afterMovementId, lastMovementId]
+     */
+    int sumQuantityBetween(Long productId, Long afterMovementId, Long lastMovementId);
+
+    /**
+     * Fecha del movimiento más reciente en el rango (afterMovementId, lastMovementId]
+     */
+    LocalDateTime findLatestCreatedAtBetween(Long productId, Long afterMovementId, Long lastMovementId);
+
+    boolean hasMovementsUpTo(Long productId, LocalDateTime upTo);
+
+    /**
+     * Suma de cantidades de los movimientos posteriores a una foto hasta una fecha
+     */
+    int sumQuantityAfter(Long productId, Long afterMovementId, LocalDateTime upTo);
+
+    /**
+     * Movimientos más recientes del producto, del más nuevo al más antiguo
+     */
+    List<StockMovement> findRecentByProductId(Long productId, int limit);
+}
@@ -0,0 +1,37 @@
+package com.drogueria.bellavista.domain.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Puerto/Interfaz de Repositorio - Stock repartido en particiones (slots)
+ * Para SKUs de alta concurrencia el stock vive en varias filas; cada pedido
+ * bloquea solo una de ellas en lugar de la fila del producto.
+ */
+public interface StockSlotRepository {
+
+    /**
+     * Reemplazar las particiones de un producto repartiendo el total entre ellas
+     */
+    void resetSlots(Long productId, int slots, int totalStock);
+
+    /**
+     * Eliminar las particiones de un producto y devolver el stock total que tenían
+     */
+    int collapseSlots(Long productId);
+
+    /**
+     * Descontar stock de las particiones
+     * @return false si la suma de todas las particiones no alcanza
+     */
+    boolean tryDecrement(Long productId, int slots, int quantity);
+
+    void increment(Long productId, int slots, int quantity);
+
+    int sumQuantity(Long productId);
+
+    /**
+     * Stock total por producto, solo para los productos que tienen particiones
+     */
+    Map<Long, Integer> sumQuantities(Collection<Long> productIds);
+}
@@ -27,4 +27,10 @@ public interface SupplierRepository {
     boolean existsByCode(String code);
     
     boolean existsByEmail(String email);
+    
+    /**
+     * Registros creados o modificados con secuencia de cambio mayor a since,
+     * en orden ascendente de secuencia
+     */
+    List<Supplier> findChangedSince(long since, int limit);
 }
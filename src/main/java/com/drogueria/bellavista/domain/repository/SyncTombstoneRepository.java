@@ -0,0 +1,16 @@
+package com.drogueria.bellavista.domain.repository;
+
+import com.drogueria.bellavista.domain.model.SyncTombstone;
+
+import java.util.List;
+
+/**
+ * Puerto/Interfaz de Repositorio - Tombstones de sincronización
+ */
+public interface SyncTombstoneRepository {
+
+    /**
+     * Eliminaciones con secuencia mayor a since, en orden ascendente
+     */
+    List<SyncTombstone> findChangedSince(long since, int limit);
+}
@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.domain.repository;
 
+import com.drogueria.bellavista.domain.model.Role;
 import com.drogueria.bellavista.domain.model.User;
 
 import java.util.List;
@@ -17,6 +18,8 @@ public interface UserRepository {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    long countByRole(Role role);
+    long countByRoleAndActive(Role role, boolean active);
     void delete(User user);
     List<User> findAll();
 }
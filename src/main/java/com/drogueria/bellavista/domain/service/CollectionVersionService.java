@@ -0,0 +1,63 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.repository.CollectionVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de dominio - Versiones de colecciones de datos maestros
+ * La versión de una colección (productos, clientes, proveedores) se deriva de la
+ * secuencia de cambios que ya se asigna al confirmar cada escritura, así todas las
+ * instancias entregan el mismo ETag y un reinicio no reutiliza versiones. Los
+ * controladores la usan para responder 304 sin cargar entidades.
+ * El stock en particiones o en el motor de inventario entra en la versión cuando
+ * se sella (app.sync.deferred-stamp-interval-ms) o se vuelca, igual que en la sincronización.
+ * La última versión leída de cada colección se recuerda durante app.http.version-cache-ms
+ * para decidir sin consultar la base de datos, solo donde una versión vieja no cambia
+ * la respuesta (el control de admisión).
+ */
+@Service
+@RequiredArgsConstructor
+public class CollectionVersionService {
+
+    public static final String PRODUCTS = "products";
+    public static final String CUSTOMERS = "customers";
+    public static final String SUPPLIERS = "suppliers";
+
+    private final CollectionVersionRepository collectionVersionRepository;
+
+    private final Map<String, RecentVersion> recentVersions = new ConcurrentHashMap<>();
+
+    @Value("${app.http.version-cache-ms:1000}")
+    private long versionCacheMs;
+
+    /**
+     * Versión actual de una colección
+     */
+    public long currentVersion(String collection) {
+        long version = collectionVersionRepository.currentVersion(collection);
+        recentVersions.put(collection, new RecentVersion(version, System.nanoTime()));
+        return version;
+    }
+
+    /**
+     * Última versión leída de una colección, si se leyó hace menos de version-cache-ms
+     * No consulta la base de datos: puede estar atrasada hasta ese plazo
+     */
+    public OptionalLong recentVersion(String collection) {
+        RecentVersion recent = recentVersions.get(collection);
+        if (recent == null || System.nanoTime() - recent.readAt() >= TimeUnit.MILLISECONDS.toNanos(versionCacheMs)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(recent.version());
+    }
+
+    private record RecentVersion(long version, long readAt) {
+    }
+}
@@ -53,6 +53,7 @@ public class CustomerService {
     /**
      * Actualizar un cliente existente
      */
+    @RetryOnConflict
     public Customer updateCustomer(Long id, Customer customerData) {
         Customer existingCustomer = customerRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
@@ -97,6 +98,16 @@ public class CustomerService {
             .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
     }
     
+    /**
+     * Validar que el cliente existe sin cargarlo
+     */
+    @Transactional(readOnly = true)
+    public void validateCustomerExists(Long id) {
+        if (!customerRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Customer", "id", id);
+        }
+    }
+    
     /**
      * Obtener cliente por código
      */
@@ -0,0 +1,79 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.repository.DocumentSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de dominio - Numeración de documentos (órdenes, recepciones)
+ * Entrega números legibles y crecientes por prefijo, p. ej. ORD-00000042.
+ * Cada instancia reserva bloques de una secuencia de la base, así que dos
+ * instancias nunca entregan el mismo número y la base se consulta una vez por bloque.
+ * Los números de un bloque no usado (reinicio, rollback) se pierden: puede haber huecos.
+ */
+@Service
+public class DocumentNumberService {
+
+    public static final String ORDER_PREFIX = "ORD";
+    public static final String GOODS_RECEIPT_PREFIX = "GR";
+
+    private static final int NUMBER_DIGITS = 8;
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Value("${app.documents.block-size:50}")
+    private int blockSize;
+
+    public DocumentNumberService(DocumentSequenceRepository documentSequenceRepository) {
+        this.documentSequenceRepository = documentSequenceRepository;
+    }
+
+    /**
+     * Siguiente número de documento para un prefijo
+     */
+    public String nextNumber(String prefix) {
+        return format(prefix, blocks.computeIfAbsent(prefix, key -> new Block()).next(prefix));
+    }
+
+    private String format(String prefix, long value) {
+        String digits = Long.toString(value);
+        StringBuilder sb = new StringBuilder(prefix.length() + 1 + Math.max(NUMBER_DIGITS, digits.length()));
+        sb.append(prefix).append('-');
+        for (int i = digits.length(); i < NUMBER_DIGITS; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+
+    /**
+     * Bloque reservado [next, limit) de un prefijo
+     * La reserva de un bloque nuevo se hace fuera del monitor: un hilo que espera a la
+     * base no retiene a los demás. Si dos hilos reservan a la vez, se instala el bloque
+     * que sigue al actual y el otro se descarta (queda un hueco).
+     */
+    private final class Block {
+        private long next;
+        private long limit;
+
+        long next(String prefix) {
+            while (true) {
+                synchronized (this) {
+                    if (next < limit) {
+                        return next++;
+                    }
+                }
+                long start = documentSequenceRepository.allocateBlock(prefix, blockSize);
+                synchronized (this) {
+                    if (next >= limit && start >= limit) {
+                        next = start;
+                        limit = start + blockSize;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.drogueria.bellavista.domain.model.GoodsReceipt;
 import com.drogueria.bellavista.domain.model.GoodsReceiptItem;
 import com.drogueria.bellavista.domain.model.Order;
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
 import com.drogueria.bellavista.domain.repository.GoodsReceiptRepository;
 import com.drogueria.bellavista.exception.BusinessException;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
@@ -12,8 +13,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Servicio de Recepción de Mercancía
@@ -30,6 +37,7 @@ public class GoodsReceiptService {
     private final GoodsReceiptRepository goodsReceiptRepository;
     private final OrderService orderService;
     private final ProductService productService;
+    private final DocumentNumberService documentNumberService;
     
     /**
      * LÓGICA CRÍTICA: Crear recepción de mercancía
@@ -50,8 +58,7 @@ public class GoodsReceiptService {
         }
         
         // Validar que no hay recepción duplicada
-        List<GoodsReceipt> existingReceipts = goodsReceiptRepository.findByOrderId(goodsReceipt.getOrderId());
-        if (existingReceipts.stream().anyMatch(gr -> "RECEIVED".equals(gr.getStatus()))) {
+        if (goodsReceiptRepository.existsByOrderIdAndStatus(goodsReceipt.getOrderId(), "RECEIVED")) {
             throw new BusinessException("Order already has a RECEIVED goods receipt");
         }
         
@@ -77,22 +84,14 @@ public class GoodsReceiptService {
         }
         
         // Generar número único de recepción
-        String receiptNumber = "GR-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
-        goodsReceipt.setReceiptNumber(receiptNumber);
+        goodsReceipt.setReceiptNumber(documentNumberService.nextNumber(DocumentNumberService.GOODS_RECEIPT_PREFIX));
         goodsReceipt.setStatus("PENDING");
         goodsReceipt.setReceiptDate(LocalDateTime.now());
         goodsReceipt.setCreatedAt(LocalDateTime.now());
         goodsReceipt.setUpdatedAt(LocalDateTime.now());
         
-        // Guardar recepción
-        GoodsReceipt saved = goodsReceiptRepository.save(goodsReceipt);
-        
-        // Validar que receiptNumber es único
-        if (goodsReceiptRepository.existsByReceiptNumber(receiptNumber)) {
-            throw new BusinessException("Goods receipt number already exists: " + receiptNumber);
-        }
-        
-        return saved;
+        // Guardar recepción (el número viene de una secuencia: no requiere verificación posterior)
+        return goodsReceiptRepository.save(goodsReceipt);
     }
     
     /**
@@ -100,7 +99,9 @@ public class GoodsReceiptService {
      * Actualiza stock de productos atomicamente
      */
     @Transactional
+    @RetryOnConflict
     public GoodsReceipt receiveGoodsReceipt(Long goodsReceiptId) {
+        PipelineStageEvent stage = PipelineStageEvent.start(PipelineStageEvent.GOODS_RECEIPT, "validate");
         GoodsReceipt goodsReceipt = goodsReceiptRepository.findById(goodsReceiptId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Goods receipt not found with ID: " + goodsReceiptId));
@@ -114,26 +115,95 @@ public class GoodsReceiptService {
         if (goodsReceipt.getItems() == null || goodsReceipt.getItems().isEmpty()) {
             throw new BusinessException("Cannot receive goods receipt without items");
         }
+        stage.finish();
         
         // Recibir cada item y actualizar stock
+        stage = PipelineStageEvent.start(PipelineStageEvent.GOODS_RECEIPT, "increase-stock");
         for (GoodsReceiptItem item : goodsReceipt.getItems()) {
             if (item.getReceivedQuantity() != null && item.getReceivedQuantity() > 0) {
                 // Aumentar stock del producto ATOMICAMENTE
-                productService.increaseStockInternal(item.getProductId(), item.getReceivedQuantity());
+                productService.increaseStockInternal(item.getProductId(), item.getReceivedQuantity(),
+                        StockMovement.TYPE_GOODS_RECEIPT, goodsReceipt.getReceiptNumber());
             }
         }
+        stage.finish();
         
         // Determinar estado final
+        stage = PipelineStageEvent.start(PipelineStageEvent.GOODS_RECEIPT, "persist");
         goodsReceipt.receive();
         goodsReceipt.setUpdatedAt(LocalDateTime.now());
         
-        return goodsReceiptRepository.save(goodsReceipt);
+        GoodsReceipt saved = goodsReceiptRepository.save(goodsReceipt);
+        stage.finish();
+        return saved;
+    }
+    
+    /**
+     * Recibir varias recepciones en una sola transacción (p. ej. un camión con varias entregas)
+     * Carga todas con una consulta, las valida antes de tocar stock y suma las cantidades
+     * recibidas por producto, de modo que cada producto recibe un único incremento; el libro
+     * conserva un movimiento por recepción con su número. Los productos se actualizan
+     * en orden de id para que dos lotes concurrentes no se bloqueen mutuamente.
+     * Si alguna recepción no es válida no se aplica ninguna.
+     */
+    @Transactional
+    @RetryOnConflict
+    public List<GoodsReceipt> receiveGoodsReceipts(List<Long> goodsReceiptIds) {
+        if (goodsReceiptIds == null || goodsReceiptIds.isEmpty()) {
+            throw new BusinessException("At least one goods receipt ID is required");
+        }
+        
+        // Cargar todas en una consulta y validarlas en una pasada reuniendo los errores
+        Set<Long> ids = new LinkedHashSet<>(goodsReceiptIds);
+        Map<Long, GoodsReceipt> found = new HashMap<>();
+        goodsReceiptRepository.findAllById(ids).forEach(goodsReceipt -> found.put(goodsReceipt.getId(), goodsReceipt));
+        List<GoodsReceipt> receipts = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (Long id : ids) {
+            GoodsReceipt goodsReceipt = found.get(id);
+            if (goodsReceipt == null) {
+                errors.add(id + ": not found");
+            } else if (!"PENDING".equals(goodsReceipt.getStatus())) {
+                errors.add(id + ": status " + goodsReceipt.getStatus());
+            } else if (goodsReceipt.getItems() == null || goodsReceipt.getItems().isEmpty()) {
+                errors.add(id + ": no items");
+            } else {
+                receipts.add(goodsReceipt);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BusinessException("Cannot receive goods receipts: " + String.join("; ", errors));
+        }
+        
+        // Cantidades recibidas por producto (TreeMap = orden de id) y, dentro, por recepción
+        Map<Long, Map<String, Integer>> quantityByProduct = new TreeMap<>();
+        for (GoodsReceipt goodsReceipt : receipts) {
+            for (GoodsReceiptItem item : goodsReceipt.getItems()) {
+                if (item.getReceivedQuantity() != null && item.getReceivedQuantity() > 0) {
+                    quantityByProduct.computeIfAbsent(item.getProductId(), id -> new LinkedHashMap<>())
+                            .merge(goodsReceipt.getReceiptNumber(), item.getReceivedQuantity(), Integer::sum);
+                }
+            }
+        }
+        
+        // Un solo incremento por producto, un movimiento por recepción
+        quantityByProduct.forEach((productId, quantityByReceipt) ->
+                productService.increaseStockInternal(productId, quantityByReceipt, StockMovement.TYPE_GOODS_RECEIPT));
+        
+        List<GoodsReceipt> received = new ArrayList<>(receipts.size());
+        for (GoodsReceipt goodsReceipt : receipts) {
+            goodsReceipt.receive();
+            goodsReceipt.setUpdatedAt(LocalDateTime.now());
+            received.add(goodsReceiptRepository.save(goodsReceipt));
+        }
+        return received;
     }
     
     /**
      * Rechazar recepción - No modifica stock si aún está PENDING
      */
     @Transactional
+    @RetryOnConflict
     public GoodsReceipt rejectGoodsReceipt(Long goodsReceiptId) {
         GoodsReceipt goodsReceipt = goodsReceiptRepository.findById(goodsReceiptId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -3,19 +3,23 @@ package com.drogueria.bellavista.domain.service;
 import com.drogueria.bellavista.domain.model.Customer;
 import com.drogueria.bellavista.domain.model.Order;
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.repository.OrderDocumentRepository;
 import com.drogueria.bellavista.domain.repository.OrderRepository;
 import com.drogueria.bellavista.exception.BusinessException;
+import com.drogueria.bellavista.exception.ErrorCode;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * Servicio de dominio - Casos de uso de Órdenes
@@ -29,10 +33,14 @@ public class OrderService {
     private static final String STATUS_PENDING = "PENDING";
     private static final String STATUS_COMPLETED = "COMPLETED";
     private static final String STATUS_CANCELLED = "CANCELLED";
+    /** Clave MDC de correlación; el filtro de correlación la retira al terminar la petición */
+    private static final String MDC_ORDER_ID = "orderId";
 
     private final OrderRepository orderRepository;
+    private final OrderDocumentRepository orderDocumentRepository;
     private final CustomerService customerService;
     private final ProductService productService;
+    private final DocumentNumberService documentNumberService;
     
     /**
      * Crear nueva orden
@@ -46,32 +54,36 @@ public class OrderService {
      * - Métrica 2.2: Tasa de rechazo con mensajes claros (meta ≤ 5%)
      * - Métrica 2.3: Auditoría completa con createdAt y createdBy (meta 100%)
      */
+    @RetryOnConflict
     public Order createOrder(Order order) {
         log.info("Creating order for customerId={}", order.getCustomerId());
         // Validar cliente
+        PipelineStageEvent stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "validate-customer");
         Customer customer = customerService.getCustomerById(order.getCustomerId());
         if (!customer.getActive()) {
-            throw new BusinessException("El cliente está inactivo");
+            throw new BusinessException(ErrorCode.CUSTOMER_INACTIVE);
         }
         
         // Validar que la orden tenga ítems (Métrica 2.2: mensaje claro)
         if (order.getItems() == null || order.getItems().isEmpty()) {
-            throw new BusinessException("El campo 'items' es obligatorio. La orden debe contener al menos un producto");
+            throw new BusinessException(ErrorCode.ORDER_ITEMS_REQUIRED);
         }
         
+        stage.finish();
+        
         // Validar productos y stock
+        stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "validate-products");
         order.getItems().forEach(item -> {
             Product product = productService.getProductById(item.getProductId());
             
             if (!product.isAvailable()) {
-                throw new BusinessException("El producto '" + product.getName() + "' (código: " + product.getCode() + ") no está disponible para la venta");
+                throw new BusinessException(ErrorCode.PRODUCT_UNAVAILABLE, product.getName(), product.getCode());
             }
             
             // Métrica 2.2: Mensaje claro de stock insuficiente
             if (product.getStock() < item.getQuantity()) {
-                throw new BusinessException("Stock insuficiente para el producto '" + product.getName() 
-                    + "' (código: " + product.getCode() + "). Disponible: " + product.getStock() 
-                    + ", solicitado: " + item.getQuantity());
+                throw new BusinessException(ErrorCode.INSUFFICIENT_PRODUCT_STOCK,
+                    product.getName(), product.getCode(), product.getStock(), item.getQuantity());
             }
             
             // Actualizar datos del producto en la línea
@@ -86,14 +98,15 @@ public class OrderService {
         
         // Validar crédito del cliente
         if (!customer.hasCreditAvailable(order.getTotal())) {
-            throw new BusinessException("El cliente no tiene crédito suficiente. "
-                + "Límite: " + customer.getCreditLimit() 
-                + ", Pendiente: " + customer.getPendingBalance()
-                + ", Requerido: " + order.getTotal());
+            throw new BusinessException(ErrorCode.INSUFFICIENT_CREDIT,
+                customer.getCreditLimit(), customer.getPendingBalance(), order.getTotal());
         }
         
+        stage.finish();
+        
         // Establecer valores
-        order.setOrderNumber(generateOrderNumber());
+        stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "persist");
+        order.setOrderNumber(documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX));
         order.setStatus(STATUS_PENDING);
         order.setOrderDate(LocalDateTime.now());
         order.setCreatedAt(LocalDateTime.now());
@@ -106,14 +119,26 @@ public class OrderService {
         
         // Guardar orden
         Order savedOrder = orderRepository.save(order);
+        MDC.put(MDC_ORDER_ID, String.valueOf(savedOrder.getId()));
+        stage.finish();
         
         // Reducir stock de productos
+        stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "decrement-stock");
         order.getItems().forEach(item -> {
-            productService.reduceStockInternal(item.getProductId(), item.getQuantity());
+            productService.reduceStockInternal(item.getProductId(), item.getQuantity(),
+                    StockMovement.TYPE_ORDER, order.getOrderNumber());
         });
+        stage.finish();
         
         // Aumentar saldo del cliente
+        stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "update-balance");
         customerService.increasePendingBalance(customer.getId(), order.getTotal());
+        stage.finish();
+        
+        // Documento de lectura en la misma transacción
+        stage = PipelineStageEvent.start(PipelineStageEvent.ORDER, "write-document");
+        orderDocumentRepository.save(savedOrder);
+        stage.finish();
         
         return savedOrder;
     }
@@ -149,7 +174,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public List<Order> getOrdersByCustomerId(Long customerId) {
-        customerService.getCustomerById(customerId); // Validar que existe
+        customerService.validateCustomerExists(customerId);
         return orderRepository.findByCustomerId(customerId);
     }
     
@@ -185,25 +210,30 @@ public class OrderService {
      * 
      * @Transactional asegura atomicidad: si algo falla, todo se revierte
      */
+    @RetryOnConflict
     public Order completeOrder(Long orderId) {
+        MDC.put(MDC_ORDER_ID, String.valueOf(orderId));
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
         order.complete();
         order.setStatus(STATUS_COMPLETED);
         log.info("Completing order id={}", orderId);
-        return orderRepository.save(order);
+        return saveWithDocument(order);
     }
     
     /**
      * Cancelar orden (reversión de operaciones)
      */
+    @RetryOnConflict
     public Order cancelOrder(Long orderId) {
+        MDC.put(MDC_ORDER_ID, String.valueOf(orderId));
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
         if (STATUS_PENDING.equals(order.getStatus())) {
             // Revertir stock
             order.getItems().forEach(item -> {
-                productService.increaseStockInternal(item.getProductId(), item.getQuantity());
+                productService.increaseStockInternal(item.getProductId(), item.getQuantity(),
+                    StockMovement.TYPE_ORDER_CANCELLATION, order.getOrderNumber());
             });
             
             // Revertir saldo del cliente
@@ -213,13 +243,47 @@ public class OrderService {
         order.cancel();
         order.setStatus(STATUS_CANCELLED);
         log.info("Cancelled order id={}", orderId);
-        return orderRepository.save(order);
+        return saveWithDocument(order);
+    }
+    
+    /**
+     * Documento de lectura (JSON) de una orden por ID
+     * Vacío si la orden aún no tiene documento; el llamador usa entonces getOrderById
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findOrderDocumentById(Long id) {
+        return orderDocumentRepository.findById(id);
+    }
+    
+    /**
+     * Documento de lectura (JSON) de una orden por número
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findOrderDocumentByOrderNumber(String orderNumber) {
+        return orderDocumentRepository.findByOrderNumber(orderNumber);
+    }
+    
+    /**
+     * Historial de órdenes de un cliente como documentos de lectura (JSON)
+     * Vacío si el cliente tiene órdenes sin documento (el backfill aún no llegó a ellas);
+     * el llamador usa entonces getOrdersByCustomerId
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<String>> getOrderDocumentsByCustomerId(Long customerId) {
+        customerService.validateCustomerExists(customerId);
+        List<String> documents = orderDocumentRepository.findByCustomerId(customerId);
+        if (documents.size() != orderRepository.countByCustomerId(customerId)) {
+            return Optional.empty();
+        }
+        return Optional.of(documents);
     }
     
     /**
-     * Generar número de orden único
+     * Guardar la orden y reemplazar su documento de lectura en la misma transacción
      */
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+    private Order saveWithDocument(Order order) {
+        Order saved = orderRepository.save(order);
+        orderDocumentRepository.save(saved);
+        return saved;
     }
 }
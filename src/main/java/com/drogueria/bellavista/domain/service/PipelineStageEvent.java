@@ -0,0 +1,54 @@
+package com.drogueria.bellavista.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR - Etapa de un caso de uso crítico (orden, recepción, login)
+ * Cada etapa se registra con su duración y aparece en la línea de tiempo del
+ * hilo junto a GC, bloqueos y E/S. Sin una grabación activa el evento no hace
+ * nada: start() solo crea un objeto y finish() no lo confirma.
+ */
+@Name("bellavista.PipelineStage")
+@Label("Pipeline Stage")
+@Category({"Bellavista", "Pipeline"})
+@Description("Etapa de un caso de uso de órdenes, recepciones o autenticación")
+@StackTrace(false)
+public class PipelineStageEvent extends Event {
+
+    public static final String ORDER = "order.create";
+    public static final String GOODS_RECEIPT = "goods-receipt.receive";
+    public static final String AUTH = "auth.login";
+
+    @Label("Pipeline")
+    private final String pipeline;
+
+    @Label("Stage")
+    private final String stage;
+
+    private PipelineStageEvent(String pipeline, String stage) {
+        this.pipeline = pipeline;
+        this.stage = stage;
+    }
+
+    public static PipelineStageEvent start(String pipeline, String stage) {
+        PipelineStageEvent event = new PipelineStageEvent(pipeline, stage);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Cerrar la etapa; solo se confirma si hay una grabación que la pida.
+     * Si la etapa lanza excepción no se cierra y no queda registrada.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
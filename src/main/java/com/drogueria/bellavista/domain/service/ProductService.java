@@ -1,15 +1,24 @@
 package com.drogueria.bellavista.domain.service;
 
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
 import com.drogueria.bellavista.domain.repository.ProductRepository;
+import com.drogueria.bellavista.domain.repository.StockSlotRepository;
 import com.drogueria.bellavista.exception.BusinessException;
+import com.drogueria.bellavista.exception.ErrorCode;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio de dominio - Casos de uso de Productos
@@ -20,7 +29,12 @@ import java.util.List;
 @Transactional
 public class ProductService {
     
+    private static final int MAX_STOCK_SLOTS = 64;
+    
     private final ProductRepository productRepository;
+    private final StockLedgerService stockLedgerService;
+    private final StockSlotRepository stockSlotRepository;
+    private final InventoryEngine inventoryEngine;
     
     /**
      * Crear un nuevo producto
@@ -33,25 +47,34 @@ public class ProductService {
         
         // Establecer valores por defecto
         product.setActive(true);
+        product.setStockSlots(null);
         product.setCreatedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
         
-        return productRepository.save(product);
+        Product saved = persist(product);
+        if (saved.getStock() != null) {
+            stockLedgerService.record(saved, saved.getStock(), StockMovement.TYPE_INITIAL, saved.getCode());
+            afterCommit(() -> inventoryEngine.register(saved.getId(), saved.getStock()));
+        }
+        return saved;
     }
     
     /**
      * Actualizar un producto existente
      */
+    @RetryOnConflict
     public Product updateProduct(Long id, Product productData) {
-        Product existingProduct = productRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        Product existingProduct = withCurrentStock(productRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id)));
         
         // Validar código único si cambió
-        if (!existingProduct.getCode().equals(productData.getCode()) 
+        if (!existingProduct.getCode().equals(productData.getCode())
             && productRepository.existsByCode(productData.getCode())) {
             throw new BusinessException("Ya existe un producto con el código: " + productData.getCode());
         }
         
+        int previousStock = existingProduct.getStock() != null ? existingProduct.getStock() : 0;
+        
         // Actualizar campos
         existingProduct.setCode(productData.getCode());
         existingProduct.setName(productData.getName());
@@ -63,7 +86,17 @@ public class ProductService {
         existingProduct.setActive(productData.getActive());
         existingProduct.setUpdatedAt(LocalDateTime.now());
         
-        return productRepository.save(existingProduct);
+        if (existingProduct.getStock() != null && inventoryEngine.manages(id)) {
+            inventoryEngine.set(id, existingProduct.getStock());
+        } else if (existingProduct.isStockSharded() && existingProduct.getStock() != null) {
+            stockSlotRepository.resetSlots(id, existingProduct.getStockSlots(), existingProduct.getStock());
+        }
+        
+        Product saved = persist(existingProduct);
+        if (saved.getStock() != null) {
+            stockLedgerService.record(saved, saved.getStock() - previousStock, StockMovement.TYPE_ADJUSTMENT, null);
+        }
+        return saved;
     }
     
     /**
@@ -71,8 +104,8 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Product getProductById(Long id) {
-        return productRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        return withCurrentStock(productRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id)));
     }
     
     /**
@@ -80,8 +113,8 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Product getProductByCode(String code) {
-        return productRepository.findByCode(code)
-            .orElseThrow(() -> new ResourceNotFoundException("Product", "code", code));
+        return withCurrentStock(productRepository.findByCode(code)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "code", code)));
     }
     
     /**
@@ -89,7 +122,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return withCurrentStock(productRepository.findAll());
     }
     
     /**
@@ -97,7 +130,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> getActiveProducts() {
-        return productRepository.findAllActive();
+        return withCurrentStock(productRepository.findAllActive());
     }
     
     /**
@@ -105,7 +138,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return withCurrentStock(productRepository.findByCategory(category));
     }
     
     /**
@@ -113,47 +146,85 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> searchProductsByName(String name) {
-        return productRepository.findByNameContaining(name);
+        return withCurrentStock(productRepository.findByNameContaining(name));
     }
     
     /**
      * Obtener productos que necesitan reabastecimiento
+     * La columna stock de los productos particionados no se mantiene al día,
+     * por eso se evalúan aparte con la suma de sus particiones.
+     * Con el motor de inventario la columna se actualiza en segundo plano; los
+     * candidatos se vuelven a evaluar con el stock en memoria.
      */
     @Transactional(readOnly = true)
     public List<Product> getProductsNeedingRestock() {
-        return productRepository.findProductsNeedingRestock();
+        Stream<Product> regular = withCurrentStock(productRepository.findProductsNeedingRestock()).stream()
+            .filter(product -> !product.isStockSharded())
+            .filter(Product::needsRestock);
+        Stream<Product> sharded = withCurrentStock(productRepository.findStockSharded()).stream()
+            .filter(Product::needsRestock);
+        return Stream.concat(regular, sharded).collect(Collectors.toList());
     }
     
     /**
      * Reducir stock de un producto
      */
+    @RetryOnConflict
     public Product reduceStock(Long productId, Integer quantity) {
         if (quantity == null || quantity <= 0) {
-            throw new BusinessException("La cantidad debe ser mayor a 0");
-        }
-        Product product = getProductById(productId);
-        try {
-            product.reduceStock(quantity);
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            throw new BusinessException(e.getMessage());
+            throw new BusinessException(ErrorCode.INVALID_QUANTITY);
         }
-        return productRepository.save(product);
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        return decreaseStockOf(product, quantity, StockMovement.TYPE_ADJUSTMENT, null);
     }
     
     /**
      * Aumentar stock de un producto
      */
+    @RetryOnConflict
     public Product increaseStock(Long productId, Integer quantity) {
         if (quantity == null || quantity <= 0) {
-            throw new BusinessException("La cantidad debe ser mayor a 0");
+            throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+        }
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        return increaseStockOf(product, quantity, StockMovement.TYPE_ADJUSTMENT, null);
+    }
+    
+    /**
+     * Repartir el stock de un producto en varias particiones
+     * Para SKUs muy vendidos: cada pedido bloquea una partición y no la fila del producto
+     */
+    public Product enableStockSharding(Long productId, Integer slots) {
+        if (slots == null || slots < 2 || slots > MAX_STOCK_SLOTS) {
+            throw new BusinessException("La cantidad de particiones debe estar entre 2 y " + MAX_STOCK_SLOTS);
+        }
+        if (inventoryEngine.manages(productId)) {
+            throw new BusinessException("El stock de este producto ya lo gestiona el motor de inventario en memoria");
         }
         Product product = getProductById(productId);
-        try {
-            product.increaseStock(quantity);
-        } catch (IllegalArgumentException e) {
-            throw new BusinessException(e.getMessage());
+        stockSlotRepository.resetSlots(productId, slots, product.getStock() != null ? product.getStock() : 0);
+        product.setStockSlots(slots);
+        product.setUpdatedAt(LocalDateTime.now());
+        return persist(product);
+    }
+    
+    /**
+     * Volver a guardar el stock del producto en una sola fila
+     */
+    public Product disableStockSharding(Long productId) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        if (!product.isStockSharded()) {
+            throw new BusinessException("El producto no tiene el stock particionado");
         }
-        return productRepository.save(product);
+        product.setStock(stockSlotRepository.collapseSlots(productId));
+        product.setStockSlots(null);
+        product.setUpdatedAt(LocalDateTime.now());
+        Product saved = persist(product);
+        afterCommit(() -> inventoryEngine.register(saved.getId(), saved.getStock()));
+        return saved;
     }
     
     /**
@@ -163,46 +234,200 @@ public class ProductService {
         Product product = getProductById(productId);
         product.setActive(!product.getActive());
         product.setUpdatedAt(LocalDateTime.now());
-        return productRepository.save(product);
+        return persist(product);
     }
     
     /**
      * Eliminar producto
      */
     public void deleteProduct(Long id) {
-        if (!productRepository.findById(id).isPresent()) {
-            throw new ResourceNotFoundException("Product", "id", id);
+        int stockSlots = productRepository.findStockSlotsById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        if (stockSlots > 1) {
+            stockSlotRepository.collapseSlots(id);
         }
         productRepository.deleteById(id);
+        afterCommit(() -> inventoryEngine.evict(id));
     }
     
     /**
      * Reducir stock (uso interno desde OrderService)
      * NO inicia transacción porque ya está en una
+     * El movimiento queda en el libro con su tipo y documento de origen
      */
-    protected void reduceStockInternal(Long productId, Integer quantity) {
+    protected void reduceStockInternal(Long productId, Integer quantity, String movementType, String reference) {
         Product product = productRepository.findById(productId)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-        try {
-            product.reduceStock(quantity);
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            throw new BusinessException(e.getMessage());
-        }
-        productRepository.save(product);
+        decreaseStockOf(product, quantity, movementType, reference);
+    }
+    
+    /**
+     * Aumentar stock (uso interno desde OrderService y GoodsReceiptService)
+     * NO inicia transacción porque ya está en una
+     * El movimiento queda en el libro con su tipo y documento de origen
+     */
+    protected void increaseStockInternal(Long productId, Integer quantity, String movementType, String reference) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        increaseStockOf(product, quantity, movementType, reference);
     }
     
     /**
-     * Aumentar stock (uso interno desde OrderService)
+     * Aumentar stock con un solo incremento y un movimiento del libro por documento de origen
+     * (uso interno desde GoodsReceiptService al recibir varias recepciones a la vez)
      * NO inicia transacción porque ya está en una
      */
-    protected void increaseStockInternal(Long productId, Integer quantity) {
+    protected void increaseStockInternal(Long productId, Map<String, Integer> quantityByReference, String movementType) {
         Product product = productRepository.findById(productId)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-        try {
-            product.increaseStock(quantity);
-        } catch (IllegalArgumentException e) {
-            throw new BusinessException(e.getMessage());
+        int total = quantityByReference.values().stream().mapToInt(Integer::intValue).sum();
+        Product saved = applyIncrease(product, total);
+        quantityByReference.forEach((reference, quantity) ->
+            stockLedgerService.record(saved, quantity, movementType, reference));
+    }
+    
+    /**
+     * Descontar stock en el motor de inventario, en las particiones o en la fila del producto
+     * Con motor o particiones la fila del producto no se escribe, así no se serializan los pedidos.
+     * Si la transacción se revierte, el motor devuelve la reserva en memoria.
+     */
+    private Product decreaseStockOf(Product product, Integer quantity, String movementType, String reference) {
+        Product saved;
+        if (inventoryEngine.manages(product.getId())) {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+            }
+            if (!inventoryEngine.tryReserve(product.getId(), quantity)) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+            }
+            saved = withCurrentStock(product);
+        } else if (product.isStockSharded()) {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+            }
+            if (!stockSlotRepository.tryDecrement(product.getId(), product.getStockSlots(), quantity)) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+            }
+            afterCommit(() -> productRepository.markStockChanged(product.getId()));
+            saved = withCurrentStock(product);
+        } else {
+            // Validar antes que el modelo: sus IllegalStateException sí capturan la pila
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+            }
+            if (product.getStock() < quantity) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+            }
+            try {
+                product.reduceStock(quantity);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new BusinessException(e.getMessage());
+            }
+            saved = persist(product);
+        }
+        stockLedgerService.record(saved, -quantity, movementType, reference);
+        return saved;
+    }
+    
+    /**
+     * Aumentar stock en el motor de inventario, en una partición o en la fila del producto
+     */
+    private Product increaseStockOf(Product product, Integer quantity, String movementType, String reference) {
+        Product saved = applyIncrease(product, quantity);
+        stockLedgerService.record(saved, quantity, movementType, reference);
+        return saved;
+    }
+    
+    /**
+     * Aplicar un aumento de stock sin registrarlo en el libro
+     */
+    private Product applyIncrease(Product product, Integer quantity) {
+        Product saved;
+        if (inventoryEngine.manages(product.getId())) {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+            }
+            inventoryEngine.add(product.getId(), quantity);
+            saved = withCurrentStock(product);
+        } else if (product.isStockSharded()) {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+            }
+            stockSlotRepository.increment(product.getId(), product.getStockSlots(), quantity);
+            afterCommit(() -> productRepository.markStockChanged(product.getId()));
+            saved = withCurrentStock(product);
+        } else {
+            try {
+                product.increaseStock(quantity);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(e.getMessage());
+            }
+            saved = persist(product);
+        }
+        return saved;
+    }
+    
+    /**
+     * Reemplazar el stock de la fila por el vigente: el del motor de inventario
+     * o la suma de las particiones
+     */
+    private Product withCurrentStock(Product product) {
+        if (inventoryEngine.manages(product.getId())) {
+            product.setStock(inventoryEngine.stockOf(product.getId()));
+        } else if (product.isStockSharded()) {
+            product.setStock(stockSlotRepository.sumQuantity(product.getId()));
+        }
+        return product;
+    }
+    
+    /**
+     * Stock vigente de una lista de productos (también lo usa la sincronización)
+     */
+    List<Product> withCurrentStock(List<Product> products) {
+        products.stream()
+            .filter(product -> inventoryEngine.manages(product.getId()))
+            .forEach(product -> product.setStock(inventoryEngine.stockOf(product.getId())));
+        List<Long> shardedIds = products.stream()
+            .filter(product -> !inventoryEngine.manages(product.getId()))
+            .filter(Product::isStockSharded)
+            .map(Product::getId)
+            .collect(Collectors.toList());
+        if (!shardedIds.isEmpty()) {
+            Map<Long, Integer> totals = stockSlotRepository.sumQuantities(shardedIds);
+            products.stream()
+                .filter(product -> shardedIds.contains(product.getId()))
+                .forEach(product -> product.setStock(totals.getOrDefault(product.getId(), 0)));
+        }
+        return products;
+    }
+    
+    /**
+     * Guardar el producto
+     * Si el motor de inventario gestiona el producto, la columna de stock no se toca
+     */
+    private Product persist(Product product) {
+        Product saved;
+        if (product.getId() != null && inventoryEngine.manages(product.getId())) {
+            saved = withCurrentStock(productRepository.saveKeepingStock(product));
+        } else {
+            saved = productRepository.save(product);
+        }
+        return saved;
+    }
+    
+    /**
+     * Ejecutar una acción sobre el motor de inventario solo si la transacción confirma
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        productRepository.save(product);
     }
 }
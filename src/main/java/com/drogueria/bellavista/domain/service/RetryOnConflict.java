@@ -0,0 +1,19 @@
+package com.drogueria.bellavista.domain.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un caso de uso que debe reintentarse cuando su transacción pierde
+ * una carrera de concurrencia optimista (@Version)
+ * El reintento envuelve la transacción completa: cada intento vuelve a leer
+ * el estado actual y re-evalúa las reglas de negocio sobre él.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
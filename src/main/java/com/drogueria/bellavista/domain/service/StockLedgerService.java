@@ -0,0 +1,153 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.model.StockSnapshot;
+import com.drogueria.bellavista.domain.repository.StockMovementRepository;
+import com.drogueria.bellavista.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de dominio - Libro de movimientos de stock
+ * Registra cada cambio de stock como un movimiento inmutable y toma una foto
+ * cada N movimientos por producto, así el stock a una fecha se calcula desde la
+ * foto más cercana más una cola acotada de movimientos.
+ * Registrar un movimiento es un solo INSERT: los movimientos se cuentan en memoria
+ * por producto y la foto se toma después, fuera de la petición (StockSnapshotScheduler),
+ * sumando el libro desde la foto anterior. Se espera snapshot-settle-ms para que todo
+ * movimiento anterior a la foto ya esté confirmado; el contador es por instancia, así
+ * que con varias instancias las fotos solo se toman más seguido.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockLedgerService {
+
+    private final StockMovementRepository stockMovementRepository;
+
+    /** Movimientos registrados por producto desde la última foto pedida */
+    private final Map<Long, Integer> movementCounts = new ConcurrentHashMap<>();
+
+    /** Fotos pendientes: producto -> fecha del último movimiento que debe cubrir */
+    private final Map<Long, LocalDateTime> pendingSnapshots = new ConcurrentHashMap<>();
+
+    @Value("${app.stock.ledger.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    @Value("${app.stock.ledger.snapshot-settle-ms:120000}")
+    private long snapshotSettleMs;
+
+    @Value("${app.stock.ledger.max-movements:500}")
+    private int maxMovements;
+
+    /**
+     * Registrar un movimiento ya aplicado al producto
+     */
+    public void record(Product product, int quantity, String movementType, String reference) {
+        if (quantity == 0) {
+            return;
+        }
+
+        StockMovement movement = stockMovementRepository.save(StockMovement.builder()
+            .productId(product.getId())
+            .movementType(movementType)
+            .quantity(quantity)
+            .reference(reference)
+            .createdAt(LocalDateTime.now())
+            .build());
+
+        if (countMovement(product.getId())) {
+            pendingSnapshots.putIfAbsent(product.getId(), movement.getCreatedAt());
+        }
+    }
+
+    /**
+     * Fotos pendientes cuyos movimientos ya están confirmados; se quitan de la lista
+     * @return producto -> fecha hasta la que debe llegar la foto
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<Long, LocalDateTime> takeDueSnapshots() {
+        LocalDateTime settled = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(snapshotSettleMs));
+        Map<Long, LocalDateTime> due = new HashMap<>();
+        pendingSnapshots.forEach((productId, upTo) -> {
+            if (!upTo.isAfter(settled) && pendingSnapshots.remove(productId, upTo)) {
+                due.put(productId, upTo);
+            }
+        });
+        return due;
+    }
+
+    /**
+     * Tomar una foto con los movimientos creados hasta una fecha
+     * La cantidad es la foto anterior más la suma del libro: no depende de dónde
+     * vive el stock vigente (fila, particiones o motor de inventario). La fecha de la
+     * foto es la del movimiento más reciente que cubre, así ningún movimiento
+     * posterior a esa fecha queda dentro de la foto.
+     */
+    public void takeSnapshot(Long productId, LocalDateTime upTo) {
+        Optional<StockSnapshot> previous = stockMovementRepository.findLatestSnapshot(productId);
+        long afterId = previous.map(StockSnapshot::getLastMovementId).orElse(0L);
+        Optional<Long> lastId = stockMovementRepository.findLastMovementIdUpTo(productId, afterId, upTo);
+        if (lastId.isEmpty()) {
+            return;
+        }
+        int quantity = previous.map(StockSnapshot::getQuantity).orElse(0)
+            + stockMovementRepository.sumQuantityBetween(productId, afterId, lastId.get());
+        stockMovementRepository.saveSnapshot(StockSnapshot.builder()
+            .productId(productId)
+            .quantity(quantity)
+            .lastMovementId(lastId.get())
+            .takenAt(stockMovementRepository.findLatestCreatedAtBetween(productId, afterId, lastId.get()))
+            .build());
+    }
+
+    /**
+     * Stock de un producto a una fecha dada
+     */
+    @Transactional(readOnly = true)
+    public int getStockAsOf(Long productId, LocalDateTime at) {
+        Optional<StockSnapshot> snapshot = stockMovementRepository.findLatestSnapshotAtOrBefore(productId, at);
+        if (snapshot.isEmpty()) {
+            if (!stockMovementRepository.hasMovementsUpTo(productId, at)) {
+                throw new BusinessException(
+                    "No hay historial de stock para el producto " + productId + " en la fecha " + at);
+            }
+            return stockMovementRepository.sumQuantityAfter(productId, 0L, at);
+        }
+        return snapshot.get().getQuantity()
+            + stockMovementRepository.sumQuantityAfter(productId, snapshot.get().getLastMovementId(), at);
+    }
+
+    /**
+     * Movimientos más recientes de un producto
+     * El límite se acota a max-movements: el libro de un producto vendido crece sin tope
+     */
+    @Transactional(readOnly = true)
+    public List<StockMovement> getRecentMovements(Long productId, int limit) {
+        if (limit <= 0) {
+            throw new BusinessException("El límite debe ser mayor a 0");
+        }
+        return stockMovementRepository.findRecentByProductId(productId, Math.min(limit, maxMovements));
+    }
+
+    /**
+     * Contar un movimiento del producto
+     * @return true para el movimiento que completa el intervalo (uno solo aunque haya concurrencia)
+     */
+    private boolean countMovement(Long productId) {
+        int count = movementCounts.merge(productId, 1, Integer::sum);
+        return count >= snapshotInterval && movementCounts.remove(productId, count);
+    }
+}
@@ -0,0 +1,92 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.model.Customer;
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.Supplier;
+import com.drogueria.bellavista.domain.model.SyncChangeSet;
+import com.drogueria.bellavista.domain.model.SyncTombstone;
+import com.drogueria.bellavista.domain.repository.CustomerRepository;
+import com.drogueria.bellavista.domain.repository.ProductRepository;
+import com.drogueria.bellavista.domain.repository.SupplierRepository;
+import com.drogueria.bellavista.domain.repository.SyncTombstoneRepository;
+import com.drogueria.bellavista.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de dominio - Sincronización incremental de catálogo y datos maestros
+ * Productos, clientes, proveedores y eliminaciones comparten una secuencia de
+ * cambios global; el cliente envía la última secuencia recibida y obtiene solo
+ * lo insertado, modificado o eliminado después de ella.
+ * La secuencia se publica después de confirmar, en el mismo orden que las publicaciones,
+ * así un cliente nunca avanza más allá de un cambio que todavía no es visible.
+ * Los productos se entregan con su stock vigente (motor de inventario o particiones).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final SupplierRepository supplierRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final ProductService productService;
+
+    @Value("${app.sync.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * Obtener los cambios posteriores a una secuencia
+     * Se leen hasta limit + 1 registros de cada origen y se conservan los limit
+     * de menor secuencia, así nextSince nunca salta un cambio pendiente.
+     * Las cuatro lecturas comparten una misma instantánea (REPEATABLE READ): con
+     * READ COMMITTED un cambio confirmado entre la lectura de productos y la de
+     * clientes aparecería solo en la segunda y nextSince saltaría el producto
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncChangeSet getChangesSince(long since, int limit) {
+        if (since < 0) {
+            throw new BusinessException("La secuencia inicial no puede ser negativa");
+        }
+        if (limit <= 0) {
+            throw new BusinessException("El límite debe ser mayor a 0");
+        }
+        int pageSize = Math.min(limit, maxLimit);
+
+        List<Product> products = productRepository.findChangedSince(since, pageSize + 1);
+        List<Customer> customers = customerRepository.findChangedSince(since, pageSize + 1);
+        List<Supplier> suppliers = supplierRepository.findChangedSince(since, pageSize + 1);
+        List<SyncTombstone> deleted = tombstoneRepository.findChangedSince(since, pageSize + 1);
+
+        List<Long> sequences = Stream.of(
+                        products.stream().map(Product::getChangeSeq),
+                        customers.stream().map(Customer::getChangeSeq),
+                        suppliers.stream().map(Supplier::getChangeSeq),
+                        deleted.stream().map(SyncTombstone::getChangeSeq))
+                .flatMap(s -> s)
+                .sorted()
+                .collect(Collectors.toList());
+
+        boolean hasMore = sequences.size() > pageSize;
+        long nextSince = sequences.isEmpty() ? since : sequences.get(Math.min(pageSize, sequences.size()) - 1);
+
+        return SyncChangeSet.builder()
+                .products(productService.withCurrentStock(products.stream()
+                        .filter(p -> p.getChangeSeq() <= nextSince)
+                        .collect(Collectors.toList())))
+                .customers(customers.stream().filter(c -> c.getChangeSeq() <= nextSince).collect(Collectors.toList()))
+                .suppliers(suppliers.stream().filter(s -> s.getChangeSeq() <= nextSince).collect(Collectors.toList()))
+                .deleted(deleted.stream().filter(d -> d.getChangeSeq() <= nextSince).collect(Collectors.toList()))
+                .nextSince(nextSince)
+                .hasMore(hasMore)
+                .build();
+    }
+}
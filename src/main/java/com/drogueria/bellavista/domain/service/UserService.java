@@ -168,9 +168,7 @@ public class UserService {
         
         // Prevenir que el último admin pierda su rol
         if (user.getRole() == Role.ADMIN && newRole != Role.ADMIN) {
-            long adminCount = userRepository.findAll().stream()
-                .filter(u -> u.getRole() == Role.ADMIN)
-                .count();
+            long adminCount = userRepository.countByRole(Role.ADMIN);
             
             if (adminCount <= 1) {
                 throw new BusinessException("No se puede cambiar el rol del único administrador del sistema");
@@ -196,9 +194,7 @@ public class UserService {
         
         // Prevenir desactivar el último admin
         if (user.getRole() == Role.ADMIN && !active) {
-            long activeAdminCount = userRepository.findAll().stream()
-                .filter(u -> u.getRole() == Role.ADMIN && u.isActive())
-                .count();
+            long activeAdminCount = userRepository.countByRoleAndActive(Role.ADMIN, true);
             
             if (activeAdminCount <= 1) {
                 throw new BusinessException("No se puede desactivar el único administrador activo del sistema");
@@ -219,9 +215,7 @@ public class UserService {
         
         // Prevenir eliminar el último admin
         if (user.getRole() == Role.ADMIN) {
-            long adminCount = userRepository.findAll().stream()
-                .filter(u -> u.getRole() == Role.ADMIN)
-                .count();
+            long adminCount = userRepository.countByRole(Role.ADMIN);
             
             if (adminCount <= 1) {
                 throw new BusinessException("No se puede eliminar el único administrador del sistema");
@@ -5,15 +5,20 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Excepción para errores de lógica de negocio
+ * Sin pila (ver CodedException); preferir un ErrorCode propio a un mensaje libre
  */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BusinessException extends RuntimeException {
+public class BusinessException extends CodedException {
     
     public BusinessException(String message) {
-        super(message);
+        super(ErrorCode.BUSINESS_RULE, new Object[]{message}, null);
     }
     
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.BUSINESS_RULE, new Object[]{message}, cause);
+    }
+
+    public BusinessException(ErrorCode code, Object... params) {
+        super(code, params, null);
     }
 }
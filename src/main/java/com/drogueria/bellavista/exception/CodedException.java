@@ -0,0 +1,39 @@
+package com.drogueria.bellavista.exception;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base de los rechazos esperados (reglas de negocio, recursos inexistentes)
+ * No captura la pila: son resultados normales de la petición, no fallos, y
+ * capturarla costaba más que el propio rechazo. El mensaje se compone a
+ * partir del código y sus parámetros solo cuando se pide.
+ */
+public abstract class CodedException extends RuntimeException {
+
+    private final ErrorCode code;
+    private final Object[] params;
+    private String message;
+
+    protected CodedException(ErrorCode code, Object[] params, Throwable cause) {
+        super(null, cause, false, false);
+        this.code = code;
+        this.params = params;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    public List<Object> getParams() {
+        return Arrays.asList(params);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = code.format(params);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,89 @@
+package com.drogueria.bellavista.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Códigos de error de negocio
+ * Cada código fija el estado HTTP, la etiqueta "error" de la respuesta y la
+ * plantilla del mensaje ({0}, {1}... se sustituyen por los parámetros tal cual,
+ * sin formato numérico). La plantilla se analiza una sola vez al cargar la clase.
+ */
+public enum ErrorCode {
+
+    // Genéricos: mensaje libre (código heredado)
+    BUSINESS_RULE(HttpStatus.BAD_REQUEST, "Business Error", "{0}"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Not Found", "{0}"),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "Not Found", "{0} no encontrado con {1}: {2}"),
+
+    // Pedidos y stock (Métrica 2.2: rechazos con mensajes claros)
+    CUSTOMER_INACTIVE(HttpStatus.BAD_REQUEST, "Business Error", "El cliente está inactivo"),
+    ORDER_ITEMS_REQUIRED(HttpStatus.BAD_REQUEST, "Business Error",
+            "El campo 'items' es obligatorio. La orden debe contener al menos un producto"),
+    PRODUCT_UNAVAILABLE(HttpStatus.BAD_REQUEST, "Business Error",
+            "El producto '{0}' (código: {1}) no está disponible para la venta"),
+    INSUFFICIENT_STOCK(HttpStatus.BAD_REQUEST, "Business Error", "Stock insuficiente"),
+    INSUFFICIENT_PRODUCT_STOCK(HttpStatus.BAD_REQUEST, "Business Error",
+            "Stock insuficiente para el producto '{0}' (código: {1}). Disponible: {2}, solicitado: {3}"),
+    INSUFFICIENT_CREDIT(HttpStatus.BAD_REQUEST, "Business Error",
+            "El cliente no tiene crédito suficiente. Límite: {0}, Pendiente: {1}, Requerido: {2}"),
+    INVALID_QUANTITY(HttpStatus.BAD_REQUEST, "Business Error", "La cantidad debe ser mayor a 0"),
+
+    // Protección ante sobrecarga
+    SERVICE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+            "Servidor ocupado, intente de nuevo en unos segundos"),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout",
+            "La operación superó el tiempo máximo permitido");
+
+    private final HttpStatus status;
+    private final String error;
+    private final String[] literals;
+    private final int[] parameters;
+
+    ErrorCode(HttpStatus status, String error, String template) {
+        this.status = status;
+        this.error = error;
+        List<String> literalParts = new ArrayList<>();
+        List<Integer> parameterIndexes = new ArrayList<>();
+        int from = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            literalParts.add(template.substring(from, open));
+            parameterIndexes.add(Integer.parseInt(template.substring(open + 1, close)));
+            from = close + 1;
+            open = template.indexOf('{', from);
+        }
+        literalParts.add(template.substring(from));
+        this.literals = literalParts.toArray(String[]::new);
+        this.parameters = parameterIndexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    /**
+     * Mensaje con los parámetros sustituidos (los que falten se dejan vacíos)
+     */
+    public String format(Object... params) {
+        if (parameters.length == 0) {
+            return literals[0];
+        }
+        StringBuilder message = new StringBuilder(64);
+        for (int i = 0; i < parameters.length; i++) {
+            message.append(literals[i]);
+            int index = parameters[i];
+            if (params != null && index < params.length) {
+                message.append(params[index]);
+            }
+        }
+        return message.append(literals[parameters.length]).toString();
+    }
+}
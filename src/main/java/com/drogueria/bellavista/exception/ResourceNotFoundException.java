@@ -5,15 +5,16 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Excepción cuando no se encuentra un recurso
+ * Sin pila (ver CodedException)
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends CodedException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.NOT_FOUND, new Object[]{message}, null);
     }
     
     public ResourceNotFoundException(String resource, String field, Object value) {
-        super(String.format("%s no encontrado con %s: %s", resource, field, value));
+        super(ErrorCode.RESOURCE_NOT_FOUND, new Object[]{resource, field, value}, null);
     }
 }
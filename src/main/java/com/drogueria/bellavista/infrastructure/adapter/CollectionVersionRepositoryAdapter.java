@@ -0,0 +1,40 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.domain.repository.CollectionVersionRepository;
+import com.drogueria.bellavista.infrastructure.persistence.ChangeSequenceStamper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Adaptador - Implementa CollectionVersionRepository con la secuencia de cambios de sincronización
+ * Cuenta también las filas pendientes de publicar (change_seq negativo, ver ChangeSequenceStamper)
+ * por su magnitud, así la versión cambia en cuanto la escritura confirma. Cada MAX y MIN se
+ * resuelve con un extremo de índice (idx_*_change_seq y la clave de sync_tombstones).
+ * Los tombstones no se filtran por tipo: una eliminación invalida las tres colecciones,
+ * a cambio de no necesitar otro índice.
+ */
+@Component
+@RequiredArgsConstructor
+public class CollectionVersionRepositoryAdapter implements CollectionVersionRepository {
+
+    private static final Set<String> TABLES = Set.of(
+            ChangeSequenceStamper.PRODUCTS, ChangeSequenceStamper.CUSTOMERS, ChangeSequenceStamper.SUPPLIERS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long currentVersion(String collection) {
+        if (!TABLES.contains(collection)) {
+            throw new IllegalArgumentException("Colección desconocida: " + collection);
+        }
+        Long version = jdbcTemplate.queryForObject("SELECT GREATEST("
+                + "(SELECT COALESCE(MAX(change_seq), 0) FROM " + collection + "), "
+                + "(SELECT -COALESCE(MIN(change_seq), 0) FROM " + collection + "), "
+                + "(SELECT COALESCE(MAX(change_seq), 0) FROM sync_tombstones), "
+                + "(SELECT -COALESCE(MIN(change_seq), 0) FROM sync_tombstones))", Long.class);
+        return version != null ? version : 0L;
+    }
+}
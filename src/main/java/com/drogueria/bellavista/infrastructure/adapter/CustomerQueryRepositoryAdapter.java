@@ -0,0 +1,35 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.application.dto.CustomerDTO;
+import com.drogueria.bellavista.application.query.CustomerQueryRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaCustomerReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador - Implementa CustomerQueryRepository con proyecciones de constructor JPQL
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerQueryRepositoryAdapter implements CustomerQueryRepository {
+
+    private final JpaCustomerReadRepository jpaRepository;
+
+    @Override
+    public Optional<CustomerDTO.Response> findById(Long id) {
+        return jpaRepository.findResponseById(id);
+    }
+
+    @Override
+    public List<CustomerDTO.Response> findAll() {
+        return jpaRepository.findAllResponses();
+    }
+
+    @Override
+    public List<CustomerDTO.Response> findAllActive() {
+        return jpaRepository.findActiveResponses();
+    }
+}
@@ -1,11 +1,14 @@
 package com.drogueria.bellavista.infrastructure.adapter;
 
 import com.drogueria.bellavista.domain.model.Customer;
+import com.drogueria.bellavista.domain.model.SyncTombstone;
 import com.drogueria.bellavista.domain.repository.CustomerRepository;
 import com.drogueria.bellavista.infrastructure.mapper.CustomerMapper;
+import com.drogueria.bellavista.infrastructure.persistence.ChangeSequenceStamper;
 import com.drogueria.bellavista.infrastructure.persistence.CustomerEntity;
 import com.drogueria.bellavista.infrastructure.persistence.JpaCustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -22,11 +25,13 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
     
     private final JpaCustomerRepository jpaRepository;
     private final CustomerMapper mapper;
+    private final ChangeSequenceStamper changeSequenceStamper;
     
     @Override
     public Customer save(Customer customer) {
         CustomerEntity entity = mapper.toEntity(customer);
         CustomerEntity savedEntity = jpaRepository.save(entity);
+        changeSequenceStamper.stamp(ChangeSequenceStamper.CUSTOMERS, savedEntity.getId());
         return mapper.toDomain(savedEntity);
     }
     
@@ -89,6 +94,12 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
     @Override
     public void delete(Long id) {
         jpaRepository.deleteById(id);
+        changeSequenceStamper.tombstone(SyncTombstone.CUSTOMER, id);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return jpaRepository.existsById(id);
     }
     
     @Override
@@ -105,4 +116,12 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
     public boolean existsByDocumentNumber(String documentNumber) {
         return jpaRepository.existsByDocumentNumber(documentNumber);
     }
+    
+    @Override
+    public List<Customer> findChangedSince(long since, int limit) {
+        return jpaRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, PageRequest.of(0, limit))
+            .stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,105 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.domain.repository.DocumentSequenceRepository;
+import com.drogueria.bellavista.domain.service.DocumentNumberService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adaptador - Implementa DocumentSequenceRepository con una secuencia de base de datos por prefijo
+ * Cada secuencia avanza de a un bloque (INCREMENT BY = tamaño de bloque), así que nextval
+ * reserva el bloque entero. nextval no es transaccional ni bloquea filas: corre sobre la
+ * conexión de la transacción del llamador, sin pedir una segunda conexión al pool.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentSequenceRepositoryAdapter implements DocumentSequenceRepository {
+
+    private static final String SEQUENCE_PREFIX = "document_seq_";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.documents.block-size:50}")
+    private int blockSize;
+
+    /**
+     * Crear las secuencias de los prefijos conocidos antes de atender peticiones
+     * y alinear su incremento con el tamaño de bloque configurado
+     */
+    @PostConstruct
+    void createSequences() {
+        for (String prefix : List.of(DocumentNumberService.ORDER_PREFIX, DocumentNumberService.GOODS_RECEIPT_PREFIX)) {
+            String sequence = sequenceName(prefix);
+            if (!sequenceExists(sequence)) {
+                createSequence(sequence, 1L);
+            } else {
+                alignIncrement(sequence);
+            }
+        }
+    }
+
+    @Override
+    public long allocateBlock(String prefix, int blockSize) {
+        if (blockSize != this.blockSize) {
+            throw new IllegalArgumentException("El tamaño de bloque " + blockSize
+                    + " no coincide con el incremento de la secuencia " + this.blockSize);
+        }
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + sequenceName(prefix) + "')", Long.class);
+        return start != null ? start : 0L;
+    }
+
+    private static String sequenceName(String prefix) {
+        if (!prefix.matches("[A-Z]+")) {
+            throw new IllegalArgumentException("Prefijo de documento inválido: " + prefix);
+        }
+        return SEQUENCE_PREFIX + prefix.toLowerCase();
+    }
+
+    private boolean sequenceExists(String sequence) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.sequences WHERE LOWER(sequence_name) = ?",
+                Integer.class, sequence);
+        return count != null && count > 0;
+    }
+
+    private void createSequence(String sequence, long start) {
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH " + start + " INCREMENT BY " + blockSize);
+            log.info("Secuencia {} creada desde {} con bloques de {}", sequence, start, blockSize);
+        } catch (DataAccessException e) {
+            // Otra instancia la creó en el mismo arranque
+            if (!sequenceExists(sequence)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Cambiar el incremento de una secuencia existente (PostgreSQL)
+     * Se reinicia al final del último bloque entregado: con un incremento menor,
+     * el siguiente bloque se solaparía con el anterior
+     */
+    private void alignIncrement(String sequence) {
+        List<long[]> current = jdbcTemplate.query(
+                "SELECT COALESCE(last_value, start_value), increment_by, last_value IS NULL FROM pg_sequences "
+                        + "WHERE schemaname = current_schema() AND sequencename = ?",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getBoolean(3) ? 1 : 0},
+                sequence);
+        if (current.isEmpty() || current.get(0)[1] == blockSize) {
+            return;
+        }
+        long[] row = current.get(0);
+        long restart = row[2] == 1 ? row[0] : row[0] + row[1];
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + blockSize + " RESTART WITH " + restart);
+        log.info("Secuencia {} ajustada a bloques de {} desde {}", sequence, blockSize, restart);
+    }
+}
@@ -1,13 +1,20 @@
 package com.drogueria.bellavista.infrastructure.adapter;
 
 import com.drogueria.bellavista.domain.model.GoodsReceipt;
+import com.drogueria.bellavista.domain.model.GoodsReceiptItem;
 import com.drogueria.bellavista.domain.repository.GoodsReceiptRepository;
 import com.drogueria.bellavista.infrastructure.mapper.GoodsReceiptMapper;
 import com.drogueria.bellavista.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -24,42 +31,99 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     
     @Override
     public GoodsReceipt save(GoodsReceipt goodsReceipt) {
-        // Convertir a Entity
+        // Convertir a Entity (Hibernate solo emite UPDATE de cabecera si algún campo cambió)
         GoodsReceiptEntity entity = mapper.toEntity(goodsReceipt);
         GoodsReceiptEntity savedEntity = jpaGoodsReceiptRepository.save(entity);
         
-        // Guardar items
-        if (goodsReceipt.getItems() != null && !goodsReceipt.getItems().isEmpty()) {
-            // Eliminar items antiguos si es actualización
-            if (savedEntity.getId() != null) {
-                jpaGoodsReceiptItemRepository.deleteByGoodsReceiptId(savedEntity.getId());
-            }
-            
-            // Guardar items nuevos
-            goodsReceipt.getItems().forEach(item -> {
-                GoodsReceiptItemEntity itemEntity = mapper.itemToEntity(item, savedEntity.getId());
-                jpaGoodsReceiptItemRepository.save(itemEntity);
-            });
+        // Items contra los que comparar: los leídos en esta transacción, sin volver a consultarlos
+        List<GoodsReceiptItemEntity> itemEntities = goodsReceipt.getId() == null
+                ? new ArrayList<>()
+                : loadedItems().get(savedEntity.getId());
+        if (itemEntities == null) {
+            itemEntities = items(savedEntity.getId());
         }
         
-        // Recargar items
-        List<GoodsReceiptItemEntity> itemEntities = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(savedEntity.getId());
+        // Guardar solo las diferencias entre los items persistidos y los del dominio
+        if (goodsReceipt.getItems() != null && !goodsReceipt.getItems().isEmpty()) {
+            itemEntities = saveItemChanges(savedEntity.getId(), goodsReceipt.getItems(), itemEntities);
+            loadedItems().put(savedEntity.getId(), itemEntities);
+        }
         
         return mapper.toDomain(savedEntity, itemEntities);
     }
     
+    /**
+     * Compara items del dominio contra los persistidos y emite solo los
+     * INSERT, UPDATE y DELETE necesarios (en lote), sin reescribir líneas iguales
+     * @return items resultantes en el orden del dominio
+     */
+    private List<GoodsReceiptItemEntity> saveItemChanges(Long goodsReceiptId,
+                                                         List<GoodsReceiptItem> items,
+                                                         List<GoodsReceiptItemEntity> persisted) {
+        Map<Long, GoodsReceiptItemEntity> persistedById = new HashMap<>();
+        persisted.forEach(itemEntity -> persistedById.put(itemEntity.getId(), itemEntity));
+        
+        List<GoodsReceiptItemEntity> result = new ArrayList<>(items.size());
+        List<GoodsReceiptItemEntity> toInsert = new ArrayList<>();
+        List<GoodsReceiptItemEntity> toUpdate = new ArrayList<>();
+        for (GoodsReceiptItem item : items) {
+            GoodsReceiptItemEntity current = mapper.itemToEntity(item, goodsReceiptId);
+            GoodsReceiptItemEntity existing = item.getId() == null ? null : persistedById.remove(item.getId());
+            if (existing == null) {
+                current.setId(null);
+                toInsert.add(current);
+                result.add(current);
+            } else if (existing.equals(current)) {
+                result.add(existing);
+            } else {
+                toUpdate.add(current);
+                result.add(current);
+            }
+        }
+        
+        // Lo que queda en el mapa ya no está en el dominio
+        if (!persistedById.isEmpty()) {
+            jpaGoodsReceiptItemRepository.deleteAllByIdInBatch(persistedById.keySet());
+        }
+        if (!toUpdate.isEmpty()) {
+            jpaGoodsReceiptItemRepository.saveAll(toUpdate);
+        }
+        if (!toInsert.isEmpty()) {
+            jpaGoodsReceiptItemRepository.saveAll(toInsert);
+        }
+        return result;
+    }
+    
     @Override
     public Optional<GoodsReceipt> findById(Long id) {
         return jpaGoodsReceiptRepository.findById(id).map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(id);
+            List<GoodsReceiptItemEntity> items = items(id);
             return mapper.toDomain(entity, items);
         });
     }
     
+    @Override
+    public List<GoodsReceipt> findAllById(Collection<Long> ids) {
+        List<GoodsReceiptEntity> entities = jpaGoodsReceiptRepository.findAllById(ids);
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<GoodsReceiptItemEntity>> itemsByReceipt = jpaGoodsReceiptItemRepository
+                .findByGoodsReceiptIdIn(entities.stream().map(GoodsReceiptEntity::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(GoodsReceiptItemEntity::getGoodsReceiptId));
+        Map<Long, List<GoodsReceiptItemEntity>> loaded = loadedItems();
+        return entities.stream().map(entity -> {
+            List<GoodsReceiptItemEntity> items = itemsByReceipt.getOrDefault(entity.getId(), new ArrayList<>());
+            loaded.put(entity.getId(), items);
+            return mapper.toDomain(entity, items);
+        }).collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<GoodsReceipt> findByReceiptNumber(String receiptNumber) {
         return jpaGoodsReceiptRepository.findByReceiptNumber(receiptNumber).map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         });
     }
@@ -67,7 +131,7 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     @Override
     public List<GoodsReceipt> findByOrderId(Long orderId) {
         return jpaGoodsReceiptRepository.findByOrderId(orderId).stream().map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         }).collect(Collectors.toList());
     }
@@ -75,7 +139,7 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     @Override
     public List<GoodsReceipt> findBySupplierId(Long supplierId) {
         return jpaGoodsReceiptRepository.findBySupplierId(supplierId).stream().map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         }).collect(Collectors.toList());
     }
@@ -83,7 +147,7 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     @Override
     public List<GoodsReceipt> findByStatus(String status) {
         return jpaGoodsReceiptRepository.findByStatus(status).stream().map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         }).collect(Collectors.toList());
     }
@@ -91,7 +155,7 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     @Override
     public List<GoodsReceipt> findPendingReceipts() {
         return jpaGoodsReceiptRepository.findPendingReceipts().stream().map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         }).collect(Collectors.toList());
     }
@@ -99,13 +163,14 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     @Override
     public List<GoodsReceipt> findAll() {
         return jpaGoodsReceiptRepository.findAll().stream().map(entity -> {
-            List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(entity.getId());
+            List<GoodsReceiptItemEntity> items = items(entity.getId());
             return mapper.toDomain(entity, items);
         }).collect(Collectors.toList());
     }
     
     @Override
     public void delete(Long id) {
+        loadedItems().remove(id);
         jpaGoodsReceiptItemRepository.deleteByGoodsReceiptId(id);
         jpaGoodsReceiptRepository.deleteById(id);
     }
@@ -114,4 +179,40 @@ public class GoodsReceiptRepositoryAdapter implements GoodsReceiptRepository {
     public boolean existsByReceiptNumber(String receiptNumber) {
         return jpaGoodsReceiptRepository.existsByReceiptNumber(receiptNumber);
     }
+    
+    @Override
+    public boolean existsByOrderIdAndStatus(Long orderId, String status) {
+        return jpaGoodsReceiptRepository.existsByOrderIdAndStatus(orderId, status);
+    }
+    
+    /**
+     * Items de una recepción; dentro de una transacción quedan registrados para que
+     * save compare contra ellos sin volver a leerlos
+     */
+    private List<GoodsReceiptItemEntity> items(Long goodsReceiptId) {
+        List<GoodsReceiptItemEntity> items = jpaGoodsReceiptItemRepository.findByGoodsReceiptId(goodsReceiptId);
+        loadedItems().put(goodsReceiptId, items);
+        return items;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<GoodsReceiptItemEntity>> loadedItems() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<Long, List<GoodsReceiptItemEntity>> loaded =
+                (Map<Long, List<GoodsReceiptItemEntity>>) TransactionSynchronizationManager.getResource(this);
+        if (loaded == null) {
+            Map<Long, List<GoodsReceiptItemEntity>> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GoodsReceiptRepositoryAdapter.this);
+                }
+            });
+            loaded = created;
+        }
+        return loaded;
+    }
 }
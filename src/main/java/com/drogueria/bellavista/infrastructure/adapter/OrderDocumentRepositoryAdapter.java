@@ -0,0 +1,61 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.application.mapper.OrderUseCaseMapper;
+import com.drogueria.bellavista.domain.model.Order;
+import com.drogueria.bellavista.domain.repository.OrderDocumentRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaOrderDocumentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador - Implementa OrderDocumentRepository usando Spring Data JPA
+ * El documento es OrderDTO.Response serializado con el ObjectMapper de la
+ * aplicación, así coincide con lo que devolvería el controlador
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderDocumentRepositoryAdapter implements OrderDocumentRepository {
+
+    private final JpaOrderDocumentRepository jpaRepository;
+    private final OrderUseCaseMapper orderUseCaseMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void save(Order order) {
+        String document;
+        try {
+            document = objectMapper.writeValueAsString(orderUseCaseMapper.toResponse(order));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la orden " + order.getId(), e);
+        }
+        jpaRepository.upsert(order.getId(), order.getOrderNumber(), order.getCustomerId(),
+            order.getOrderDate(), document, LocalDateTime.now());
+    }
+
+    @Override
+    public Optional<String> findById(Long orderId) {
+        return jpaRepository.findDocumentByOrderId(orderId);
+    }
+
+    @Override
+    public Optional<String> findByOrderNumber(String orderNumber) {
+        return jpaRepository.findDocumentByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public List<String> findByCustomerId(Long customerId) {
+        return jpaRepository.findDocumentsByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Long> findOrderIdsWithoutDocument(int limit) {
+        return jpaRepository.findOrderIdsWithoutDocument(PageRequest.of(0, limit));
+    }
+}
@@ -81,6 +81,11 @@ public class OrderRepositoryAdapter implements OrderRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public long countByCustomerId(Long customerId) {
+        return jpaRepository.countByCustomerId(customerId);
+    }
+    
     @Override
     public List<Order> findByStatus(String status) {
         return jpaRepository.findByStatus(status).stream()
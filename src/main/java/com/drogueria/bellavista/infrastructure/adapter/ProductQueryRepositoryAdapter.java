@@ -0,0 +1,55 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.application.dto.ProductDTO;
+import com.drogueria.bellavista.application.query.ProductQueryRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaProductReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador - Implementa ProductQueryRepository con proyecciones de constructor JPQL
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductQueryRepositoryAdapter implements ProductQueryRepository {
+
+    private final JpaProductReadRepository jpaRepository;
+
+    @Override
+    public Optional<ProductDTO.Response> findById(Long id) {
+        return jpaRepository.findResponseById(id);
+    }
+
+    @Override
+    public Optional<ProductDTO.Response> findByCode(String code) {
+        return jpaRepository.findResponseByCode(code);
+    }
+
+    @Override
+    public List<ProductDTO.Response> findAll() {
+        return jpaRepository.findAllResponses();
+    }
+
+    @Override
+    public List<ProductDTO.Response> findAllActive() {
+        return jpaRepository.findActiveResponses();
+    }
+
+    @Override
+    public List<ProductDTO.Response> findByCategory(String category) {
+        return jpaRepository.findResponsesByCategory(category);
+    }
+
+    @Override
+    public List<ProductDTO.Response> findByNameContaining(String name) {
+        return jpaRepository.findResponsesByNameContaining(name);
+    }
+
+    @Override
+    public List<ProductDTO.Response> findNeedingRestock() {
+        return jpaRepository.findResponsesNeedingRestock();
+    }
+}
@@ -1,13 +1,18 @@
 package com.drogueria.bellavista.infrastructure.adapter;
 
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.SyncTombstone;
 import com.drogueria.bellavista.domain.repository.ProductRepository;
 import com.drogueria.bellavista.infrastructure.mapper.ProductMapper;
+import com.drogueria.bellavista.infrastructure.persistence.ChangeSequenceStamper;
 import com.drogueria.bellavista.infrastructure.persistence.JpaProductRepository;
 import com.drogueria.bellavista.infrastructure.persistence.ProductEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,14 +27,33 @@ public class ProductRepositoryAdapter implements ProductRepository {
     
     private final JpaProductRepository jpaRepository;
     private final ProductMapper mapper;
+    private final ChangeSequenceStamper changeSequenceStamper;
     
     @Override
     public Product save(Product product) {
         ProductEntity entity = mapper.toEntity(product);
         ProductEntity savedEntity = jpaRepository.save(entity);
+        changeSequenceStamper.stamp(ChangeSequenceStamper.PRODUCTS, savedEntity.getId());
         return mapper.toDomain(savedEntity);
     }
     
+    /**
+     * UPDATE explícito sin la columna stock: un merge copiaría el stock de la
+     * entidad cargada y pisaría lo que el motor de inventario volcó entretanto
+     */
+    @Override
+    public Product saveKeepingStock(Product product) {
+        ProductEntity entity = mapper.toEntity(product);
+        entity.setUpdatedAt(LocalDateTime.now());
+        if (jpaRepository.updateExceptStock(entity) == 0) {
+            throw new ObjectOptimisticLockingFailureException(ProductEntity.class, product.getId());
+        }
+        changeSequenceStamper.stamp(ChangeSequenceStamper.PRODUCTS, product.getId());
+        return jpaRepository.findById(product.getId())
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(ProductEntity.class, product.getId()));
+    }
+    
     @Override
     public Optional<Product> findById(Long id) {
         return jpaRepository.findById(id)
@@ -79,11 +103,37 @@ public class ProductRepositoryAdapter implements ProductRepository {
     
     @Override
     public void deleteById(Long id) {
-        jpaRepository.deleteById(id);
+        // DELETE directo: JpaRepository.deleteById cargaría la entidad antes de borrarla
+        jpaRepository.deleteProductById(id);
+        changeSequenceStamper.tombstone(SyncTombstone.PRODUCT, id);
     }
     
     @Override
     public boolean existsByCode(String code) {
         return jpaRepository.existsByCode(code);
     }
+    
+    @Override
+    public Optional<Integer> findStockSlotsById(Long id) {
+        return jpaRepository.findStockSlotsById(id);
+    }
+    
+    @Override
+    public List<Product> findStockSharded() {
+        return jpaRepository.findByStockSlotsGreaterThan(1).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Product> findChangedSince(long since, int limit) {
+        return jpaRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, PageRequest.of(0, limit)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void markStockChanged(Long id) {
+        changeSequenceStamper.stampLater(id);
+    }
 }
@@ -0,0 +1,118 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.model.StockSnapshot;
+import com.drogueria.bellavista.domain.repository.StockMovementRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaStockMovementRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaStockSnapshotRepository;
+import com.drogueria.bellavista.infrastructure.persistence.StockMovementEntity;
+import com.drogueria.bellavista.infrastructure.persistence.StockSnapshotEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador - Implementa StockMovementRepository usando Spring Data JPA
+ */
+@Component
+@RequiredArgsConstructor
+public class StockMovementRepositoryAdapter implements StockMovementRepository {
+
+    private final JpaStockMovementRepository movementRepository;
+    private final JpaStockSnapshotRepository snapshotRepository;
+
+    @Override
+    public StockMovement save(StockMovement movement) {
+        StockMovementEntity entity = StockMovementEntity.builder()
+            .productId(movement.getProductId())
+            .movementType(movement.getMovementType())
+            .quantity(movement.getQuantity())
+            .reference(movement.getReference())
+            .createdAt(movement.getCreatedAt())
+            .build();
+        return toDomain(movementRepository.save(entity));
+    }
+
+    @Override
+    public StockSnapshot saveSnapshot(StockSnapshot snapshot) {
+        StockSnapshotEntity entity = StockSnapshotEntity.builder()
+            .productId(snapshot.getProductId())
+            .quantity(snapshot.getQuantity())
+            .lastMovementId(snapshot.getLastMovementId())
+            .takenAt(snapshot.getTakenAt())
+            .build();
+        return toDomain(snapshotRepository.save(entity));
+    }
+
+    @Override
+    public Optional<StockSnapshot> findLatestSnapshot(Long productId) {
+        return snapshotRepository.findFirstByProductIdOrderByLastMovementIdDesc(productId)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<StockSnapshot> findLatestSnapshotAtOrBefore(Long productId, LocalDateTime at) {
+        return snapshotRepository
+            .findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDescLastMovementIdDesc(productId, at)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<Long> findLastMovementIdUpTo(Long productId, Long afterMovementId, LocalDateTime upTo) {
+        return Optional.ofNullable(movementRepository.findLastIdUpTo(productId, afterMovementId, upTo));
+    }
+
+    @Override
+    public int sumQuantityBetween(Long productId, Long afterMovementId, Long lastMovementId) {
+        return movementRepository.sumQuantityBetween(productId, afterMovementId, lastMovementId).intValue();
+    }
+
+    @Override
+    public LocalDateTime findLatestCreatedAtBetween(Long productId, Long afterMovementId, Long lastMovementId) {
+        return movementRepository.findLatestCreatedAtBetween(productId, afterMovementId, lastMovementId);
+    }
+
+    @Override
+    public boolean hasMovementsUpTo(Long productId, LocalDateTime upTo) {
+        return movementRepository.existsByProductIdAndCreatedAtLessThanEqual(productId, upTo);
+    }
+
+    @Override
+    public int sumQuantityAfter(Long productId, Long afterMovementId, LocalDateTime upTo) {
+        return movementRepository.sumQuantityAfter(productId, afterMovementId, upTo).intValue();
+    }
+
+    @Override
+    public List<StockMovement> findRecentByProductId(Long productId, int limit) {
+        return movementRepository.findByProductIdOrderByIdDesc(productId, PageRequest.of(0, limit))
+            .stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    private StockMovement toDomain(StockMovementEntity entity) {
+        return StockMovement.builder()
+            .id(entity.getId())
+            .productId(entity.getProductId())
+            .movementType(entity.getMovementType())
+            .quantity(entity.getQuantity())
+            .reference(entity.getReference())
+            .createdAt(entity.getCreatedAt())
+            .build();
+    }
+
+    private StockSnapshot toDomain(StockSnapshotEntity entity) {
+        return StockSnapshot.builder()
+            .id(entity.getId())
+            .productId(entity.getProductId())
+            .quantity(entity.getQuantity())
+            .lastMovementId(entity.getLastMovementId())
+            .takenAt(entity.getTakenAt())
+            .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.domain.repository.StockSlotRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaStockSlotRepository;
+import com.drogueria.bellavista.infrastructure.persistence.StockSlotEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adaptador - Implementa StockSlotRepository usando Spring Data JPA
+ * Descuento en tres fases:
+ * 1. Partición elegida al azar, si no está bloqueada y alcanza
+ * 2. Cualquier otra partición libre que alcance (SKIP LOCKED)
+ * 3. Préstamo: bloquear todas en orden y descontar repartido
+ * Una transacción solo espera por particiones si todavía no retiene ninguna, de ningún
+ * producto; si ya retiene alguna (otra línea del pedido, del mismo producto o de otro)
+ * pide el resto con NOWAIT y, si están ocupadas, se revierte entera y se reintenta
+ * (@RetryOnConflict). Así nadie espera mientras retiene una partición y no se forman
+ * ciclos de espera entre particiones, tampoco entre productos distintos.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockSlotRepositoryAdapter implements StockSlotRepository {
+
+    private final JpaStockSlotRepository jpaRepository;
+
+    @Override
+    public void resetSlots(Long productId, int slots, int totalStock) {
+        lockAllSlots(productId);
+        jpaRepository.deleteByProductId(productId);
+
+        List<StockSlotEntity> entities = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            int share = totalStock / slots + (slot < totalStock % slots ? 1 : 0);
+            entities.add(StockSlotEntity.builder()
+                .productId(productId)
+                .slotNo(slot)
+                .quantity(share)
+                .build());
+        }
+        jpaRepository.saveAll(entities);
+    }
+
+    @Override
+    public int collapseSlots(Long productId) {
+        int total = lockAllSlots(productId).stream()
+            .mapToInt(StockSlotEntity::getQuantity)
+            .sum();
+        jpaRepository.deleteByProductId(productId);
+        return total;
+    }
+
+    @Override
+    public boolean tryDecrement(Long productId, int slots, int quantity) {
+        int preferred = ThreadLocalRandom.current().nextInt(slots);
+        Optional<StockSlotEntity> slot = jpaRepository.lockSlotSkipLocked(productId, preferred, quantity)
+            .or(() -> jpaRepository.lockAnySlotSkipLocked(productId, quantity));
+        if (slot.isPresent()) {
+            markHeld(productId);
+            slot.get().setQuantity(slot.get().getQuantity() - quantity);
+            return true;
+        }
+
+        List<StockSlotEntity> all = lockAllSlots(productId);
+        if (all.stream().mapToInt(StockSlotEntity::getQuantity).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (StockSlotEntity entity : all) {
+            int taken = Math.min(entity.getQuantity(), remaining);
+            entity.setQuantity(entity.getQuantity() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void increment(Long productId, int slots, int quantity) {
+        int preferred = ThreadLocalRandom.current().nextInt(slots);
+        Optional<StockSlotEntity> slot = jpaRepository.lockSlotSkipLocked(productId, preferred, 0)
+            .or(() -> jpaRepository.lockAnySlotSkipLocked(productId, 0))
+            .or(() -> lockAllSlots(productId).stream().findFirst());
+        markHeld(productId);
+        if (slot.isPresent()) {
+            slot.get().setQuantity(slot.get().getQuantity() + quantity);
+        } else {
+            // Producto marcado como particionado sin filas: se recrea la primera partición
+            jpaRepository.save(StockSlotEntity.builder()
+                .productId(productId)
+                .slotNo(0)
+                .quantity(quantity)
+                .build());
+        }
+    }
+
+    /**
+     * Bloquear todas las particiones del producto
+     * Si la transacción ya retiene alguna partición (de cualquier producto), no espera:
+     * NOWAIT falla enseguida con CannotAcquireLockException y la transacción se
+     * reintenta desde el principio
+     */
+    private List<StockSlotEntity> lockAllSlots(Long productId) {
+        List<StockSlotEntity> all = holdsAnySlot()
+            ? jpaRepository.lockAllSlotsNoWait(productId)
+            : jpaRepository.lockAllSlots(productId);
+        markHeld(productId);
+        return all;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> heldProducts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashSet<>();
+        }
+        Set<Long> held = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            Set<Long> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockSlotRepositoryAdapter.this);
+                }
+            });
+            held = created;
+        }
+        return held;
+    }
+
+    private boolean holdsAnySlot() {
+        return !heldProducts().isEmpty();
+    }
+
+    private void markHeld(Long productId) {
+        heldProducts().add(productId);
+    }
+
+    @Override
+    public int sumQuantity(Long productId) {
+        return jpaRepository.sumQuantity(productId).intValue();
+    }
+
+    @Override
+    public Map<Long, Integer> sumQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> totals = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return totals;
+        }
+        for (Object[] row : jpaRepository.sumQuantities(productIds)) {
+            totals.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return totals;
+    }
+}
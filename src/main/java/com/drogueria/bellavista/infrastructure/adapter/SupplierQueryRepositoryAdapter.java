@@ -0,0 +1,40 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.application.dto.SupplierDTO;
+import com.drogueria.bellavista.application.query.SupplierQueryRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaSupplierReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador - Implementa SupplierQueryRepository con proyecciones de constructor JPQL
+ */
+@Component
+@RequiredArgsConstructor
+public class SupplierQueryRepositoryAdapter implements SupplierQueryRepository {
+
+    private final JpaSupplierReadRepository jpaRepository;
+
+    @Override
+    public Optional<SupplierDTO.Response> findById(Long id) {
+        return jpaRepository.findResponseById(id);
+    }
+
+    @Override
+    public Optional<SupplierDTO.Response> findByCode(String code) {
+        return jpaRepository.findResponseByCode(code);
+    }
+
+    @Override
+    public List<SupplierDTO.Response> findAll() {
+        return jpaRepository.findAllResponses();
+    }
+
+    @Override
+    public List<SupplierDTO.Response> findAllActive() {
+        return jpaRepository.findActiveResponses();
+    }
+}
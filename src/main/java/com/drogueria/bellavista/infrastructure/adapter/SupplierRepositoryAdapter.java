@@ -1,10 +1,14 @@
 package com.drogueria.bellavista.infrastructure.adapter;
 
 import com.drogueria.bellavista.domain.model.Supplier;
+import com.drogueria.bellavista.domain.model.SyncTombstone;
 import com.drogueria.bellavista.domain.repository.SupplierRepository;
 import com.drogueria.bellavista.infrastructure.mapper.SupplierMapper;
+import com.drogueria.bellavista.infrastructure.persistence.ChangeSequenceStamper;
 import com.drogueria.bellavista.infrastructure.persistence.JpaSupplierRepository;
+import com.drogueria.bellavista.infrastructure.persistence.SupplierEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -20,10 +24,14 @@ public class SupplierRepositoryAdapter implements SupplierRepository {
     
     private final JpaSupplierRepository jpaRepository;
     private final SupplierMapper mapper;
+    private final ChangeSequenceStamper changeSequenceStamper;
     
     @Override
     public Supplier save(Supplier supplier) {
-        return mapper.toDomain(jpaRepository.save(mapper.toEntity(supplier)));
+        SupplierEntity entity = mapper.toEntity(supplier);
+        SupplierEntity savedEntity = jpaRepository.save(entity);
+        changeSequenceStamper.stamp(ChangeSequenceStamper.SUPPLIERS, savedEntity.getId());
+        return mapper.toDomain(savedEntity);
     }
     
     @Override
@@ -54,6 +62,7 @@ public class SupplierRepositoryAdapter implements SupplierRepository {
     @Override
     public void delete(Long id) {
         jpaRepository.deleteById(id);
+        changeSequenceStamper.tombstone(SyncTombstone.SUPPLIER, id);
     }
     
     @Override
@@ -65,4 +74,10 @@ public class SupplierRepositoryAdapter implements SupplierRepository {
     public boolean existsByEmail(String email) {
         return jpaRepository.existsByEmail(email);
     }
+    
+    @Override
+    public List<Supplier> findChangedSince(long since, int limit) {
+        return jpaRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, PageRequest.of(0, limit))
+            .stream().map(mapper::toDomain).collect(Collectors.toList());
+    }
 }
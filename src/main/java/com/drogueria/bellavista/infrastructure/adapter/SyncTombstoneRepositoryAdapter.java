@@ -0,0 +1,39 @@
+package com.drogueria.bellavista.infrastructure.adapter;
+
+import com.drogueria.bellavista.domain.model.SyncTombstone;
+import com.drogueria.bellavista.domain.repository.SyncTombstoneRepository;
+import com.drogueria.bellavista.infrastructure.persistence.JpaSyncTombstoneRepository;
+import com.drogueria.bellavista.infrastructure.persistence.SyncTombstoneEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador - Implementa SyncTombstoneRepository usando Spring Data JPA
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncTombstoneRepositoryAdapter implements SyncTombstoneRepository {
+
+    private final JpaSyncTombstoneRepository jpaRepository;
+
+    @Override
+    public List<SyncTombstone> findChangedSince(long since, int limit) {
+        return jpaRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, PageRequest.of(0, limit))
+            .stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    private SyncTombstone toDomain(SyncTombstoneEntity entity) {
+        return SyncTombstone.builder()
+            .changeSeq(entity.getChangeSeq())
+            .entityType(entity.getEntityType())
+            .entityId(entity.getEntityId())
+            .deletedAt(entity.getDeletedAt())
+            .build();
+    }
+}
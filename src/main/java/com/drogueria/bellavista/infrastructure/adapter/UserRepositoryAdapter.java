@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.infrastructure.adapter;
 
+import com.drogueria.bellavista.domain.model.Role;
 import com.drogueria.bellavista.domain.model.User;
 import com.drogueria.bellavista.domain.repository.UserRepository;
 import com.drogueria.bellavista.infrastructure.mapper.UserMapper;
@@ -61,6 +62,16 @@ public class UserRepositoryAdapter implements UserRepository {
         return jpaUserRepository.existsByEmail(email);
     }
 
+    @Override
+    public long countByRole(Role role) {
+        return jpaUserRepository.countByRole(role);
+    }
+
+    @Override
+    public long countByRoleAndActive(Role role, boolean active) {
+        return jpaUserRepository.countByRoleAndActive(role, active);
+    }
+
     @Override
     public void delete(User user) {
         UserEntity entity = userMapper.toEntity(user);
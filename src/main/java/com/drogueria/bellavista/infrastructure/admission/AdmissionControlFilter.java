@@ -0,0 +1,191 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import com.drogueria.bellavista.infrastructure.jdbc.HikariPoolReport;
+import com.drogueria.bellavista.infrastructure.web.ConditionalGetRoutes;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Filtro - Control de admisión por clase de petición
+ * Corre antes de Spring Security (la autenticación JWT también consulta la BD).
+ * Con capacity 0 la capacidad global se mide (ConnectionShareCapacity): el tamaño
+ * del pool Hikari dividido por las conexiones que retiene en promedio cada petición
+ * en curso, así la cola de prioridad limita lo que el pool puede atender y no
+ * la cantidad de peticiones, que en su mayoría usan la conexión una fracción del tiempo.
+ * Las peticiones rechazadas por cola llena o espera agotada reciben
+ * 503 con Retry-After; actuator, /admin y los GET condicionales cuyo ETag coincide
+ * con la versión recordada en memoria (se responderán 304) no pasan por la admisión.
+ * Métricas:
+ * - bellavista.admission.capacity: capacidad global vigente
+ * - bellavista.admission.in-flight{class} / bellavista.admission.queued{class}
+ * - bellavista.admission.wait{class}: espera hasta ser admitida
+ * - bellavista.admission.rejected{class}
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String IN_FLIGHT = "bellavista.admission.in-flight";
+    static final String QUEUED = "bellavista.admission.queued";
+    static final String WAIT = "bellavista.admission.wait";
+    static final String REJECTED = "bellavista.admission.rejected";
+    static final String CAPACITY = "bellavista.admission.capacity";
+
+    /** Temporizador de Hikari con el tiempo que cada conexión pasa prestada */
+    private static final String HIKARI_USAGE = "hikaricp.connections.usage";
+
+    private final PriorityAdmission admission;
+    private final RequestClassifier classifier;
+    private final ConditionalGetRoutes conditionalGetRoutes;
+    private final ConnectionShareCapacity measuredCapacity;
+    private final Map<RequestClass, Timer> waitTimers = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> rejections = new EnumMap<>(RequestClass.class);
+
+    @Value("${app.admission.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    public AdmissionControlFilter(
+            MeterRegistry meterRegistry,
+            DataSource dataSource,
+            ConditionalGetRoutes conditionalGetRoutes,
+            @Value("${app.admission.capacity:0}") int capacity,
+            @Value("${app.admission.sizing.max-capacity:50}") int maxCapacity,
+            @Value("${app.admission.sizing.window-ms:10000}") long sizingWindowMs,
+            @Value("${app.admission.reserved:3}") int reserved,
+            @Value("${app.admission.checkout.paths:POST /orders}") String checkoutPaths,
+            @Value("${app.admission.checkout.bulkhead:10,50,10000}") int[] checkoutBulkhead,
+            @Value("${app.admission.auth.paths:/auth/**}") String authPaths,
+            @Value("${app.admission.auth.bulkhead:4,20,5000}") int[] authBulkhead,
+            @Value("${app.admission.interactive.bulkhead:40,50,3000}") int[] interactiveBulkhead,
+            @Value("${app.admission.report.paths:}") String reportPaths,
+            @Value("${app.admission.report.bulkhead:2,4,2000}") int[] reportBulkhead) {
+        this.conditionalGetRoutes = conditionalGetRoutes;
+        this.classifier = new RequestClassifier()
+                .rules(RequestClass.CHECKOUT, checkoutPaths)
+                .rules(RequestClass.AUTH, authPaths)
+                .rules(RequestClass.REPORT, reportPaths);
+        HikariDataSource hikari = HikariPoolReport.hikari(dataSource);
+        this.measuredCapacity = capacity <= 0 && hikari != null
+                ? new ConnectionShareCapacity(() -> hikari.getHikariConfigMXBean().getMaximumPoolSize(),
+                        () -> connectionNanos(meterRegistry), maxCapacity, sizingWindowMs)
+                : null;
+        IntSupplier globalCapacity = measuredCapacity != null ? measuredCapacity : fixed(capacity);
+        this.admission = new PriorityAdmission(globalCapacity, reserved)
+                .bulkhead(RequestClass.CHECKOUT, bulkhead(checkoutBulkhead))
+                .bulkhead(RequestClass.AUTH, bulkhead(authBulkhead))
+                .bulkhead(RequestClass.INTERACTIVE, bulkhead(interactiveBulkhead))
+                .bulkhead(RequestClass.REPORT, bulkhead(reportBulkhead));
+        Gauge.builder(CAPACITY, globalCapacity, IntSupplier::getAsInt)
+                .description("Capacidad global de admisión")
+                .register(meterRegistry);
+        for (RequestClass requestClass : RequestClass.values()) {
+            Gauge.builder(IN_FLIGHT, admission, a -> a.inFlight(requestClass))
+                    .description("Peticiones admitidas en curso")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder(QUEUED, admission, a -> a.waiting(requestClass))
+                    .description("Peticiones esperando admisión")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            waitTimers.put(requestClass, Timer.builder(WAIT)
+                    .description("Espera hasta la admisión")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry));
+            rejections.put(requestClass, Counter.builder(REJECTED)
+                    .description("Peticiones rechazadas por sobrecarga")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    private static IntSupplier fixed(int configured) {
+        int fixed = configured > 0 ? configured : 10;
+        return () -> fixed;
+    }
+
+    /**
+     * Tiempo total que las conexiones del pool pasaron prestadas; -1 sin métricas de Hikari
+     */
+    private static long connectionNanos(MeterRegistry meterRegistry) {
+        Collection<Timer> usage = meterRegistry.find(HIKARI_USAGE).timers();
+        if (usage.isEmpty()) {
+            return -1;
+        }
+        return (long) usage.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.NANOSECONDS)).sum();
+    }
+
+    /**
+     * "máximo en curso,cola,espera máxima en ms"
+     */
+    private static PriorityAdmission.Bulkhead bulkhead(int[] values) {
+        if (values.length != 3) {
+            throw new IllegalArgumentException("Compartimento inválido: se esperan 3 valores (en curso, cola, espera ms)");
+        }
+        return new PriorityAdmission.Bulkhead(values[0], values[1], values[2]);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.startsWith("/actuator") || path.startsWith("/admin");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (conditionalGetRoutes.isNotModified(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestClass requestClass = classifier.classify(request);
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = admission.tryAcquire(requestClass);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejections.get(requestClass).increment();
+            log.debug("{} {} rechazada por sobrecarga (clase {})",
+                    request.getMethod(), request.getRequestURI(), requestClass.tag());
+            OverloadResponse.write(response, retryAfterSeconds);
+            return;
+        }
+        long admittedAt = System.nanoTime();
+        waitTimers.get(requestClass).record(admittedAt - start, TimeUnit.NANOSECONDS);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            admission.release(requestClass);
+            if (measuredCapacity != null) {
+                measuredCapacity.record(System.nanoTime() - admittedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Interceptor - Límite de concurrencia adaptativo para las escrituras de un grupo de endpoints
+ * Las lecturas no pasan por el límite. Por encima del límite la petición se
+ * rechaza con 503 antes de llegar al controlador.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final VegasLimiter limiter;
+    private final Counter rejections;
+    private final int retryAfterSeconds;
+
+    ConcurrencyLimitInterceptor(VegasLimiter limiter, Counter rejections, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.rejections = rejections;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod())
+                || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            rejections.increment();
+            OverloadResponse.write(response, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            request.removeAttribute(START_ATTRIBUTE);
+            boolean dropped = ex != null || response.getStatus() >= 500;
+            limiter.release(System.nanoTime() - startNanos, dropped);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fábrica de límites de concurrencia adaptativos, uno por grupo de endpoints
+ * Métricas:
+ * - bellavista.concurrency.limit{group}: límite actual
+ * - bellavista.concurrency.in-flight{group}: escrituras en curso
+ * - bellavista.concurrency.rejected{group}: escrituras rechazadas
+ */
+@Component
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimits {
+
+    static final String LIMIT = "bellavista.concurrency.limit";
+    static final String IN_FLIGHT = "bellavista.concurrency.in-flight";
+    static final String REJECTED = "bellavista.concurrency.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.concurrency-limit.initial-limit:10}")
+    private int initialLimit;
+
+    @Value("${app.concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${app.concurrency-limit.max-limit:50}")
+    private int maxLimit;
+
+    @Value("${app.concurrency-limit.probe-multiplier:30}")
+    private int probeMultiplier;
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    public ConcurrencyLimits(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ConcurrencyLimitInterceptor interceptor(String group) {
+        VegasLimiter limiter = new VegasLimiter(initialLimit, minLimit, maxLimit, probeMultiplier);
+        Gauge.builder(LIMIT, limiter, VegasLimiter::getLimit)
+                .description("Límite de concurrencia adaptativo")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT, limiter, VegasLimiter::getInFlight)
+                .description("Escrituras en curso bajo el límite")
+                .tag("group", group)
+                .register(meterRegistry);
+        Counter rejections = Counter.builder(REJECTED)
+                .description("Escrituras rechazadas por superar el límite")
+                .tag("group", group)
+                .register(meterRegistry);
+        return new ConcurrencyLimitInterceptor(limiter, rejections, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,87 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Capacidad global de admisión medida a partir del uso real de conexiones
+ * Por la ley de Little, las peticiones en curso que sostiene el pool son
+ * tamaño del pool / conexiones por petición en curso, y las conexiones por petición
+ * son el tiempo de conexión retenido dividido por el tiempo de las peticiones
+ * admitidas en la misma ventana. Una petición que casi no usa la base de datos
+ * cuenta poco; un informe que retiene la conexión toda la petición cuenta uno.
+ * La capacidad nunca baja del tamaño del pool ni supera el máximo configurado;
+ * si la ventana no tiene tráfico suficiente se conserva la medida anterior.
+ */
+public class ConnectionShareCapacity implements IntSupplier {
+
+    /** Tiempo mínimo de peticiones en la ventana para que la medida cuente */
+    static final long MIN_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final IntSupplier poolSize;
+    private final LongSupplier connectionNanos;
+    private final int maxCapacity;
+    private final long windowNanos;
+    private final LongAdder requestNanos = new LongAdder();
+
+    private long lastRequestNanos;
+    private long lastConnectionNanos;
+    private volatile long nextRecompute;
+    private volatile int capacity;
+
+    /**
+     * @param poolSize        tamaño máximo actual del pool
+     * @param connectionNanos tiempo acumulado de conexiones retenidas; negativo si no se mide
+     */
+    public ConnectionShareCapacity(IntSupplier poolSize, LongSupplier connectionNanos,
+                                   int maxCapacity, long windowMs) {
+        this.poolSize = poolSize;
+        this.connectionNanos = connectionNanos;
+        this.maxCapacity = maxCapacity;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.lastConnectionNanos = Math.max(0, connectionNanos.getAsLong());
+        this.capacity = poolSize.getAsInt();
+        this.nextRecompute = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Registrar la duración de una petición admitida
+     */
+    public void record(long nanos) {
+        requestNanos.add(nanos);
+    }
+
+    @Override
+    public int getAsInt() {
+        if (System.nanoTime() - nextRecompute >= 0) {
+            recompute();
+        }
+        return capacity;
+    }
+
+    /**
+     * Recalcular con lo medido desde el último cálculo
+     */
+    synchronized void recompute() {
+        nextRecompute = System.nanoTime() + windowNanos;
+        int pool = poolSize.getAsInt();
+        long connections = connectionNanos.getAsLong();
+        long requests = requestNanos.sum();
+        if (connections < 0) {
+            capacity = pool;
+            return;
+        }
+        long requestDelta = requests - lastRequestNanos;
+        if (requestDelta < MIN_SAMPLE_NANOS) {
+            capacity = Math.max(pool, capacity);
+            return;
+        }
+        double connectionsPerRequest = (double) (connections - lastConnectionNanos) / requestDelta;
+        lastRequestNanos = requests;
+        lastConnectionNanos = connections;
+        double measured = connectionsPerRequest > 0 ? pool / connectionsPerRequest : maxCapacity;
+        capacity = Math.max(pool, (int) Math.min(maxCapacity, measured));
+    }
+}
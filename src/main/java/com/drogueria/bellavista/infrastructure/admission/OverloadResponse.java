@@ -0,0 +1,22 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import com.drogueria.bellavista.exception.ErrorCode;
+import com.drogueria.bellavista.infrastructure.web.ErrorResponseWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+
+/**
+ * Respuesta 503 + Retry-After para peticiones rechazadas por sobrecarga
+ */
+final class OverloadResponse {
+
+    private OverloadResponse() {
+    }
+
+    static void write(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        ErrorResponseWriter.write(response, ErrorCode.SERVICE_OVERLOADED);
+    }
+}
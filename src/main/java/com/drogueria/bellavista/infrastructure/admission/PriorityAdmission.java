@@ -0,0 +1,151 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admisión por prioridad delante del pool de conexiones
+ * Dos niveles de límite:
+ * - Compartimento (bulkhead) por clase: máximo de peticiones en curso, cola y espera máxima
+ * - Capacidad global (se consulta en cada decisión, puede medirse con el uso del pool):
+ *   las clases no críticas no pueden ocupar las plazas reservadas
+ * Al liberarse una plaza se despierta primero la clase de mayor prioridad que
+ * pueda entrar, de modo que los informes solo avanzan cuando nadie más espera.
+ */
+public class PriorityAdmission {
+
+    /**
+     * Límites de una clase
+     */
+    public record Bulkhead(int maxConcurrent, int maxQueue, long maxWaitMs) {
+    }
+
+    private final IntSupplier capacity;
+    private final int reserved;
+    private final Bulkhead[] bulkheads = new Bulkhead[RequestClass.values().length];
+    private final int[] inFlight = new int[RequestClass.values().length];
+    private final int[] waiting = new int[RequestClass.values().length];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] turns = new Condition[RequestClass.values().length];
+    private int totalInFlight;
+
+    public PriorityAdmission(IntSupplier capacity, int reserved) {
+        this.capacity = capacity;
+        this.reserved = reserved;
+        for (RequestClass requestClass : RequestClass.values()) {
+            bulkheads[requestClass.ordinal()] = new Bulkhead(Integer.MAX_VALUE, 0, 0);
+            turns[requestClass.ordinal()] = lock.newCondition();
+        }
+    }
+
+    public PriorityAdmission bulkhead(RequestClass requestClass, Bulkhead bulkhead) {
+        bulkheads[requestClass.ordinal()] = bulkhead;
+        return this;
+    }
+
+    /**
+     * Intentar entrar, esperando como máximo la espera de la clase
+     * @return true si se admitió; quien entra debe llamar a release()
+     */
+    public boolean tryAcquire(RequestClass requestClass) throws InterruptedException {
+        int index = requestClass.ordinal();
+        lock.lock();
+        try {
+            if (waiting[index] == 0 && eligible(requestClass)) {
+                admit(index);
+                return true;
+            }
+            Bulkhead bulkhead = bulkheads[index];
+            if (waiting[index] >= bulkhead.maxQueue()) {
+                return false;
+            }
+            waiting[index]++;
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(bulkhead.maxWaitMs());
+                while (!eligible(requestClass)) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = turns[index].awaitNanos(nanos);
+                }
+                admit(index);
+                return true;
+            } finally {
+                waiting[index]--;
+                signalNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(RequestClass requestClass) {
+        lock.lock();
+        try {
+            inFlight[requestClass.ordinal()]--;
+            totalInFlight--;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight(RequestClass requestClass) {
+        lock.lock();
+        try {
+            return inFlight[requestClass.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting(RequestClass requestClass) {
+        lock.lock();
+        try {
+            return waiting[requestClass.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(int index) {
+        inFlight[index]++;
+        totalInFlight++;
+    }
+
+    /**
+     * Hay plaza para la clase y ninguna clase más prioritaria que pueda entrar está esperando
+     */
+    private boolean eligible(RequestClass requestClass) {
+        if (!fits(requestClass)) {
+            return false;
+        }
+        for (RequestClass higher : RequestClass.values()) {
+            if (higher == requestClass) {
+                return true;
+            }
+            if (waiting[higher.ordinal()] > 0 && fits(higher)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fits(RequestClass requestClass) {
+        int total = capacity.getAsInt();
+        int limit = requestClass.isCritical() ? total : total - Math.min(reserved, total - 1);
+        return inFlight[requestClass.ordinal()] < bulkheads[requestClass.ordinal()].maxConcurrent()
+                && totalInFlight < limit;
+    }
+
+    private void signalNext() {
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (waiting[requestClass.ordinal()] > 0 && fits(requestClass)) {
+                turns[requestClass.ordinal()].signal();
+                return;
+            }
+        }
+    }
+}
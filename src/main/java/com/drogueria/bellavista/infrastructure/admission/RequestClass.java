@@ -0,0 +1,32 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+/**
+ * Clases de petición para el control de admisión, de mayor a menor prioridad
+ * Las críticas (venta en mostrador y autenticación) pueden ocupar la capacidad
+ * reservada; el resto solo la compartida.
+ */
+public enum RequestClass {
+    CHECKOUT("checkout", true),
+    AUTH("auth", true),
+    INTERACTIVE("interactive", false),
+    REPORT("report", false);
+
+    private final String tag;
+    private final boolean critical;
+
+    RequestClass(String tag, boolean critical) {
+        this.tag = tag;
+        this.critical = critical;
+    }
+
+    /**
+     * Valor de la etiqueta "class" en las métricas
+     */
+    public String tag() {
+        return tag;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+}
@@ -0,0 +1,56 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clasificador de peticiones por método y ruta
+ * Cada regla tiene la forma "[MÉTODO] /patrón/**" (sin método aplica a todos);
+ * la primera clase con una regla que coincide gana, en orden de prioridad.
+ * Lo que no coincide con ninguna regla es INTERACTIVE.
+ */
+public class RequestClassifier {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Agregar las reglas de una clase, separadas por comas
+     */
+    public RequestClassifier rules(RequestClass requestClass, String definitions) {
+        for (String definition : StringUtils.commaDelimitedListToStringArray(definitions)) {
+            String trimmed = definition.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int space = trimmed.indexOf(' ');
+            String method = space > 0 ? trimmed.substring(0, space).trim() : null;
+            String pattern = space > 0 ? trimmed.substring(space + 1).trim() : trimmed;
+            rules.add(new Rule(requestClass, method, pattern));
+        }
+        rules.sort((a, b) -> a.requestClass().compareTo(b.requestClass()));
+        return this;
+    }
+
+    public RequestClass classify(HttpServletRequest request) {
+        return classify(request.getMethod(), request.getServletPath());
+    }
+
+    RequestClass classify(String method, String path) {
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && MATCHER.match(rule.pattern(), path)) {
+                return rule.requestClass();
+            }
+        }
+        return RequestClass.INTERACTIVE;
+    }
+
+    private record Rule(RequestClass requestClass, String method, String pattern) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia adaptativo estilo TCP Vegas
+ * Estima la cola que se está formando a partir de la latencia observada frente
+ * a la latencia sin carga (la mínima reciente):
+ *   cola ≈ límite × (1 − rttSinCarga / rtt)
+ * Con poca cola el límite sube, con mucha baja; los fallos (5xx, excepciones)
+ * también lo bajan. La latencia sin carga se vuelve a medir cada cierto número
+ * de muestras para seguir los cambios de la base de datos o del despliegue.
+ * Las peticiones por encima del límite se rechazan al instante, sin cola.
+ */
+public class VegasLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeMultiplier;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long samplesUntilProbe;
+
+    public VegasLimiter(int initialLimit, int minLimit, int maxLimit, int probeMultiplier) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeMultiplier = probeMultiplier;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.samplesUntilProbe = nextProbe();
+    }
+
+    /**
+     * Reservar una plaza si hay; quien la obtiene debe llamar a release()
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Liberar la plaza con la latencia observada
+     * @param dropped la petición falló por el servidor: cuenta como señal de sobrecarga
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion, dropped);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = nextProbe();
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+
+        double current = estimatedLimit;
+        double step = Math.max(1.0, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - step;
+        } else {
+            // Sin demanda suficiente la latencia no dice nada sobre el límite
+            if (inFlightAtCompletion * 2 < current) {
+                return;
+            }
+            double queue = Math.ceil(current * (1 - (double) noLoadRttNanos / rttNanos));
+            double alpha = 3 * step;
+            double beta = 6 * step;
+            if (queue <= step) {
+                next = current + beta;
+            } else if (queue < alpha) {
+                next = current + step;
+            } else if (queue > beta) {
+                next = current - step;
+            } else {
+                return;
+            }
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    private long nextProbe() {
+        long base = (long) probeMultiplier * limit;
+        return base + ThreadLocalRandom.current().nextLong(base + 1);
+    }
+}
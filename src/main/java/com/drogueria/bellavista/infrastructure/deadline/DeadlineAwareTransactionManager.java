@@ -0,0 +1,26 @@
+package com.drogueria.bellavista.infrastructure.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Gestor de transacciones JPA que acota el timeout de cada transacción al plazo
+ * restante de la petición. Hibernate lo aplica a cada sentencia de la
+ * transacción; si el plazo ya venció, la transacción ni siquiera comienza.
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        if (!RequestDeadline.isSet()) {
+            return configured;
+        }
+        int remaining = RequestDeadline.remainingSeconds();
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException("Plazo de la petición agotado antes de iniciar la transacción");
+        }
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(configured, remaining);
+    }
+}
@@ -0,0 +1,52 @@
+package com.drogueria.bellavista.infrastructure.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plazo de la petición HTTP en curso
+ * Lo fija RequestDeadlineFilter y lo consultan la capa JDBC (timeout de cada
+ * sentencia) y el gestor de transacciones (timeout de cada transacción).
+ * Fuera de una petición no hay plazo y nada se limita.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void begin(long timeoutMs) {
+        DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    static void end() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * Milisegundos restantes (0 o negativo si ya venció); Long.MAX_VALUE sin plazo
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static boolean expired() {
+        return remainingMillis() <= 0;
+    }
+
+    /**
+     * Segundos restantes redondeados hacia arriba, para los timeouts JDBC y de transacción
+     */
+    public static int remainingSeconds() {
+        long remaining = remainingMillis();
+        if (remaining == Long.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000));
+    }
+}
@@ -0,0 +1,99 @@
+package com.drogueria.bellavista.infrastructure.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtro - Plazo de extremo a extremo para cada petición
+ * El plazo se fija al entrar, antes de la admisión, de modo que la espera en
+ * cola también lo consume. Por defecto default-ms; cada endpoint puede tener
+ * el suyo ("MÉTODO /patrón=ms") y el cliente puede pedir uno con la cabecera
+ * X-Request-Timeout (milisegundos, sin superar max-ms).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 12)
+@ConditionalOnProperty(name = "app.deadline.enabled", havingValue = "true")
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final long defaultMs;
+    private final long maxMs;
+    private final List<EndpointTimeout> endpoints = new ArrayList<>();
+
+    public RequestDeadlineFilter(@Value("${app.deadline.default-ms:10000}") long defaultMs,
+                                 @Value("${app.deadline.max-ms:60000}") long maxMs,
+                                 @Value("${app.deadline.endpoints:}") String endpointTimeouts) {
+        this.defaultMs = defaultMs;
+        this.maxMs = maxMs;
+        for (String definition : StringUtils.commaDelimitedListToStringArray(endpointTimeouts)) {
+            String trimmed = definition.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.lastIndexOf('=');
+            int space = trimmed.indexOf(' ');
+            if (equals < 0 || space < 0 || space > equals) {
+                throw new IllegalArgumentException("Plazo de endpoint inválido: " + trimmed
+                        + " (se espera \"MÉTODO /patrón=ms\")");
+            }
+            endpoints.add(new EndpointTimeout(trimmed.substring(0, space).trim(),
+                    trimmed.substring(space + 1, equals).trim(),
+                    Long.parseLong(trimmed.substring(equals + 1).trim())));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline.begin(timeoutMs(request.getMethod(), request.getServletPath(), request.getHeader(HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+
+    long timeoutMs(String method, String path, String requested) {
+        if (requested != null) {
+            try {
+                long value = Long.parseLong(requested.trim());
+                if (value > 0) {
+                    return Math.min(value, maxMs);
+                }
+            } catch (NumberFormatException ignored) {
+                // Cabecera inválida: se usa el plazo del endpoint
+            }
+        }
+        for (EndpointTimeout endpoint : endpoints) {
+            if (endpoint.method().equalsIgnoreCase(method) && MATCHER.match(endpoint.pattern(), path)) {
+                return Math.min(endpoint.timeoutMs(), maxMs);
+            }
+        }
+        return Math.min(defaultMs, maxMs);
+    }
+
+    private record EndpointTimeout(String method, String pattern, long timeoutMs) {
+    }
+}
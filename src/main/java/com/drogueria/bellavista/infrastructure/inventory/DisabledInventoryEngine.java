@@ -0,0 +1,49 @@
+package com.drogueria.bellavista.infrastructure.inventory;
+
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de inventario desactivado (modo por defecto)
+ * No gestiona ningún producto, así ProductService usa siempre la base de datos
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.engine.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledInventoryEngine implements InventoryEngine {
+
+    @Override
+    public boolean manages(Long productId) {
+        return false;
+    }
+
+    @Override
+    public int stockOf(Long productId) {
+        throw new IllegalStateException("El motor de inventario está desactivado");
+    }
+
+    @Override
+    public boolean tryReserve(Long productId, int quantity) {
+        throw new IllegalStateException("El motor de inventario está desactivado");
+    }
+
+    @Override
+    public void add(Long productId, int delta) {
+        throw new IllegalStateException("El motor de inventario está desactivado");
+    }
+
+    @Override
+    public int set(Long productId, int stock) {
+        throw new IllegalStateException("El motor de inventario está desactivado");
+    }
+
+    @Override
+    public void register(Long productId, int stock) {
+        // Sin motor no hay nada que registrar
+    }
+
+    @Override
+    public void evict(Long productId) {
+        // Sin motor no hay nada que liberar
+    }
+}
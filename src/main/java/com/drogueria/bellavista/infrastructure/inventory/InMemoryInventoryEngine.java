@@ -0,0 +1,390 @@
+package com.drogueria.bellavista.infrastructure.inventory;
+
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
+import com.drogueria.bellavista.infrastructure.persistence.ChangeSequenceStamper;
+import com.drogueria.bellavista.infrastructure.persistence.InventoryCheckpointEntity;
+import com.drogueria.bellavista.infrastructure.persistence.JpaInventoryCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Motor de inventario en memoria con journal de escritura diferida
+ * - El stock de cada producto vive en una posición densa de un AtomicIntegerArray
+ *   y las reservas se deciden con CAS, sin bloquear la fila del producto.
+ * - Cada cambio se agrega como delta a un journal mapeado en memoria. Dentro de una
+ *   transacción se agrega al confirmarla (el lugar queda reservado al decidir) y, si se
+ *   revierte, solo se deshace en memoria: el journal nunca ve un cambio no confirmado.
+ * - Un hilo en segundo plano escribe los valores confirmados en products.stock por lotes
+ *   junto con la posición del journal ya cubierta; al arrancar se cargan los valores de
+ *   la base de datos y se reproducen los deltas posteriores a ese punto de control.
+ * - Al rotar, la nueva época empieza con la diferencia entre los valores del corte y los
+ *   ya volcados, así el volcado puede correr fuera del corte: si no llega a confirmarse,
+ *   la nueva época reproducida sobre la base de datos da el mismo resultado.
+ * Los cambios toman el candado de lectura (compartido); el volcado toma el de
+ * escritura solo para capturar un corte consistente de valores y posición.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inventory.engine.enabled", havingValue = "true")
+public class InMemoryInventoryEngine implements InventoryEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JpaInventoryCheckpointRepository checkpointRepository;
+    private final ChangeSequenceStamper changeSequenceStamper;
+
+    @Value("${app.inventory.engine.capacity:65536}")
+    private int capacity;
+
+    @Value("${app.inventory.engine.journal-path:data/inventory.journal}")
+    private String journalPath;
+
+    @Value("${app.inventory.engine.journal-size-mb:64}")
+    private int journalSizeMb;
+
+    @Value("${app.inventory.engine.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private final Map<Long, Integer> slotByProduct = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final ReentrantReadWriteLock cutLock = new ReentrantReadWriteLock();
+
+    private AtomicIntegerArray stock;
+    /** Deltas aplicados en memoria por transacciones todavía abiertas */
+    private AtomicIntegerArray uncommitted;
+    private AtomicLongArray productIds;
+    private int[] flushed;
+    private final AtomicInteger reservedRecords = new AtomicInteger();
+    private InventoryJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public InMemoryInventoryEngine(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   JpaInventoryCheckpointRepository checkpointRepository,
+                                   ChangeSequenceStamper changeSequenceStamper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.changeSequenceStamper = changeSequenceStamper;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        stock = new AtomicIntegerArray(capacity);
+        uncommitted = new AtomicIntegerArray(capacity);
+        productIds = new AtomicLongArray(capacity);
+        flushed = new int[capacity];
+        journal = new InventoryJournal(Path.of(journalPath), journalSizeMb * 1024 * 1024);
+
+        jdbcTemplate.query(
+            "SELECT id, stock FROM products WHERE active = true AND (stock_slots IS NULL OR stock_slots <= 1)",
+            rs -> {
+                register(rs.getLong("id"), rs.getInt("stock"));
+            });
+        InventoryCheckpointEntity checkpoint = checkpointRepository.findById(InventoryCheckpointEntity.SINGLETON_ID)
+            .orElse(null);
+        long checkpointEpoch = checkpoint != null ? checkpoint.getJournalEpoch() : 0L;
+        int checkpointPosition = checkpoint != null ? checkpoint.getJournalPosition() : InventoryJournal.HEADER_SIZE;
+        AtomicInteger replayed = new AtomicInteger();
+        if (journal.epoch() >= checkpointEpoch) {
+            // Una época posterior al punto de control empieza con la diferencia respecto
+            // a la base de datos: se reproduce entera
+            int from = journal.epoch() == checkpointEpoch ? checkpointPosition : InventoryJournal.HEADER_SIZE;
+            journal.replay(from, (productId, delta) -> {
+                Integer slot = slotByProduct.get(productId);
+                if (slot != null) {
+                    stock.addAndGet(slot, delta);
+                    replayed.incrementAndGet();
+                }
+            });
+        }
+        log.info("Motor de inventario: {} productos cargados, {} movimientos del journal reproducidos",
+            slotByProduct.size(), replayed.get());
+
+        flush(true);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush(true);
+        journal.close();
+    }
+
+    @Override
+    public boolean manages(Long productId) {
+        return slotByProduct.containsKey(productId);
+    }
+
+    @Override
+    public int stockOf(Long productId) {
+        return stock.get(slotOf(productId));
+    }
+
+    @Override
+    public boolean tryReserve(Long productId, int quantity) {
+        int slot = slotOf(productId);
+        cutLock.readLock().lock();
+        try {
+            int current;
+            do {
+                current = stock.get(slot);
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!stock.compareAndSet(slot, current, current - quantity));
+            journal(slot, productId, -quantity);
+            return true;
+        } finally {
+            cutLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Long productId, int delta) {
+        int slot = slotOf(productId);
+        cutLock.readLock().lock();
+        try {
+            stock.addAndGet(slot, delta);
+            journal(slot, productId, delta);
+        } finally {
+            cutLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int set(Long productId, int value) {
+        int slot = slotOf(productId);
+        cutLock.readLock().lock();
+        try {
+            int delta = value - stock.getAndSet(slot, value);
+            journal(slot, productId, delta);
+            return delta;
+        } finally {
+            cutLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * El valor ya está persistido en products.stock: cuenta como volcado
+     * Se registra dentro del corte, así un volcado ve el producto completo o no lo ve
+     */
+    @Override
+    public void register(Long productId, int value) {
+        cutLock.readLock().lock();
+        try {
+            Integer slot = slotByProduct.computeIfAbsent(productId, id -> nextSlot.getAndIncrement());
+            if (slot >= capacity) {
+                slotByProduct.remove(productId);
+                log.warn("Motor de inventario lleno ({} productos); el producto {} se gestiona en base de datos",
+                    capacity, productId);
+                return;
+            }
+            stock.set(slot, value);
+            flushed[slot] = value;
+            productIds.set(slot, productId);
+        } finally {
+            cutLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(Long productId) {
+        Integer slot = slotByProduct.remove(productId);
+        if (slot != null) {
+            productIds.set(slot, 0L);
+        }
+    }
+
+    private int slotOf(Long productId) {
+        Integer slot = slotByProduct.get(productId);
+        if (slot == null) {
+            throw new IllegalStateException("El producto " + productId + " no está en el motor de inventario");
+        }
+        return slot;
+    }
+
+    /**
+     * Agregar al journal un delta ya aplicado en memoria
+     * Sin lugar en el journal el cambio se revierte en memoria y falla. Dentro de una
+     * transacción el lugar se reserva ahora y el delta se escribe al confirmarla; si se
+     * revierte, el delta se deshace en memoria sin pasar por el journal.
+     */
+    private void journal(int slot, long productId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!reserveRecord()) {
+            stock.addAndGet(slot, -delta);
+            throw new IllegalStateException("Journal de inventario lleno; reintente en unos segundos");
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendReserved(productId, delta);
+            return;
+        }
+        uncommitted.addAndGet(slot, delta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cutLock.readLock().lock();
+                try {
+                    if (status == STATUS_ROLLED_BACK) {
+                        stock.addAndGet(slot, -delta);
+                        reservedRecords.decrementAndGet();
+                    } else {
+                        appendReserved(productId, delta);
+                    }
+                    uncommitted.addAndGet(slot, -delta);
+                } finally {
+                    cutLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reservar lugar para un registro: el journal nunca se llena con un cambio ya confirmado
+     */
+    private boolean reserveRecord() {
+        while (true) {
+            int reserved = reservedRecords.get();
+            long needed = journal.position() + (long) (reserved + 1) * InventoryJournal.RECORD_SIZE;
+            if (needed > journal.capacity()) {
+                return false;
+            }
+            if (reservedRecords.compareAndSet(reserved, reserved + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void appendReserved(long productId, int delta) {
+        if (!journal.append(productId, delta)) {
+            log.error("Journal de inventario sin el lugar reservado; el delta {} del producto {} queda solo en memoria",
+                delta, productId);
+        }
+        reservedRecords.decrementAndGet();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush(false);
+        } catch (RuntimeException e) {
+            log.error("Error volcando el motor de inventario a la base de datos", e);
+        }
+    }
+
+    /**
+     * Escribir en products.stock los valores confirmados que cambiaron desde el último volcado
+     * Al superar la mitad del journal (o al arrancar y detenerse) el journal empieza una
+     * nueva época con la diferencia pendiente de volcar; el volcado corre fuera del corte
+     */
+    private synchronized void flush(boolean forceRotate) {
+        boolean rotate = forceRotate || journal.position() > journal.capacity() / 2;
+        int[] values;
+        long epoch;
+        int position;
+        cutLock.writeLock().lock();
+        try {
+            values = snapshot();
+            epoch = journal.epoch();
+            if (rotate) {
+                epoch = epoch + 1;
+                journal.reset(epoch);
+                for (int slot = 0; slot < values.length; slot++) {
+                    long productId = productIds.get(slot);
+                    if (productId != 0L && values[slot] != flushed[slot]) {
+                        journal.append(productId, values[slot] - flushed[slot]);
+                    }
+                }
+                journal.force();
+            }
+            position = journal.position();
+        } finally {
+            cutLock.writeLock().unlock();
+        }
+
+        if (rotate) {
+            persist(values, epoch, position);
+        } else if (position > InventoryJournal.HEADER_SIZE) {
+            journal.force();
+            persist(values, epoch, position);
+        }
+    }
+
+    /**
+     * Valores confirmados: sin los deltas de transacciones abiertas, que el journal
+     * todavía no tiene
+     */
+    private int[] snapshot() {
+        int used = Math.min(nextSlot.get(), capacity);
+        int[] values = new int[used];
+        for (int slot = 0; slot < used; slot++) {
+            values[slot] = stock.get(slot) - uncommitted.get(slot);
+        }
+        return values;
+    }
+
+    private void persist(int[] values, long epoch, int position) {
+        List<Object[]> changed = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        List<Integer> changedSlots = new ArrayList<>();
+        for (int slot = 0; slot < values.length; slot++) {
+            long productId = productIds.get(slot);
+            if (productId != 0L && values[slot] != flushed[slot]) {
+                changed.add(new Object[]{values[slot], productId});
+                changedIds.add(productId);
+                changedSlots.add(slot);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!changed.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE products SET stock = ? WHERE id = ?", changed);
+                // El stock volcado se publica en la sincronización con la misma transacción
+                changeSequenceStamper.stamp(ChangeSequenceStamper.PRODUCTS, changedIds);
+            }
+            checkpointRepository.save(InventoryCheckpointEntity.builder()
+                .id(InventoryCheckpointEntity.SINGLETON_ID)
+                .journalEpoch(epoch)
+                .journalPosition(position)
+                .updatedAt(LocalDateTime.now())
+                .build());
+        });
+
+        for (int slot : changedSlots) {
+            flushed[slot] = values[slot];
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.drogueria.bellavista.infrastructure.inventory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Journal de cambios de stock sobre un archivo mapeado en memoria
+ * Cabecera: época (long). Registros de 13 bytes: marca (byte), productId (long), delta (int).
+ * La marca se escribe al final, así un registro a medio escribir no se reproduce.
+ * Los deltas conmutan, por eso el orden entre hilos no importa al reproducir.
+ */
+class InventoryJournal implements AutoCloseable {
+
+    static final int HEADER_SIZE = Long.BYTES;
+    static final int RECORD_SIZE = 1 + Long.BYTES + Integer.BYTES;
+
+    private static final byte MARKER = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger position = new AtomicInteger(HEADER_SIZE);
+
+    InventoryJournal(Path file, int capacity) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    long epoch() {
+        return buffer.getLong(0);
+    }
+
+    int position() {
+        return position.get();
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Agregar un delta; las escrituras absolutas sobre rangos distintos no comparten estado
+     * @return false si el journal está lleno
+     */
+    boolean append(long productId, int delta) {
+        int offset = position.getAndAdd(RECORD_SIZE);
+        if (offset + RECORD_SIZE > buffer.capacity()) {
+            position.getAndAdd(-RECORD_SIZE);
+            return false;
+        }
+        buffer.putLong(offset + 1, productId);
+        buffer.putInt(offset + 1 + Long.BYTES, delta);
+        buffer.put(offset, MARKER);
+        return true;
+    }
+
+    /**
+     * Recorrer los registros desde una posición hasta el primero sin marca
+     * y dejar el puntero de escritura a continuación
+     */
+    void replay(int from, RecordConsumer consumer) {
+        int offset = Math.max(from, HEADER_SIZE);
+        while (offset + RECORD_SIZE <= buffer.capacity() && buffer.get(offset) == MARKER) {
+            consumer.accept(buffer.getLong(offset + 1), buffer.getInt(offset + 1 + Long.BYTES));
+            offset += RECORD_SIZE;
+        }
+        position.set(offset);
+    }
+
+    /**
+     * Vaciar el journal e iniciar una nueva época
+     * Solo debe llamarse sin escritores concurrentes
+     */
+    void reset(long epoch) {
+        int end = position.get();
+        for (int offset = HEADER_SIZE; offset < end && offset < buffer.capacity(); offset += RECORD_SIZE) {
+            buffer.put(offset, (byte) 0);
+        }
+        buffer.putLong(0, epoch);
+        buffer.force();
+        position.set(HEADER_SIZE);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long productId, int delta);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
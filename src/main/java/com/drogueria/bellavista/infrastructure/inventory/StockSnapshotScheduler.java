@@ -0,0 +1,60 @@
+package com.drogueria.bellavista.infrastructure.inventory;
+
+import com.drogueria.bellavista.domain.service.StockLedgerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toma las fotos pendientes del libro de stock desde un hilo propio
+ * Cada foto corre en su propia transacción; si falla, el producto vuelve a
+ * pedir foto al completar el siguiente intervalo de movimientos.
+ */
+@Slf4j
+@Component
+public class StockSnapshotScheduler {
+
+    private final StockLedgerService stockLedgerService;
+
+    @Value("${app.stock.ledger.snapshot-check-ms:10000}")
+    private long checkIntervalMs;
+
+    private ScheduledExecutorService executor;
+
+    public StockSnapshotScheduler(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::takeDueSnapshots, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void takeDueSnapshots() {
+        for (Map.Entry<Long, LocalDateTime> due : stockLedgerService.takeDueSnapshots().entrySet()) {
+            try {
+                stockLedgerService.takeSnapshot(due.getKey(), due.getValue());
+            } catch (RuntimeException e) {
+                log.error("Error tomando la foto de stock del producto {}", due.getKey(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajuste automático del tamaño máximo del pool Hikari entre dos límites
+ * Cada intervalo compara la espera media para obtener conexión (y los hilos en
+ * espera) con el objetivo: si se supera, crece una conexión; si el pool pasa
+ * varios intervalos ocioso, decrece una. Nunca crece más allá de lo que la
+ * base de datos admite: en PostgreSQL, max_connections menos las reservadas,
+ * las conexiones de otros clientes y un margen. Ese límite se consulta por una
+ * conexión propia fuera del pool (el pool puede estar agotado justo cuando hay
+ * que crecer) y se guarda en caché durante ceiling-cache-ms.
+ * Métrica: bellavista.jdbc.pool.resizes{direction=grow|shrink}
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    static final String RESIZES = "bellavista.jdbc.pool.resizes";
+
+    private static final String CEILING_SQL = "SELECT current_setting('max_connections')::int"
+            + " - current_setting('superuser_reserved_connections')::int"
+            + " - (SELECT count(*) FROM pg_stat_activity WHERE backend_type = 'client backend')::int";
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.datasource.adaptive.min-size:5}")
+    private int minSize;
+
+    @Value("${app.datasource.adaptive.max-size:15}")
+    private int maxSize;
+
+    @Value("${app.datasource.adaptive.target-wait-ms:50}")
+    private double targetWaitMs;
+
+    @Value("${app.datasource.adaptive.interval-ms:10000}")
+    private long intervalMs;
+
+    @Value("${app.datasource.adaptive.shrink-after-idle-intervals:6}")
+    private int shrinkAfterIdleIntervals;
+
+    @Value("${app.datasource.adaptive.database-headroom:3}")
+    private int databaseHeadroom;
+
+    @Value("${app.datasource.adaptive.ceiling-cache-ms:60000}")
+    private long ceilingCacheMs;
+
+    @Value("${app.datasource.adaptive.ceiling-connect-timeout-s:5}")
+    private int ceilingConnectTimeoutSeconds;
+
+    private ScheduledExecutorService scheduler;
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+    private int idleIntervals;
+    private int cachedCeiling;
+    private long ceilingExpiresAt;
+
+    public AdaptivePoolSizer(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (HikariPoolReport.hikari(dataSource) == null) {
+            log.warn("El DataSource no es un pool Hikari; ajuste automático del pool desactivado");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjustQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void adjustQuietly() {
+        try {
+            adjust();
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo ajustar el pool de conexiones: {}", ex.getMessage());
+        }
+    }
+
+    void adjust() {
+        HikariDataSource hikari = HikariPoolReport.hikari(dataSource);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+        HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int target = targetSize(current, pool.getActiveConnections(), pool.getThreadsAwaitingConnection(),
+                meanWaitSinceLastInterval());
+        if (target > current) {
+            target = Math.min(target, Math.max(current, databaseCeiling(hikari, pool.getTotalConnections())));
+        }
+        if (target == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > target) {
+            config.setMinimumIdle(target);
+        }
+        config.setMaximumPoolSize(target);
+        String direction = target > current ? "grow" : "shrink";
+        Counter.builder(RESIZES)
+                .description("Cambios de tamaño del pool de conexiones")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+        log.info("Pool de conexiones: máximo {} -> {} (activas {}, en espera {})",
+                current, target, pool.getActiveConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Tamaño deseado para el siguiente intervalo, dentro de [minSize, maxSize]
+     */
+    int targetSize(int current, int active, int pending, double meanWaitMs) {
+        if (pending > 0 || meanWaitMs > targetWaitMs) {
+            idleIntervals = 0;
+            return Math.min(maxSize, Math.max(minSize, current + 1));
+        }
+        if (active * 2 < current && meanWaitMs <= targetWaitMs / 2) {
+            idleIntervals++;
+            if (idleIntervals >= shrinkAfterIdleIntervals) {
+                idleIntervals = 0;
+                return Math.max(minSize, Math.min(maxSize, current - 1));
+            }
+        } else {
+            idleIntervals = 0;
+        }
+        return Math.max(minSize, Math.min(maxSize, current));
+    }
+
+    private double meanWaitSinceLastInterval() {
+        Timer acquire = meterRegistry.find(HikariPoolReport.ACQUIRE_TIME).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+        double mean = count > lastAcquireCount ? (totalMs - lastAcquireTotalMs) / (count - lastAcquireCount) : 0;
+        lastAcquireCount = count;
+        lastAcquireTotalMs = totalMs;
+        return mean;
+    }
+
+    /**
+     * Conexiones que el pool puede llegar a abrir sin agotar la base de datos:
+     * max_connections menos las reservadas, las de otros clientes y el margen
+     * Se consulta por DriverManager, sin pasar por el pool, con tiempos de espera cortos
+     */
+    private int databaseCeiling(HikariDataSource hikari, int ownConnections) {
+        String jdbcUrl = hikari.getJdbcUrl();
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return Integer.MAX_VALUE;
+        }
+        long now = System.currentTimeMillis();
+        if (now < ceilingExpiresAt) {
+            return cachedCeiling;
+        }
+        Properties properties = new Properties();
+        if (hikari.getUsername() != null) {
+            properties.setProperty("user", hikari.getUsername());
+        }
+        if (hikari.getPassword() != null) {
+            properties.setProperty("password", hikari.getPassword());
+        }
+        properties.setProperty("ApplicationName", hikari.getPoolName() + "-sizer");
+        properties.setProperty("loginTimeout", Integer.toString(ceilingConnectTimeoutSeconds));
+        properties.setProperty("socketTimeout", Integer.toString(ceilingConnectTimeoutSeconds));
+        int available;
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, properties);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(CEILING_SQL)) {
+            available = rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo consultar el límite de conexiones de la base de datos", e);
+        }
+        // available ya descuenta las conexiones del pool y esta conexión de consulta
+        cachedCeiling = ownConnections + Math.max(0, available + 1 - databaseHeadroom);
+        ceilingExpiresAt = now + ceilingCacheMs;
+        return cachedCeiling;
+    }
+}
@@ -0,0 +1,103 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.drogueria.bellavista.infrastructure.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo que cada llamador retiene una conexión del pool
+ * El llamador es el primer método de la aplicación en la pila al pedir la
+ * conexión, sin contar este paquete ni la maquinaria que envuelve la llamada
+ * (aspectos como ConflictRetryAspect, gestores de transacciones): con
+ * transacciones declarativas es el método del servicio que abrió la transacción
+ * (p. ej. "OrderService.getAllOrders"), justo lo que hace falta para nombrar los
+ * casos de uso N+1 que acaparan conexiones.
+ * Métrica: bellavista.jdbc.connection.hold{caller}
+ */
+@Slf4j
+@Component
+public class ConnectionHoldTracker {
+
+    static final String HOLD_TIME = "bellavista.jdbc.connection.hold";
+    static final String UNKNOWN_CALLER = "unknown";
+
+    private static final String APP_PACKAGE = "com.drogueria.bellavista.";
+    private static final String JDBC_PACKAGE = ConnectionHoldTracker.class.getPackageName();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final RateLimitedLogger longHoldLog = new RateLimitedLogger(log, Duration.ofMinutes(1), 10);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.datasource.hold-tracking.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.datasource.hold-tracking.warn-ms:1000}")
+    private long warnMs;
+
+    public ConnectionHoldTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registrar la entrega de una conexión; null si el seguimiento está desactivado
+     */
+    Hold acquired() {
+        return enabled ? new Hold(caller(), System.nanoTime()) : null;
+    }
+
+    void released(Hold hold) {
+        long heldNanos = System.nanoTime() - hold.start();
+        Timer.builder(HOLD_TIME)
+                .description("Tiempo que un llamador retiene una conexión del pool")
+                .tag("caller", hold.caller())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+        if (heldNanos >= TimeUnit.MILLISECONDS.toNanos(warnMs)) {
+            longHoldLog.warn("Conexión retenida más de lo esperado por {}", hold.caller() + " ("
+                    + TimeUnit.NANOSECONDS.toMillis(heldNanos) + " ms)");
+        }
+    }
+
+    private static String caller() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(JDBC_PACKAGE))
+                .filter(frame -> !isInterceptor(frame.getDeclaringClass()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse(UNKNOWN_CALLER));
+    }
+
+    /**
+     * Aspectos, interceptores y gestores de transacciones de la aplicación: envuelven
+     * la llamada y obtienen la conexión en nombre de otro
+     */
+    private static boolean isInterceptor(Class<?> type) {
+        return type.isAnnotationPresent(Aspect.class)
+                || MethodInterceptor.class.isAssignableFrom(type)
+                || PlatformTransactionManager.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Nombre simple de la clase; los proxies transaccionales (Clase$$SpringCGLIB$$0) cuentan como la clase
+     */
+    private static String simpleName(String className) {
+        int proxySuffix = className.indexOf("$$");
+        String name = proxySuffix > 0 ? className.substring(0, proxySuffix) : className;
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    record Hold(String caller, long start) {
+    }
+}
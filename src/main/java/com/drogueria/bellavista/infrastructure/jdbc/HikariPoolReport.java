@@ -0,0 +1,85 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.drogueria.bellavista.application.dto.ConnectionPoolDTO;
+import com.drogueria.bellavista.application.query.ConnectionPoolReport;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Informe del pool Hikari: contadores del pool, espera para obtener conexión
+ * (hikaricp.connections.acquire) y retención por llamador (ConnectionHoldTracker)
+ */
+@Component
+public class HikariPoolReport implements ConnectionPoolReport {
+
+    static final String ACQUIRE_TIME = "hikaricp.connections.acquire";
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    public HikariPoolReport(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ConnectionPoolDTO.Response status(int holders) {
+        HikariDataSource hikari = hikari(dataSource);
+        ConnectionPoolDTO.Response.ResponseBuilder response = ConnectionPoolDTO.Response.builder()
+                .holders(holders(holders));
+        if (hikari != null) {
+            HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+            response.maximumPoolSize(config.getMaximumPoolSize())
+                    .minimumIdle(config.getMinimumIdle())
+                    .connectionTimeoutMs(config.getConnectionTimeout());
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                response.active(pool.getActiveConnections())
+                        .idle(pool.getIdleConnections())
+                        .pending(pool.getThreadsAwaitingConnection())
+                        .total(pool.getTotalConnections());
+            }
+        }
+        Timer acquire = meterRegistry.find(ACQUIRE_TIME).timer();
+        if (acquire != null) {
+            response.meanAcquireMs(acquire.mean(TimeUnit.MILLISECONDS))
+                    .maxAcquireMs(acquire.max(TimeUnit.MILLISECONDS));
+        }
+        return response.build();
+    }
+
+    private List<ConnectionPoolDTO.Holder> holders(int limit) {
+        return meterRegistry.find(ConnectionHoldTracker.HOLD_TIME).timers().stream()
+                .map(timer -> ConnectionPoolDTO.Holder.builder()
+                        .caller(timer.getId().getTag("caller"))
+                        .count(timer.count())
+                        .totalMs(timer.totalTime(TimeUnit.MILLISECONDS))
+                        .meanMs(timer.mean(TimeUnit.MILLISECONDS))
+                        .maxMs(timer.max(TimeUnit.MILLISECONDS))
+                        .build())
+                .sorted(Comparator.comparing(ConnectionPoolDTO.Holder::getTotalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Pool Hikari detrás del DataSource (envuelto por InstrumentedDataSource); null si no es Hikari
+     */
+    public static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.drogueria.bellavista.infrastructure.deadline.RequestDeadline;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource instrumentado: cuenta y cronometra cada ejecución de sentencia
+ * (un lote cuenta como una). Envuelve conexiones y sentencias con proxies
+ * dinámicos; el resto de llamadas pasa directo al pool, que sigue siendo
+ * accesible con unwrap(). De los parámetros enlazados solo guarda el tipo.
+ * Dentro de una traza, cada ejecución abre además un span "jdbc" hijo del actual.
+ * También mide cuánto retiene cada llamador la conexión (ConnectionHoldTracker).
+ * Con un plazo de petición activo (RequestDeadline), cada ejecución lleva como
+ * timeout JDBC el tiempo restante y con el plazo vencido ya no se ejecuta:
+ * la base de datos cancela la consulta y la conexión vuelve al pool.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlStatementCounter counter;
+    private final ObjectProvider<SqlQueryRecorder> recorder;
+    private final ObjectProvider<Tracer> tracer;
+    private final ObjectProvider<ConnectionHoldTracker> holdTracker;
+
+    public InstrumentedDataSource(DataSource target, SqlStatementCounter counter,
+                                  ObjectProvider<SqlQueryRecorder> recorder, ObjectProvider<Tracer> tracer,
+                                  ObjectProvider<ConnectionHoldTracker> holdTracker) {
+        super(target);
+        this.counter = counter;
+        this.recorder = recorder;
+        this.tracer = tracer;
+        this.holdTracker = holdTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrumentedConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrumentedConnection(super.getConnection(username, password));
+    }
+
+    private Connection instrumentedConnection(Connection connection) {
+        ConnectionHoldTracker tracker = holdTracker.getIfAvailable();
+        ConnectionHoldTracker.Hold hold = tracker != null ? tracker.acquired() : null;
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (hold != null && method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        tracker.released(hold);
+                    }
+                    Object result = invoke(method, connection, args);
+                    if (!STATEMENT_FACTORIES.contains(method.getName())) {
+                        return result;
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    return instrumentedStatement((Statement) result, method.getReturnType(), sql);
+                });
+    }
+
+    private Object instrumentedStatement(Statement statement, Class<?> statementType, String preparedSql) {
+        TreeMap<Integer, String> parameterTypes = new TreeMap<>();
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameterTypes.put(index, args[1] == null || name.equals("setNull")
+                                ? "null" : args[1].getClass().getSimpleName());
+                    } else if (name.equals("clearParameters")) {
+                        parameterTypes.clear();
+                    }
+                    if (!EXECUTIONS.contains(name)) {
+                        return invoke(method, statement, args);
+                    }
+
+                    applyDeadline(statement);
+                    counter.onStatement();
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : "(batch)";
+                    Span span = statementSpan(name, sql);
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(method, statement, args);
+                    } catch (Throwable ex) {
+                        if (span != null) {
+                            span.error(ex);
+                        }
+                        throw ex;
+                    } finally {
+                        recorder.getObject().recordStatement(sql, shape(parameterTypes), System.nanoTime() - start);
+                        if (span != null) {
+                            span.end();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Timeout de la sentencia = tiempo restante de la petición (si es menor que el ya fijado)
+     */
+    private static void applyDeadline(Statement statement) throws SQLException {
+        if (!RequestDeadline.isSet()) {
+            return;
+        }
+        int remaining = RequestDeadline.remainingSeconds();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Plazo de la petición agotado");
+        }
+        int current = statement.getQueryTimeout();
+        if (current == 0 || remaining < current) {
+            statement.setQueryTimeout(remaining);
+        }
+    }
+
+    private Span statementSpan(String execution, String sql) {
+        Tracer current = tracer.getIfAvailable();
+        if (current == null || current.currentSpan() == null) {
+            return null;
+        }
+        return current.nextSpan()
+                .name("jdbc " + execution)
+                .tag("bellavista.layer", "db")
+                .tag("db.statement", sql)
+                .start();
+    }
+
+    private static String shape(TreeMap<Integer, String> parameterTypes) {
+        StringJoiner shape = new StringJoiner(", ", "[", "]");
+        parameterTypes.values().forEach(shape::add);
+        return shape.toString();
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación para contar y cronometrar sentencias SQL
+ * Contador, registrador, tracer y seguimiento de retención se resuelven de forma
+ * diferida: dependen de MeterRegistry, que a su vez puede necesitar el DataSource ya creado.
+ */
+@Component
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementCounter> counter;
+    private final ObjectProvider<SqlQueryRecorder> recorder;
+    private final ObjectProvider<Tracer> tracer;
+    private final ObjectProvider<ConnectionHoldTracker> holdTracker;
+
+    public InstrumentedDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter,
+                                               ObjectProvider<SqlQueryRecorder> recorder,
+                                               ObjectProvider<Tracer> tracer,
+                                               ObjectProvider<ConnectionHoldTracker> holdTracker) {
+        this.counter = counter;
+        this.recorder = recorder;
+        this.tracer = tracer;
+        this.holdTracker = holdTracker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource, counter.getObject(), recorder, tracer, holdTracker);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,55 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Aspecto - Latencia y filas por método de adaptador de repositorio
+ * Nombra la consulta lógica ("Adaptador.método") mientras el método se ejecuta,
+ * para que las sentencias JDBC que dispara se atribuyan a ella.
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    private final SqlQueryRecorder recorder;
+
+    public RepositoryTimingAspect(SqlQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.infrastructure.adapter.*RepositoryAdapter.*(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String query = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        String previous = recorder.enter(query);
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            recorder.exit(previous);
+            recorder.recordRepositoryCall(query, System.nanoTime() - start, rows(result));
+        }
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+}
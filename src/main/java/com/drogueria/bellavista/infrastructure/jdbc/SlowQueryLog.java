@@ -0,0 +1,81 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.drogueria.bellavista.application.dto.SlowQueryDTO;
+import com.drogueria.bellavista.application.query.SlowQueryReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Registro en memoria de sentencias lentas sobre una ventana deslizante
+ * Acotado en tamaño: al llenarse descarta las entradas más antiguas.
+ */
+@Component
+public class SlowQueryLog implements SlowQueryReport {
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Clock clock;
+
+    @Value("${app.query-log.window-minutes:15}")
+    private long windowMinutes;
+
+    @Value("${app.query-log.capacity:1000}")
+    private int capacity;
+
+    public SlowQueryLog() {
+        this(Clock.systemDefaultZone());
+    }
+
+    SlowQueryLog(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void record(String query, String sql, String parameters, long elapsedMs) {
+        Entry entry = new Entry(query, sql, parameters, elapsedMs, clock.instant());
+        synchronized (entries) {
+            entries.addLast(entry);
+            while (entries.size() > capacity) {
+                entries.removeFirst();
+            }
+        }
+    }
+
+    @Override
+    public List<SlowQueryDTO> slowest(int limit) {
+        Instant since = clock.instant().minus(Duration.ofMinutes(windowMinutes));
+        List<Entry> window;
+        synchronized (entries) {
+            while (!entries.isEmpty() && entries.peekFirst().at().isBefore(since)) {
+                entries.removeFirst();
+            }
+            window = List.copyOf(entries);
+        }
+        return window.stream()
+                .sorted(Comparator.comparingLong(Entry::elapsedMs).reversed())
+                .limit(limit)
+                .map(this::toDto)
+                .toList();
+    }
+
+    private SlowQueryDTO toDto(Entry entry) {
+        return SlowQueryDTO.builder()
+                .query(entry.query())
+                .sql(entry.sql())
+                .parameters(entry.parameters())
+                .elapsedMs(entry.elapsedMs())
+                .executedAt(LocalDateTime.ofInstant(entry.at(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private record Entry(String query, String sql, String parameters, long elapsedMs, Instant at) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de latencia SQL por consulta lógica
+ * La consulta lógica es el método del adaptador de repositorio en curso
+ * (p. ej. "OrderRepositoryAdapter.findByDateRange"); las sentencias JDBC que se
+ * ejecutan dentro de él quedan atribuidas a ese nombre.
+ * Métricas:
+ * - bellavista.repository.latency{query}: duración de la llamada al adaptador
+ * - bellavista.repository.rows{query}: filas/elementos devueltos por el adaptador
+ * - bellavista.jdbc.latency{query}: duración de cada sentencia
+ */
+@Slf4j
+@Component
+public class SqlQueryRecorder {
+
+    static final String REPOSITORY_LATENCY = "bellavista.repository.latency";
+    static final String REPOSITORY_ROWS = "bellavista.repository.rows";
+    static final String STATEMENT_LATENCY = "bellavista.jdbc.latency";
+    static final String UNATTRIBUTED = "unattributed";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+    private final ThreadLocal<String> currentQuery = new ThreadLocal<>();
+
+    @Value("${app.query-log.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    public SqlQueryRecorder(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Marcar la consulta lógica en curso; devuelve la anterior para restaurarla con {@link #exit(String)}
+     */
+    public String enter(String query) {
+        String previous = currentQuery.get();
+        currentQuery.set(query);
+        return previous;
+    }
+
+    public void exit(String previous) {
+        if (previous == null) {
+            currentQuery.remove();
+        } else {
+            currentQuery.set(previous);
+        }
+    }
+
+    public void recordRepositoryCall(String query, long elapsedNanos, int rows) {
+        Timer.builder(REPOSITORY_LATENCY)
+                .description("Latencia de las llamadas a adaptadores de repositorio")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(REPOSITORY_ROWS)
+                .description("Filas devueltas por los adaptadores de repositorio")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    void recordStatement(String sql, String parameterShape, long elapsedNanos) {
+        String query = currentQuery.get() != null ? currentQuery.get() : UNATTRIBUTED;
+        Timer.builder(STATEMENT_LATENCY)
+                .description("Latencia de cada sentencia SQL")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowThresholdMs) {
+            log.warn("Consulta lenta {} ({} ms): {} parámetros={}", query, elapsedMs, sql, parameterShape);
+            slowQueryLog.record(query, sql, parameterShape, elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de sentencias SQL enviadas a la base de datos
+ * Lleva un total global (lo usan las pruebas para medir sentencias por test) y,
+ * opcionalmente, un alcance por hilo para medir una petición HTTP contra su presupuesto.
+ */
+@Component
+public class SqlStatementCounter {
+
+    private static final String APP_PACKAGE = "com.drogueria.bellavista.";
+    private static final String JDBC_PACKAGE = SqlStatementCounter.class.getPackageName();
+
+    private final AtomicLong total = new AtomicLong();
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * Abrir un alcance en el hilo actual; cerrarlo con {@link #endScope()}
+     */
+    public Scope beginScope(int budget) {
+        Scope scope = new Scope(budget);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    public void endScope() {
+        currentScope.remove();
+    }
+
+    void onStatement() {
+        total.incrementAndGet();
+        Scope scope = currentScope.get();
+        if (scope != null) {
+            scope.record();
+        }
+    }
+
+    /**
+     * Sentencias de un alcance; guarda la pila de la primera sentencia que superó el presupuesto
+     */
+    public static final class Scope {
+
+        private final int budget;
+        private int count;
+        private Throwable overBudgetCall;
+
+        private Scope(int budget) {
+            this.budget = budget;
+        }
+
+        private void record() {
+            count++;
+            if (count == budget + 1) {
+                overBudgetCall = applicationFrames(new Throwable("Sentencia SQL #" + count + " (presupuesto " + budget + ")"));
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean exceeded() {
+            return count > budget;
+        }
+
+        public Throwable overBudgetCall() {
+            return overBudgetCall;
+        }
+
+        private static Throwable applicationFrames(Throwable call) {
+            call.setStackTrace(Arrays.stream(call.getStackTrace())
+                    .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                    .filter(frame -> !frame.getClassName().startsWith(JDBC_PACKAGE))
+                    .filter(frame -> !frame.getClassName().contains("$$"))
+                    .toArray(StackTraceElement[]::new));
+            return call;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.drogueria.bellavista.infrastructure.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Logger con límite de frecuencia para advertencias repetitivas
+ * Emite como máximo {@code maxPerWindow} mensajes por plantilla y ventana; el
+ * resto se cuenta y se informa en el primer mensaje de la ventana siguiente.
+ * La clave es la propia plantilla (una constante), así que el camino
+ * suprimido no formatea ni reserva memoria; con un Supplier tampoco se
+ * construye el argumento.
+ */
+public final class RateLimitedLogger {
+
+    private static final long DENIED = -1;
+
+    private final Logger delegate;
+    private final long windowNanos;
+    private final int maxPerWindow;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger delegate, Duration window, int maxPerWindow) {
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxPerWindow = maxPerWindow;
+    }
+
+    public void warn(String template, Object argument) {
+        long suppressed = acquire(template);
+        if (suppressed != DENIED) {
+            emit(template, argument, suppressed);
+        }
+    }
+    
+    /**
+     * Igual que {@link #warn(String, Object)}, pero el argumento solo se obtiene si el mensaje se emite
+     */
+    public void warn(String template, Supplier<?> argument) {
+        long suppressed = acquire(template);
+        if (suppressed != DENIED) {
+            emit(template, argument.get(), suppressed);
+        }
+    }
+
+    private long acquire(String template) {
+        if (!delegate.isWarnEnabled()) {
+            return DENIED;
+        }
+        return windows.computeIfAbsent(template, key -> new Window()).acquire(System.nanoTime());
+    }
+
+    private void emit(String template, Object argument, long suppressed) {
+        if (suppressed > 0) {
+            delegate.warn(template + " ({} similar messages suppressed)", argument, suppressed);
+        } else {
+            delegate.warn(template, argument);
+        }
+    }
+
+    private final class Window {
+
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+        private final AtomicInteger emitted = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * Devuelve DENIED si el mensaje se suprime; si no, cuántos se suprimieron desde el último emitido
+         */
+        long acquire(long now) {
+            long windowStart = start.get();
+            if (now - windowStart >= windowNanos && start.compareAndSet(windowStart, now)) {
+                emitted.set(0);
+            }
+            if (emitted.incrementAndGet() > maxPerWindow) {
+                suppressed.incrementAndGet();
+                return DENIED;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.drogueria.bellavista.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtro de Logback - Muestreo de logs por logger
+ * Las reglas "logger=fracción" (separadas por comas) indican qué fracción de
+ * los eventos INFO/DEBUG/TRACE de ese logger y sus hijos se conserva; gana la
+ * regla más específica. WARN y ERROR nunca se muestrean.
+ * Se evalúa antes de crear el evento, de modo que un evento descartado no
+ * cuesta formateo ni memoria. Las consultas isDebugEnabled()/isInfoEnabled()
+ * (sin formato) no se muestrean: solo la llamada de log, así un log protegido
+ * conserva su fracción en vez de la fracción al cuadrado.
+ * Se configura en logback-spring.xml desde app.logging.sampling.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Double> rules = new TreeMap<>();
+    private final Map<String, Double> rateByLogger = new ConcurrentHashMap<>();
+
+    /**
+     * Ejemplo: "org.hibernate.SQL=0.05,com.drogueria.bellavista.infrastructure.security=0.5"
+     */
+    public void setRules(String spec) {
+        rules.clear();
+        rateByLogger.clear();
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String rule : spec.split(",")) {
+            String[] parts = rule.trim().split("=");
+            if (parts.length == 2) {
+                rules.put(parts[0].trim(), Math.max(0.0, Math.min(1.0, Double.parseDouble(parts[1].trim()))));
+            } else if (!rule.isBlank()) {
+                addWarn("Regla de muestreo ignorada: " + rule);
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rules.isEmpty() || format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = rateByLogger.computeIfAbsent(logger.getName(), this::rateFor);
+        if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private double rateFor(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Double rate = rules.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return 1.0;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+}
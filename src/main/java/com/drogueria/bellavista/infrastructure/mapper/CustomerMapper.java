@@ -35,6 +35,8 @@ public class CustomerMapper {
             .active(entity.getActive())
             .createdAt(entity.getCreatedAt())
             .updatedAt(entity.getUpdatedAt())
+            .version(entity.getVersion())
+            .changeSeq(entity.getChangeSeq())
             .build();
     }
     
@@ -63,6 +65,8 @@ public class CustomerMapper {
             .active(domain.getActive())
             .createdAt(domain.getCreatedAt())
             .updatedAt(domain.getUpdatedAt())
+            .version(domain.getVersion())
+            .changeSeq(domain.getChangeSeq())
             .build();
     }
 }
@@ -41,6 +41,7 @@ public class GoodsReceiptMapper {
                 .actualDeliveryDate(entity.getActualDeliveryDate())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
     
@@ -65,6 +66,7 @@ public class GoodsReceiptMapper {
                 .actualDeliveryDate(domain.getActualDeliveryDate())
                 .createdAt(domain.getCreatedAt())
                 .updatedAt(domain.getUpdatedAt())
+                .version(domain.getVersion())
                 .build();
     }
     
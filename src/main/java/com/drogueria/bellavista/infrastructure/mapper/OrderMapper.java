@@ -42,6 +42,7 @@ public class OrderMapper {
             .actualDeliveryDate(entity.getActualDeliveryDate())
             .createdAt(entity.getCreatedAt())
             .updatedAt(entity.getUpdatedAt())
+            .version(entity.getVersion())
             .createdBy(entity.getCreatedBy())
             .build();
     }
@@ -68,6 +69,7 @@ public class OrderMapper {
             .actualDeliveryDate(domain.getActualDeliveryDate())
             .createdAt(domain.getCreatedAt())
             .updatedAt(domain.getUpdatedAt())
+            .version(domain.getVersion())
             .createdBy(domain.getCreatedBy())
             .build();
     }
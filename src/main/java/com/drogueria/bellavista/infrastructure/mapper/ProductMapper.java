@@ -31,6 +31,9 @@ public class ProductMapper {
                 .active(entity.getActive())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
+                .changeSeq(entity.getChangeSeq())
+                .stockSlots(entity.getStockSlots())
                 .build();
     }
     
@@ -54,6 +57,9 @@ public class ProductMapper {
                 .active(product.getActive())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .changeSeq(product.getChangeSeq())
+                .stockSlots(product.getStockSlots())
                 .build();
     }
 }
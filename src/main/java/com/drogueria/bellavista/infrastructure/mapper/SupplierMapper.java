@@ -31,6 +31,7 @@ public class SupplierMapper {
             .active(entity.getActive())
             .createdAt(entity.getCreatedAt())
             .updatedAt(entity.getUpdatedAt())
+            .changeSeq(entity.getChangeSeq())
             .build();
     }
     
@@ -55,6 +56,7 @@ public class SupplierMapper {
             .active(domain.getActive())
             .createdAt(domain.getCreatedAt())
             .updatedAt(domain.getUpdatedAt())
+            .changeSeq(domain.getChangeSeq())
             .build();
     }
 }
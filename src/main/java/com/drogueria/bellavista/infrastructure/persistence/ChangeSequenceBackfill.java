@@ -0,0 +1,39 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Asigna secuencia de cambio a los registros creados antes de existir la columna
+ * change_seq, para que una sincronización completa (since=0) los incluya, y publica
+ * los que quedaron pendientes si la instancia se detuvo antes de publicarlos
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeSequenceBackfill implements ApplicationRunner {
+
+    private final JpaProductRepository productRepository;
+    private final JpaCustomerRepository customerRepository;
+    private final JpaSupplierRepository supplierRepository;
+    private final JpaSyncTombstoneRepository tombstoneRepository;
+    private final ChangeSequenceStamper changeSequenceStamper;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        changeSequenceStamper.lock();
+        int products = productRepository.assignMissingChangeSeq();
+        int customers = customerRepository.assignMissingChangeSeq();
+        int suppliers = supplierRepository.assignMissingChangeSeq();
+        int tombstones = tombstoneRepository.assignMissingChangeSeq();
+        if (products + customers + suppliers + tombstones > 0) {
+            log.info("Secuencia de cambio asignada a {} productos, {} clientes, {} proveedores y {} eliminaciones",
+                    products, customers, suppliers, tombstones);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asigna la secuencia global de cambios (change_seq) en el orden de confirmación
+ * Un nextval tomado al escribir deja que una fila con secuencia mayor confirme antes
+ * que otra con secuencia menor; el cliente que avanza hasta la mayor nunca ve la menor.
+ * La transacción de negocio solo marca sus filas como pendientes (change_seq negativo,
+ * tomado de la misma secuencia) y no toma ningún bloqueo global. Al confirmar, el hilo
+ * de sellado publica todas las pendientes en una transacción corta bajo un bloqueo asesor:
+ * las secuencias publicadas siguen el orden de confirmación de esas transacciones y varias
+ * escrituras concurrentes comparten una sola publicación. Quien escribió espera la
+ * publicación (con tope), así lee su propio cambio en la sincronización.
+ * Los cambios de stock que no escriben la fila del producto (particiones) se marcan en
+ * diferido desde el mismo hilo, así los pedidos no compiten por esa fila.
+ */
+@Slf4j
+@Component
+public class ChangeSequenceStamper {
+
+    public static final String PRODUCTS = "products";
+    public static final String CUSTOMERS = "customers";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String TOMBSTONES = "sync_tombstones";
+
+    private static final String LOCK_SQL =
+            "SELECT COUNT(*) FROM pg_advisory_xact_lock(hashtext('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "'))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> deferredProducts = ConcurrentHashMap.newKeySet();
+    private final Set<String> unpublished = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<CompletableFuture<Void>> nextPublish = new AtomicReference<>();
+
+    @Value("${app.sync.deferred-stamp-interval-ms:1000}")
+    private long deferredStampIntervalMs;
+
+    @Value("${app.sync.publish-wait-ms:500}")
+    private long publishWaitMs;
+
+    private ScheduledExecutorService executor;
+    private volatile Thread stamperThread;
+
+    public ChangeSequenceStamper(TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-seq-stamper");
+            thread.setDaemon(true);
+            stamperThread = thread;
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::stampDeferredSafely,
+                deferredStampIntervalMs, deferredStampIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        stampDeferredSafely();
+    }
+
+    /**
+     * Marcar como pendientes las filas escritas por la transacción actual
+     * Se publican en la sincronización después de confirmarla
+     */
+    public void stamp(String table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> stamp(table, ids));
+            return;
+        }
+        pending().rows.computeIfAbsent(table, key -> new TreeSet<>()).addAll(ids);
+    }
+
+    public void stamp(String table, Long id) {
+        stamp(table, List.of(id));
+    }
+
+    /**
+     * Registrar la eliminación de una entidad; el tombstone se inserta pendiente al confirmar
+     */
+    public void tombstone(String entityType, Long entityId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> tombstone(entityType, entityId));
+            return;
+        }
+        pending().tombstones.add(new PendingTombstone(entityType, entityId));
+    }
+
+    /**
+     * Sellar en diferido un producto cuya fila no escribió la transacción
+     * Se aplica en el próximo ciclo del hilo de sellado, en su propia transacción
+     */
+    public void stampLater(Long productId) {
+        deferredProducts.add(productId);
+    }
+
+    /**
+     * Tomar el bloqueo de publicación hasta el fin de la transacción actual
+     * Solo lo toman la publicación y el relleno de arranque, nunca una transacción de negocio
+     */
+    public void lock() {
+        entityManager.createNativeQuery(LOCK_SQL).getSingleResult();
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    markPending(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    awaitPublished(created.tables());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequenceStamper.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    /**
+     * El valor pendiente es el opuesto de un nextval: queda fuera de since &gt;= 0 y su
+     * magnitud supera a toda secuencia ya publicada, así la versión de la colección
+     * cambia en cuanto la escritura confirma
+     */
+    private void markPending(Pending pending) {
+        entityManager.flush();
+        pending.rows.forEach((table, ids) -> entityManager.createNativeQuery("UPDATE " + table
+                        + " SET change_seq = -nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "') WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate());
+        LocalDateTime deletedAt = LocalDateTime.now();
+        pending.tombstones.forEach(tombstone -> entityManager.createNativeQuery("INSERT INTO " + TOMBSTONES
+                        + " (change_seq, entity_type, entity_id, deleted_at) VALUES (-nextval('"
+                        + SyncTombstoneEntity.CHANGE_SEQUENCE + "'), :entityType, :entityId, :deletedAt)")
+                .setParameter("entityType", tombstone.entityType())
+                .setParameter("entityId", tombstone.entityId())
+                .setParameter("deletedAt", deletedAt)
+                .executeUpdate());
+    }
+
+    /**
+     * Pedir la publicación y esperarla hasta publish-wait-ms; si no llega a tiempo
+     * las filas quedan pendientes y las publica el próximo ciclo del hilo de sellado
+     */
+    private void awaitPublished(Set<String> tables) {
+        unpublished.addAll(tables);
+        CompletableFuture<Void> published = requestPublish();
+        if (Thread.currentThread() == stamperThread) {
+            return;
+        }
+        try {
+            published.get(publishWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Publicación de secuencias de cambio en curso tras {} ms", publishWaitMs);
+        } catch (ExecutionException e) {
+            log.warn("No se publicaron las secuencias de cambio; se reintenta en el próximo ciclo", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Las peticiones que llegan mientras una publicación espera su turno se suman a ella
+     */
+    private CompletableFuture<Void> requestPublish() {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> queued = nextPublish.compareAndExchange(null, created);
+        if (queued != null) {
+            return queued;
+        }
+        try {
+            executor.execute(this::publishRequested);
+        } catch (RejectedExecutionException e) {
+            // Apagando: las filas pendientes las publica el relleno del próximo arranque
+            nextPublish.compareAndSet(created, null);
+            created.complete(null);
+        }
+        return created;
+    }
+
+    private void publishRequested() {
+        CompletableFuture<Void> request = nextPublish.getAndSet(null);
+        try {
+            publish();
+            request.complete(null);
+        } catch (RuntimeException e) {
+            log.error("Error publicando secuencias de cambio", e);
+            request.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Asigna la secuencia definitiva a las filas pendientes ya confirmadas
+     * Las bloqueadas por una escritura en curso se saltan: esa transacción pedirá
+     * su propia publicación al confirmar
+     */
+    private void publish() {
+        List<String> tables = new ArrayList<>(unpublished);
+        if (tables.isEmpty()) {
+            return;
+        }
+        unpublished.removeAll(tables);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                tables.forEach(table -> entityManager.createNativeQuery("UPDATE " + table
+                                + " SET change_seq = nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "')"
+                                + " WHERE change_seq IN (SELECT change_seq FROM " + table
+                                + " WHERE change_seq < 0 FOR UPDATE SKIP LOCKED)")
+                        .executeUpdate());
+            });
+        } catch (RuntimeException e) {
+            unpublished.addAll(tables);
+            throw e;
+        }
+    }
+
+    private void stampDeferredSafely() {
+        try {
+            stampDeferred();
+        } catch (RuntimeException e) {
+            log.error("Error asignando secuencia de cambio diferida", e);
+        }
+    }
+
+    /**
+     * Marca los productos en su propia transacción (esperando a quien retenga la fila,
+     * sin bloqueo global) y publica también lo que quedó pendiente de ciclos anteriores
+     */
+    private void stampDeferred() {
+        if (!deferredProducts.isEmpty()) {
+            List<Long> ids = new ArrayList<>(new TreeSet<>(deferredProducts));
+            deferredProducts.removeAll(ids);
+            try {
+                transactionTemplate.executeWithoutResult(status -> stamp(PRODUCTS, ids));
+            } catch (RuntimeException e) {
+                deferredProducts.addAll(ids);
+                throw e;
+            }
+        }
+        publish();
+    }
+
+    private static final class Pending {
+        private final Map<String, Set<Long>> rows = new LinkedHashMap<>();
+        private final List<PendingTombstone> tombstones = new ArrayList<>();
+
+        private Set<String> tables() {
+            Set<String> tables = new HashSet<>(rows.keySet());
+            if (!tombstones.isEmpty()) {
+                tables.add(TOMBSTONES);
+            }
+            return tables;
+        }
+    }
+
+    private record PendingTombstone(String entityType, Long entityId) {
+    }
+}
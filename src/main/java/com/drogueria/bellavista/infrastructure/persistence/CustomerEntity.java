@@ -18,8 +18,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_code", columnList = "code", unique = true),
     @Index(name = "idx_email", columnList = "email", unique = true),
     @Index(name = "idx_document", columnList = "document_number", unique = true),
-    @Index(name = "idx_active", columnList = "active"),
-    @Index(name = "idx_customer_type", columnList = "customer_type")
+    @Index(name = "idx_customer_type_name", columnList = "customer_type, name"),
+    @Index(name = "idx_customer_change_seq", columnList = "change_seq")
 })
 @Data
 @Builder
@@ -76,4 +76,11 @@ public class CustomerEntity {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
 }
@@ -12,7 +12,9 @@ import java.math.BigDecimal;
  * JPA Entity - Línea de Recepción de Mercancía
  */
 @Entity
-@Table(name = "goods_receipt_items")
+@Table(name = "goods_receipt_items", indexes = {
+    @Index(name = "idx_receipt_items_receipt", columnList = "goods_receipt_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,36 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA - Punto de control del motor de inventario
+ * Indica hasta qué posición del journal el stock ya está persistido en products.stock
+ */
+@Entity
+@Table(name = "inventory_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryCheckpointEntity {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "journal_epoch", nullable = false)
+    private Long journalEpoch;
+
+    @Column(name = "journal_position", nullable = false)
+    private Integer journalPosition;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import com.drogueria.bellavista.application.dto.CustomerDTO;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Proyecciones de lectura de clientes
+ * Construye CustomerDTO.Response directamente desde la consulta
+ */
+public interface JpaCustomerReadRepository extends Repository<CustomerEntity, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.drogueria.bellavista.application.dto.CustomerDTO$Response("
+            + "c.id, c.code, c.name, c.email, c.phone, c.address, c.city, c.postalCode, c.documentNumber, "
+            + "c.documentType, c.customerType, c.creditLimit, c.pendingBalance, c.active, c.createdAt, c.updatedAt) "
+            + "FROM CustomerEntity c ";
+
+    @Query(SELECT_RESPONSE + "WHERE c.id = :id")
+    Optional<CustomerDTO.Response> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "ORDER BY c.id")
+    List<CustomerDTO.Response> findAllResponses();
+
+    @Query(SELECT_RESPONSE + "WHERE c.active = true ORDER BY c.id")
+    List<CustomerDTO.Response> findActiveResponses();
+}
@@ -1,6 +1,8 @@
 package com.drogueria.bellavista.infrastructure.persistence;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,4 +37,10 @@ public interface JpaCustomerRepository extends JpaRepository<CustomerEntity, Lon
     boolean existsByEmail(String email);
     
     boolean existsByDocumentNumber(String documentNumber);
+    
+    List<CustomerEntity> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Pageable pageable);
+    
+    @Modifying
+    @Query(value = "UPDATE customers SET change_seq = nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "') WHERE change_seq IS NULL OR change_seq < 0", nativeQuery = true)
+    int assignMissingChangeSeq();
 }
@@ -3,6 +3,7 @@ package com.drogueria.bellavista.infrastructure.persistence;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,5 +14,7 @@ public interface JpaGoodsReceiptItemRepository extends JpaRepository<GoodsReceip
     
     List<GoodsReceiptItemEntity> findByGoodsReceiptId(Long goodsReceiptId);
     
+    List<GoodsReceiptItemEntity> findByGoodsReceiptIdIn(Collection<Long> goodsReceiptIds);
+    
     void deleteByGoodsReceiptId(Long goodsReceiptId);
 }
@@ -27,4 +27,6 @@ public interface JpaGoodsReceiptRepository extends JpaRepository<GoodsReceiptEnt
     List<GoodsReceiptEntity> findPendingReceipts();
     
     boolean existsByReceiptNumber(String receiptNumber);
+    
+    boolean existsByOrderIdAndStatus(Long orderId, String status);
 }
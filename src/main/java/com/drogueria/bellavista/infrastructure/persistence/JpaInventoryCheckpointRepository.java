@@ -0,0 +1,11 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio Spring Data JPA - Punto de control del motor de inventario
+ */
+@Repository
+public interface JpaInventoryCheckpointRepository extends JpaRepository<InventoryCheckpointEntity, Long> {
+}
@@ -0,0 +1,50 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Documentos de lectura de órdenes
+ * Las consultas devuelven solo la columna del documento, ya serializada
+ */
+@Repository
+public interface JpaOrderDocumentRepository extends JpaRepository<OrderDocumentEntity, Long> {
+
+    /**
+     * Insertar o reemplazar el documento en una sola sentencia
+     * save() con el id ya asignado haría merge: un SELECT previo para saber si existe
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_documents (order_id, order_number, customer_id, order_date, document, updated_at) " +
+           "VALUES (:orderId, :orderNumber, :customerId, :orderDate, CAST(:document AS jsonb), :updatedAt) " +
+           "ON CONFLICT (order_id) DO UPDATE SET order_number = EXCLUDED.order_number, " +
+           "customer_id = EXCLUDED.customer_id, order_date = EXCLUDED.order_date, " +
+           "document = EXCLUDED.document, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsert(@Param("orderId") Long orderId,
+               @Param("orderNumber") String orderNumber,
+               @Param("customerId") Long customerId,
+               @Param("orderDate") LocalDateTime orderDate,
+               @Param("document") String document,
+               @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT d.document FROM OrderDocumentEntity d WHERE d.orderId = :orderId")
+    Optional<String> findDocumentByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT d.document FROM OrderDocumentEntity d WHERE d.orderNumber = :orderNumber")
+    Optional<String> findDocumentByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query("SELECT d.document FROM OrderDocumentEntity d WHERE d.customerId = :customerId ORDER BY d.orderDate DESC")
+    List<String> findDocumentsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT o.id FROM OrderEntity o WHERE NOT EXISTS " +
+           "(SELECT 1 FROM OrderDocumentEntity d WHERE d.orderId = o.id) ORDER BY o.id")
+    List<Long> findOrderIdsWithoutDocument(Pageable pageable);
+}
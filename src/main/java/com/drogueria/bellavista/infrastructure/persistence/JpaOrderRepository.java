@@ -20,6 +20,8 @@ public interface JpaOrderRepository extends JpaRepository<OrderEntity, Long> {
     @Query("SELECT o FROM OrderEntity o WHERE o.customerId = :customerId ORDER BY o.orderDate DESC")
     List<OrderEntity> findByCustomerId(@Param("customerId") Long customerId);
     
+    long countByCustomerId(Long customerId);
+    
     @Query("SELECT o FROM OrderEntity o WHERE o.status = :status ORDER BY o.orderDate DESC")
     List<OrderEntity> findByStatus(@Param("status") String status);
     
@@ -0,0 +1,49 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import com.drogueria.bellavista.application.dto.ProductDTO;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Proyecciones de lectura de productos
+ * Cada consulta construye ProductDTO.Response directamente, sin pasar por la
+ * entidad ni por el modelo de dominio. El stock de los productos particionados
+ * se suma en SQL y needsRestock / available se calculan en la misma consulta.
+ */
+public interface JpaProductReadRepository extends Repository<ProductEntity, Long> {
+
+    String CURRENT_STOCK = "(CASE WHEN p.stockSlots > 1 THEN "
+            + "(SELECT CAST(COALESCE(SUM(s.quantity), 0) AS Integer) FROM StockSlotEntity s WHERE s.productId = p.id) "
+            + "ELSE p.stock END)";
+
+    String SELECT_RESPONSE = "SELECT new com.drogueria.bellavista.application.dto.ProductDTO$Response("
+            + "p.id, p.code, p.name, p.description, p.price, " + CURRENT_STOCK + ", p.minStock, p.category, p.active, "
+            + "CASE WHEN " + CURRENT_STOCK + " <= p.minStock THEN true ELSE false END, "
+            + "CASE WHEN p.active = true AND " + CURRENT_STOCK + " > 0 THEN true ELSE false END, "
+            + "p.stockSlots, p.createdAt, p.updatedAt) FROM ProductEntity p ";
+
+    @Query(SELECT_RESPONSE + "WHERE p.id = :id")
+    Optional<ProductDTO.Response> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "WHERE p.code = :code")
+    Optional<ProductDTO.Response> findResponseByCode(@Param("code") String code);
+
+    @Query(SELECT_RESPONSE + "ORDER BY p.id")
+    List<ProductDTO.Response> findAllResponses();
+
+    @Query(SELECT_RESPONSE + "WHERE p.active = true ORDER BY p.id")
+    List<ProductDTO.Response> findActiveResponses();
+
+    @Query(SELECT_RESPONSE + "WHERE p.category = :category ORDER BY p.id")
+    List<ProductDTO.Response> findResponsesByCategory(@Param("category") String category);
+
+    @Query(SELECT_RESPONSE + "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY p.id")
+    List<ProductDTO.Response> findResponsesByNameContaining(@Param("name") String name);
+
+    @Query(SELECT_RESPONSE + "WHERE " + CURRENT_STOCK + " <= p.minStock ORDER BY p.id")
+    List<ProductDTO.Response> findResponsesNeedingRestock();
+}
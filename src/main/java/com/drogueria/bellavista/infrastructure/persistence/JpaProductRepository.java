@@ -1,7 +1,10 @@
 package com.drogueria.bellavista.infrastructure.persistence;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,4 +29,35 @@ public interface JpaProductRepository extends JpaRepository<ProductEntity, Long>
     List<ProductEntity> findByNameContainingIgnoreCase(String name);
     
     boolean existsByCode(String code);
+    
+    @Query("SELECT COALESCE(p.stockSlots, 1) FROM ProductEntity p WHERE p.id = :id")
+    Optional<Integer> findStockSlotsById(@Param("id") Long id);
+    
+    /**
+     * UPDATE de todas las columnas salvo stock, con control de versión
+     * El stock de los productos del motor de inventario solo lo escribe el motor;
+     * limpiar el contexto evita que la entidad ya cargada (con el stock leído al
+     * inicio de la transacción) se vuelva a escribir o se use con versión vieja.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.code = :#{#product.code}, p.name = :#{#product.name}, "
+            + "p.description = :#{#product.description}, p.price = :#{#product.price}, "
+            + "p.minStock = :#{#product.minStock}, p.category = :#{#product.category}, "
+            + "p.active = :#{#product.active}, p.updatedAt = :#{#product.updatedAt}, "
+            + "p.stockSlots = :#{#product.stockSlots}, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.id = :#{#product.id} AND p.version = :#{#product.version}")
+    int updateExceptStock(@Param("product") ProductEntity product);
+    
+    @Modifying
+    @Query("DELETE FROM ProductEntity p WHERE p.id = :id")
+    int deleteProductById(@Param("id") Long id);
+    
+    List<ProductEntity> findByStockSlotsGreaterThan(Integer stockSlots);
+    
+    List<ProductEntity> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Pageable pageable);
+    
+    @Modifying
+    @Query(value = "UPDATE products SET change_seq = nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "') WHERE change_seq IS NULL OR change_seq < 0", nativeQuery = true)
+    int assignMissingChangeSeq();
 }
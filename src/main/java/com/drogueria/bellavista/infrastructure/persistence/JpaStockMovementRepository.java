@@ -0,0 +1,62 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import com.drogueria.bellavista.domain.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio Spring Data JPA - Movimientos de stock
+ */
+@Repository
+public interface JpaStockMovementRepository extends JpaRepository<StockMovementEntity, Long> {
+
+    @Query("SELECT MAX(m.id) FROM StockMovementEntity m " +
+           "WHERE m.productId = :productId AND m.id > :afterId AND m.createdAt <= :upTo")
+    Long findLastIdUpTo(@Param("productId") Long productId,
+                        @Param("afterId") Long afterId,
+                        @Param("upTo") LocalDateTime upTo);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovementEntity m " +
+           "WHERE m.productId = :productId AND m.id > :afterId AND m.id <= :lastId")
+    Long sumQuantityBetween(@Param("productId") Long productId,
+                            @Param("afterId") Long afterId,
+                            @Param("lastId") Long lastId);
+
+    @Query("SELECT MAX(m.createdAt) FROM StockMovementEntity m " +
+           "WHERE m.productId = :productId AND m.id > :afterId AND m.id <= :lastId")
+    LocalDateTime findLatestCreatedAtBetween(@Param("productId") Long productId,
+                                             @Param("afterId") Long afterId,
+                                             @Param("lastId") Long lastId);
+
+    boolean existsByProductIdAndCreatedAtLessThanEqual(Long productId, LocalDateTime createdAt);
+
+    /**
+     * Movimiento inicial para los productos sin historial, con su stock vigente
+     * (la suma de las particiones si el producto está particionado)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stock_movements (product_id, movement_type, quantity, reference, created_at) " +
+                   "SELECT p.id, '" + StockMovement.TYPE_INITIAL + "', " +
+                   "CASE WHEN p.stock_slots > 1 THEN COALESCE(" +
+                   "(SELECT SUM(s.quantity) FROM product_stock_slots s WHERE s.product_id = p.id), p.stock) " +
+                   "ELSE p.stock END, p.code, COALESCE(p.created_at, CURRENT_TIMESTAMP) " +
+                   "FROM products p WHERE p.stock IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.product_id = p.id)",
+           nativeQuery = true)
+    int openMissingLedgers();
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovementEntity m " +
+           "WHERE m.productId = :productId AND m.id > :afterId AND m.createdAt <= :upTo")
+    Long sumQuantityAfter(@Param("productId") Long productId,
+                          @Param("afterId") Long afterId,
+                          @Param("upTo") LocalDateTime upTo);
+
+    List<StockMovementEntity> findByProductIdOrderByIdDesc(Long productId, Pageable pageable);
+}
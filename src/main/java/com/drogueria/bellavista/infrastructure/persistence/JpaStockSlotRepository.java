@@ -0,0 +1,57 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Particiones de stock
+ * Las consultas de bloqueo usan SKIP LOCKED para que los pedidos concurrentes
+ * tomen particiones distintas en lugar de esperar la misma fila
+ */
+@Repository
+public interface JpaStockSlotRepository extends JpaRepository<StockSlotEntity, Long> {
+
+    @Query(value = "SELECT * FROM product_stock_slots WHERE product_id = :productId AND slot_no = :slotNo " +
+                   "AND quantity >= :quantity FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<StockSlotEntity> lockSlotSkipLocked(@Param("productId") Long productId,
+                                                 @Param("slotNo") int slotNo,
+                                                 @Param("quantity") int quantity);
+
+    @Query(value = "SELECT * FROM product_stock_slots WHERE product_id = :productId AND quantity >= :quantity " +
+                   "ORDER BY slot_no LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<StockSlotEntity> lockAnySlotSkipLocked(@Param("productId") Long productId,
+                                                    @Param("quantity") int quantity);
+
+    /**
+     * Bloquea todas las particiones en orden de slot_no, esperando a las ocupadas
+     * Solo es seguro si la transacción no retiene ya otra partición del producto:
+     * el orden fijo no evita el ciclo con quien retiene una y espera las demás
+     */
+    @Query(value = "SELECT * FROM product_stock_slots WHERE product_id = :productId ORDER BY slot_no FOR UPDATE",
+           nativeQuery = true)
+    List<StockSlotEntity> lockAllSlots(@Param("productId") Long productId);
+
+    /**
+     * Igual que lockAllSlots pero sin esperar: falla si alguna partición está bloqueada
+     */
+    @Query(value = "SELECT * FROM product_stock_slots WHERE product_id = :productId ORDER BY slot_no FOR UPDATE NOWAIT",
+           nativeQuery = true)
+    List<StockSlotEntity> lockAllSlotsNoWait(@Param("productId") Long productId);
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM StockSlotEntity s WHERE s.productId = :productId")
+    Long sumQuantity(@Param("productId") Long productId);
+
+    @Query("SELECT s.productId, SUM(s.quantity) FROM StockSlotEntity s WHERE s.productId IN :productIds GROUP BY s.productId")
+    List<Object[]> sumQuantities(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query("DELETE FROM StockSlotEntity s WHERE s.productId = :productId")
+    void deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,19 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Fotos de stock
+ */
+@Repository
+public interface JpaStockSnapshotRepository extends JpaRepository<StockSnapshotEntity, Long> {
+
+    Optional<StockSnapshotEntity> findFirstByProductIdOrderByLastMovementIdDesc(Long productId);
+
+    Optional<StockSnapshotEntity> findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDescLastMovementIdDesc(
+            Long productId, LocalDateTime takenAt);
+}
@@ -0,0 +1,33 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import com.drogueria.bellavista.application.dto.SupplierDTO;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA - Proyecciones de lectura de proveedores
+ * Construye SupplierDTO.Response directamente desde la consulta
+ */
+public interface JpaSupplierReadRepository extends Repository<SupplierEntity, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.drogueria.bellavista.application.dto.SupplierDTO$Response("
+            + "s.id, s.code, s.name, s.email, s.phone, s.address, s.city, s.postalCode, s.documentNumber, "
+            + "s.documentType, s.leadTimeDays, s.averagePaymentDelay, s.active, s.createdAt, s.updatedAt) "
+            + "FROM SupplierEntity s ";
+
+    @Query(SELECT_RESPONSE + "WHERE s.id = :id")
+    Optional<SupplierDTO.Response> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "WHERE s.code = :code")
+    Optional<SupplierDTO.Response> findResponseByCode(@Param("code") String code);
+
+    @Query(SELECT_RESPONSE + "ORDER BY s.id")
+    List<SupplierDTO.Response> findAllResponses();
+
+    @Query(SELECT_RESPONSE + "WHERE s.active = true ORDER BY s.id")
+    List<SupplierDTO.Response> findActiveResponses();
+}
@@ -1,6 +1,8 @@
 package com.drogueria.bellavista.infrastructure.persistence;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -23,4 +25,10 @@ public interface JpaSupplierRepository extends JpaRepository<SupplierEntity, Lon
     boolean existsByCode(String code);
     
     boolean existsByEmail(String email);
+    
+    List<SupplierEntity> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Pageable pageable);
+    
+    @Modifying
+    @Query(value = "UPDATE suppliers SET change_seq = nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "') WHERE change_seq IS NULL OR change_seq < 0", nativeQuery = true)
+    int assignMissingChangeSeq();
 }
@@ -0,0 +1,22 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio Spring Data JPA - Tombstones de sincronización
+ */
+@Repository
+public interface JpaSyncTombstoneRepository extends JpaRepository<SyncTombstoneEntity, Long> {
+
+    List<SyncTombstoneEntity> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE sync_tombstones SET change_seq = nextval('" + SyncTombstoneEntity.CHANGE_SEQUENCE + "') WHERE change_seq < 0", nativeQuery = true)
+    int assignMissingChangeSeq();
+}
@@ -18,4 +18,6 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
     boolean existsByEmail(String email);
     List<UserEntity> findByRole(Role role);
     List<UserEntity> findByActive(Boolean active);
+    long countByRole(Role role);
+    long countByRoleAndActive(Role role, Boolean active);
 }
@@ -0,0 +1,52 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import com.drogueria.bellavista.domain.repository.OrderDocumentRepository;
+import com.drogueria.bellavista.domain.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Genera el documento de lectura de las órdenes creadas antes de existir
+ * la tabla order_documents, en lotes con una transacción por lote
+ */
+@Slf4j
+@Component
+public class OrderDocumentBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final OrderRepository orderRepository;
+    private final OrderDocumentRepository orderDocumentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderDocumentBackfill(OrderRepository orderRepository,
+                                 OrderDocumentRepository orderDocumentRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderDocumentRepository = orderDocumentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        Integer written;
+        do {
+            written = transactionTemplate.execute(status -> {
+                List<Long> ids = orderDocumentRepository.findOrderIdsWithoutDocument(BATCH_SIZE);
+                ids.forEach(id -> orderRepository.findById(id).ifPresent(orderDocumentRepository::save));
+                return ids.size();
+            });
+            total += written;
+        } while (written != null && written == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Documento de lectura generado para {} órdenes", total);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA - Documento de lectura de una orden
+ * Guarda la orden con sus ítems como un único JSONB, con la misma forma que
+ * devuelve la API, para servir las lecturas con una sola fila y sin JOIN
+ */
+@Entity
+@Table(name = "order_documents", indexes = {
+    @Index(name = "idx_order_document_number", columnList = "order_number", unique = true),
+    @Index(name = "idx_order_document_customer_date", columnList = "customer_id, order_date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDocumentEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "document", nullable = false)
+    private String document;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
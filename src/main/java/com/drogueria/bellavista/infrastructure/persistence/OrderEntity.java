@@ -17,8 +17,8 @@ import java.util.List;
 @Entity
 @Table(name = "orders", indexes = {
     @Index(name = "idx_order_number", columnList = "order_number", unique = true),
-    @Index(name = "idx_customer_id", columnList = "customer_id"),
-    @Index(name = "idx_orders_status", columnList = "status"), // <-- nombre nuevo y único
+    @Index(name = "idx_orders_customer_status_date", columnList = "customer_id, status, order_date desc"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date desc"),
     @Index(name = "idx_order_date", columnList = "order_date")
 })
 @Data
@@ -76,6 +76,10 @@ public class OrderEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
     @Column(name = "created_by", length = 100)
     private String createdBy; // Usuario que creó la orden (para auditoría - Métrica 2.3)
     
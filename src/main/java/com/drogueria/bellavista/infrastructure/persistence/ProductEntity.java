@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,9 +13,17 @@ import java.time.LocalDateTime;
 /**
  * Entidad JPA - Producto
  * Representa la tabla de productos en la base de datos
+ * DynamicUpdate: los UPDATE solo incluyen columnas modificadas. Los productos del
+ * motor de inventario no se guardan con merge sino con
+ * JpaProductRepository.updateExceptStock, que nunca escribe la columna stock
  */
 @Entity
-@Table(name = "products")
+@DynamicUpdate
+@Table(name = "products", indexes = {
+    @Index(name = "idx_product_change_seq", columnList = "change_seq"),
+    @Index(name = "idx_products_category_id", columnList = "category, id"),
+    @Index(name = "idx_products_stock_slots", columnList = "stock_slots")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -55,6 +64,16 @@ public class ProductEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+    
+    @Column(name = "stock_slots")
+    private Integer stockSlots;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
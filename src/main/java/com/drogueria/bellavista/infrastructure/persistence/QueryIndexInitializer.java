@@ -0,0 +1,62 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Índices parciales que @Index no puede expresar (cláusula WHERE)
+ * Se crean al arrancar, antes que los demás procesos de inicio, y se eliminan
+ * los índices de una sola columna que quedaron cubiertos por los compuestos.
+ * Solo aplica en PostgreSQL; en otras bases (H2 de pruebas) no hace nada.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryIndexInitializer implements ApplicationRunner {
+
+    static final List<String> PARTIAL_INDEXES = List.of(
+        // findAllActive: clientes activos por nombre
+        "CREATE INDEX IF NOT EXISTS idx_customers_active_name ON customers (name) WHERE active",
+        // findMorosos: solo los activos con saldo pendiente, ya ordenados por saldo
+        "CREATE INDEX IF NOT EXISTS idx_customers_morosos ON customers (pending_balance DESC) "
+            + "WHERE active AND pending_balance > 0",
+        // findAllActive: proveedores activos por nombre
+        "CREATE INDEX IF NOT EXISTS idx_suppliers_active_name ON suppliers (name) WHERE active",
+        // findPendingReceipts: las recepciones pendientes son una fracción pequeña de la tabla
+        "CREATE INDEX IF NOT EXISTS idx_receipts_pending_created ON goods_receipts (created_at DESC) "
+            + "WHERE status = 'PENDING'"
+    );
+
+    static final List<String> REDUNDANT_INDEXES = List.of(
+        "idx_customer_id",      // cubierto por idx_orders_customer_status_date
+        "idx_orders_status",    // cubierto por idx_orders_status_date
+        "idx_active",           // reemplazado por idx_customers_active_name / idx_customers_morosos
+        "idx_customer_type",    // cubierto por idx_customer_type_name
+        "idx_supplier_active"   // reemplazado por idx_suppliers_active_name
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.debug("Índices parciales omitidos en {}", database);
+            return;
+        }
+        PARTIAL_INDEXES.forEach(jdbcTemplate::execute);
+        REDUNDANT_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+        log.info("Índices de consulta verificados: {} parciales", PARTIAL_INDEXES.size());
+    }
+}
@@ -0,0 +1,29 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Abre el libro de stock de los productos creados antes de existir: un movimiento
+ * inicial con su stock vigente, para que el stock a una fecha parta de ahí
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedgerBackfill implements ApplicationRunner {
+
+    private final JpaStockMovementRepository movementRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int opened = movementRepository.openMissingLedgers();
+        if (opened > 0) {
+            log.info("Libro de stock abierto para {} productos sin historial", opened);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad JPA - Partición de stock de un producto
+ */
+@Entity
+@Table(name = "product_stock_slots",
+    uniqueConstraints = @UniqueConstraint(name = "uk_stock_slot_product_slot", columnNames = {"product_id", "slot_no"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSlotEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 @Table(name = "suppliers", indexes = {
     @Index(name = "idx_supplier_code", columnList = "code", unique = true),
     @Index(name = "idx_supplier_email", columnList = "email", unique = true),
-    @Index(name = "idx_supplier_active", columnList = "active")
+    @Index(name = "idx_supplier_change_seq", columnList = "change_seq")
 })
 @Data
 @Builder
@@ -70,4 +70,7 @@ public class SupplierEntity {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
 }
@@ -0,0 +1,48 @@
+package com.drogueria.bellavista.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA - Marca de eliminación (tombstone) para sincronización incremental
+ * El identificador se toma de la misma secuencia de cambios que usan productos,
+ * clientes y proveedores, así las eliminaciones se ordenan junto con las escrituras.
+ * Se insertan al confirmar la transacción (ver ChangeSequenceStamper)
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+    @Index(name = "idx_tombstone_entity", columnList = "entity_type, entity_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneEntity {
+
+    public static final String CHANGE_SEQUENCE = "catalog_change_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_change_seq_gen")
+    @SequenceGenerator(name = "catalog_change_seq_gen", sequenceName = CHANGE_SEQUENCE, allocationSize = 1)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,94 @@
+package com.drogueria.bellavista.infrastructure.retry;
+
+import com.drogueria.bellavista.domain.service.RetryOnConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspecto - Reintento de transacciones en conflicto de concurrencia
+ * (versión optimista vencida, bloqueo no disponible o víctima de interbloqueo)
+ * Se ejecuta por fuera del proxy @Transactional (máxima precedencia), de modo
+ * que cada intento es una transacción nueva. Entre intentos espera un tiempo
+ * aleatorio en [0, min(max, base * 2^intento)] ("full jitter") para que los
+ * competidores no vuelvan a chocar en el mismo instante.
+ * Métrica: bellavista.optimistic.conflicts{method, outcome=retried|exhausted}
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+    static final String CONFLICT_METRIC = "bellavista.optimistic.conflicts";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retry.conflict.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.retry.conflict.base-delay-ms:10}")
+    private long baseDelayMs;
+
+    @Value("${app.retry.conflict.max-delay-ms:200}")
+    private long maxDelayMs;
+
+    public ConflictRetryAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.drogueria.bellavista.domain.service.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Dentro de una transacción ya abierta el reintento no sirve: el conflicto
+        // debe propagarse para que lo resuelva quien la abrió
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    conflictCounter(method, "exhausted").increment();
+                    log.warn("Optimistic conflict in {} not resolved after {} attempts", method, attempt);
+                    throw ex;
+                }
+                conflictCounter(method, "retried").increment();
+                long delay = backoff(attempt);
+                log.debug("Optimistic conflict in {} (attempt {}), retrying in {} ms", method, attempt, delay);
+                Thread.sleep(delay);
+                attempt++;
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Counter conflictCounter(String method, String outcome) {
+        return Counter.builder(CONFLICT_METRIC)
+                .description("Conflictos de concurrencia optimista por caso de uso")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
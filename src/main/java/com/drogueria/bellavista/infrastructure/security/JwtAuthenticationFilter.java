@@ -1,8 +1,11 @@
 package com.drogueria.bellavista.infrastructure.security;
 
 import com.drogueria.bellavista.application.service.AuthService;
+import com.drogueria.bellavista.infrastructure.logging.RequestCorrelationFilter;
+import com.drogueria.bellavista.infrastructure.web.RequestTiming;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming.Phase previous = RequestTiming.enter(RequestTiming.Phase.AUTH);
         try {
             String header = request.getHeader("Authorization");
             String token = jwtUtils.extractTokenFromBearerHeader(header);
@@ -46,10 +50,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    MDC.put(RequestCorrelationFilter.USER_ID, username);
                 }
             }
         } catch (Exception ex) {
             log.debug("Could not set user authentication in security context: {}", ex.getMessage());
+        } finally {
+            RequestTiming.exit(previous);
         }
 
         filterChain.doFilter(request, response);
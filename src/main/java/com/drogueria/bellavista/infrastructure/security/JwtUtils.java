@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.infrastructure.security;
 
+import com.drogueria.bellavista.infrastructure.logging.RateLimitedLogger;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 
 /**
@@ -30,6 +32,9 @@ import java.util.Date;
 public class JwtUtils {
     private static final Logger log = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Expired or invalid tokens are routine client behaviour: cap the WARN volume per reason
+    private static final RateLimitedLogger invalidTokenLog = new RateLimitedLogger(log, Duration.ofMinutes(1), 10);
+
     @Value("${app.jwt.secret:your-secret-key-must-be-at-least-32-characters-for-hs256}")
     private String jwtSecret;
 
@@ -94,19 +99,19 @@ public class JwtUtils {
                 .parseSignedClaims(token);
             return true;
         } catch (ExpiredJwtException e) {
-            log.warn("JWT token expired: {}", e.getMessage());
+            invalidTokenLog.warn("JWT token expired: {}", e::getMessage);
             return false;
         } catch (MalformedJwtException e) {
-            log.warn("Malformed JWT token: {}", e.getMessage());
+            invalidTokenLog.warn("Malformed JWT token: {}", e::getMessage);
             return false;
         } catch (SecurityException e) {
-            log.warn("Invalid JWT signature: {}", e.getMessage());
+            invalidTokenLog.warn("Invalid JWT signature: {}", e::getMessage);
             return false;
         } catch (UnsupportedJwtException e) {
-            log.warn("Unsupported JWT token: {}", e.getMessage());
+            invalidTokenLog.warn("Unsupported JWT token: {}", e::getMessage);
             return false;
         } catch (IllegalArgumentException e) {
-            log.warn("JWT token argument is invalid: {}", e.getMessage());
+            invalidTokenLog.warn("JWT token argument is invalid: {}", e::getMessage);
             return false;
         }
     }
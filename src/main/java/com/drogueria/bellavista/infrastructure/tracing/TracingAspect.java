@@ -0,0 +1,70 @@
+package com.drogueria.bellavista.infrastructure.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto - Spans de traza por capa
+ * Cada llamada a un controlador, servicio, adaptador de repositorio, envío de
+ * correo o verificación JWT abre un span hijo del actual ("Clase.método") con
+ * la etiqueta bellavista.layer. Las sentencias JDBC cuelgan de ellos (ver
+ * InstrumentedDataSource) y el span raíz lo abre la observación HTTP de Spring.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    static final String LAYER_TAG = "bellavista.layer";
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.controller.*Controller.*(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return traced("controller", joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.domain.service.*Service.*(..))"
+            + " || execution(public * com.drogueria.bellavista.application.query.*Service.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return traced("service", joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.infrastructure.adapter.*RepositoryAdapter.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return traced("repository", joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.application.service.EmailService.send*(..))")
+    public Object traceEmail(ProceedingJoinPoint joinPoint) throws Throwable {
+        return traced("email", joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.infrastructure.security.JwtUtils.validateToken(..))")
+    public Object traceJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        return traced("jwt", joinPoint);
+    }
+
+    private Object traced(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.nextSpan()
+                .name(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "." + joinPoint.getSignature().getName())
+                .tag(LAYER_TAG, layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
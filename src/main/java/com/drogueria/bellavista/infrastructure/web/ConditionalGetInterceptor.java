@@ -0,0 +1,66 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.domain.service.CollectionVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor de GET condicional para una colección de datos maestros
+ * Genera un ETag fuerte a partir de la versión de la colección y responde
+ * 304 Not Modified antes de que el controlador cargue o mapee entidades.
+ * La versión se lee antes de consultar la base de datos, por lo que los datos
+ * servidos nunca son más antiguos que el ETag que los acompaña.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String VERSION_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".version.";
+
+    private final CollectionVersionService collectionVersionService;
+    private final String collection;
+    private final String cacheControl;
+
+    public ConditionalGetInterceptor(CollectionVersionService collectionVersionService,
+                                     String collection,
+                                     String cacheControl) {
+        this.collectionVersionService = collectionVersionService;
+        this.collection = collection;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        String etag = etag(collection, version(request, collectionVersionService, collection));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        // checkNotModified agrega el header ETag y fija 304 si If-None-Match coincide
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    /**
+     * Versión de la colección para esta petición: se consulta una sola vez por petición
+     */
+    static long version(HttpServletRequest request, CollectionVersionService collectionVersionService,
+                        String collection) {
+        if (request.getAttribute(VERSION_ATTRIBUTE + collection) instanceof Long version) {
+            return version;
+        }
+        long version = collectionVersionService.currentVersion(collection);
+        request.setAttribute(VERSION_ATTRIBUTE + collection, version);
+        return version;
+    }
+
+    /**
+     * ETag fuerte de una colección en una versión
+     */
+    static String etag(String collection, long version) {
+        return "\"" + collection + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,98 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.domain.service.CollectionVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Rutas con GET condicional de datos maestros (productos, clientes, proveedores)
+ * Registra un ConditionalGetInterceptor por colección y permite saber, antes de
+ * entrar a la aplicación, si una petición se responderá 304: el control de
+ * admisión no le cobra una plaza a quien no va a cargar entidades.
+ * Esa decisión usa solo la versión recordada en memoria: corre antes de la
+ * autenticación y de la admisión, así que no puede consultar la base de datos.
+ */
+@Component
+public class ConditionalGetRoutes {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final CollectionVersionService collectionVersionService;
+    private final List<Route> routes;
+
+    public ConditionalGetRoutes(
+            CollectionVersionService collectionVersionService,
+            @Value("${app.http.cache-control.products:no-cache}") String productsCacheControl,
+            @Value("${app.http.cache-control.customers:private, no-cache}") String customersCacheControl,
+            @Value("${app.http.cache-control.suppliers:no-cache}") String suppliersCacheControl) {
+        this.collectionVersionService = collectionVersionService;
+        this.routes = List.of(
+                new Route(CollectionVersionService.PRODUCTS, productsCacheControl, "/products", "/products/**"),
+                new Route(CollectionVersionService.CUSTOMERS, customersCacheControl, "/customers", "/customers/**"),
+                new Route(CollectionVersionService.SUPPLIERS, suppliersCacheControl, "/suppliers", "/suppliers/**"));
+    }
+
+    public void register(InterceptorRegistry registry) {
+        for (Route route : routes) {
+            registry.addInterceptor(new ConditionalGetInterceptor(
+                            collectionVersionService, route.collection(), route.cacheControl()))
+                    .addPathPatterns(route.patterns());
+        }
+    }
+
+    /**
+     * La petición es un GET condicional cuyo If-None-Match coincide con la versión recordada
+     * Sin versión recordada reciente devuelve false y la petición pasa por la admisión;
+     * el interceptor igual compara contra la versión actual antes de responder 304
+     */
+    public boolean isNotModified(HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (!StringUtils.hasText(ifNoneMatch)
+                || (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod()))) {
+            return false;
+        }
+        String path = request.getServletPath();
+        for (Route route : routes) {
+            if (route.matches(path)) {
+                OptionalLong version = collectionVersionService.recentVersion(route.collection());
+                return version.isPresent()
+                        && matchesAny(ifNoneMatch, ConditionalGetInterceptor.etag(route.collection(), version.getAsLong()));
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(etag) || trimmed.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Route(String collection, String cacheControl, String... patterns) {
+
+        boolean matches(String path) {
+            for (String pattern : patterns) {
+                if (MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Escritor de respuestas de error para rechazos frecuentes
+ * Produce el mismo JSON que GlobalExceptionHandler.ErrorResponse más el campo
+ * "code", pero sin Jackson ni objetos intermedios: el tramo fijo de cada código
+ * (status, error, code) se precalcula y por petición solo se añaden la fecha y
+ * el mensaje escapado.
+ */
+public final class ErrorResponseWriter {
+
+    private static final String PREFIX = "{\"timestamp\":\"";
+    private static final String SUFFIX = "\",\"details\":null}";
+    private static final Map<ErrorCode, String> MIDDLES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            MIDDLES.put(code, "\",\"status\":" + code.status().value()
+                    + ",\"error\":\"" + code.error()
+                    + "\",\"code\":\"" + code.name()
+                    + "\",\"message\":\"");
+        }
+    }
+
+    private ErrorResponseWriter() {
+    }
+
+    public static byte[] body(ErrorCode code, String message) {
+        StringBuilder json = new StringBuilder(160 + (message != null ? message.length() : 0))
+                .append(PREFIX);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDateTime.now(), json);
+        json.append(MIDDLES.get(code));
+        appendEscaped(json, message);
+        return json.append(SUFFIX).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Respuesta para un @ExceptionHandler
+     */
+    public static ResponseEntity<byte[]> response(ErrorCode code, String message) {
+        return ResponseEntity.status(code.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body(code, message));
+    }
+
+    /**
+     * Escritura directa desde filtros e interceptores (fuera de Spring MVC)
+     */
+    public static void write(HttpServletResponse response, ErrorCode code) throws IOException {
+        byte[] body = body(code, code.format());
+        response.setStatus(code.status().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void appendEscaped(StringBuilder json, String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro - Memoria asignada y tiempo de CPU por método controlador
+ * Mide con ThreadMXBean la diferencia de bytes asignados y de CPU del hilo que
+ * atiende la petición (autenticación y escritura de la respuesta incluidas).
+ * Las peticiones que no llegan a un controlador no se registran.
+ * Métricas:
+ * - bellavista.http.allocated{handler}: bytes asignados por petición
+ * - bellavista.http.cpu{handler}: CPU del hilo por petición
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.resource-accounting.enabled", havingValue = "true")
+public class HandlerResourceFilter extends OncePerRequestFilter {
+
+    static final String ALLOCATED = "bellavista.http.allocated";
+    static final String CPU = "bellavista.http.cpu";
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public HandlerResourceFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threads = supportedThreadMXBean();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return threads == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                record(handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName(),
+                        threads.getCurrentThreadAllocatedBytes() - allocatedBefore,
+                        threads.getCurrentThreadCpuTime() - cpuBefore);
+            }
+        }
+    }
+
+    private void record(String handler, long allocatedBytes, long cpuNanos) {
+        DistributionSummary.builder(ALLOCATED)
+                .description("Bytes asignados en el heap por petición")
+                .baseUnit("bytes")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(allocatedBytes);
+        Timer.builder(CPU)
+                .description("Tiempo de CPU del hilo por petición")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static com.sun.management.ThreadMXBean supportedThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()
+                && bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled()) {
+            return bean;
+        }
+        log.warn("La JVM no permite medir memoria asignada o CPU por hilo; contabilidad por endpoint desactivada");
+        return null;
+    }
+}
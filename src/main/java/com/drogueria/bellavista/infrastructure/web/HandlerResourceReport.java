@@ -0,0 +1,48 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.application.dto.EndpointResourceDTO;
+import com.drogueria.bellavista.application.query.EndpointResourceReport;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Informe de memoria y CPU por endpoint, leído de las métricas de HandlerResourceFilter
+ */
+@Component
+public class HandlerResourceReport implements EndpointResourceReport {
+
+    private final MeterRegistry meterRegistry;
+
+    public HandlerResourceReport(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<EndpointResourceDTO> heaviest(int limit) {
+        return meterRegistry.find(HandlerResourceFilter.ALLOCATED).summaries().stream()
+                .map(this::toDTO)
+                .sorted(Comparator.comparing(EndpointResourceDTO::getTotalAllocatedBytes).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private EndpointResourceDTO toDTO(DistributionSummary allocated) {
+        String handler = allocated.getId().getTag("handler");
+        Timer cpu = meterRegistry.find(HandlerResourceFilter.CPU).tag("handler", handler).timer();
+        return EndpointResourceDTO.builder()
+                .handler(handler)
+                .requests(allocated.count())
+                .totalAllocatedBytes((long) allocated.totalAmount())
+                .meanAllocatedBytes((long) allocated.mean())
+                .maxAllocatedBytes((long) allocated.max())
+                .meanCpuMs(cpu != null ? cpu.mean(TimeUnit.MILLISECONDS) : null)
+                .maxCpuMs(cpu != null ? cpu.max(TimeUnit.MILLISECONDS) : null)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.infrastructure.jdbc.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro de presupuesto de sentencias SQL por petición (perfil dev)
+ * Cuenta las sentencias que ejecuta cada petición HTTP, incluida la autenticación,
+ * y advierte con la pila de la primera sentencia que excedió el presupuesto:
+ * ese punto suele ser el bucle que provoca el N+1.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true")
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+
+    @Value("${app.query-budget.max-statements:10}")
+    private int maxStatements;
+
+    public QueryBudgetFilter(SqlStatementCounter counter) {
+        this.counter = counter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = counter.beginScope(maxStatements);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counter.endScope();
+            if (scope.exceeded()) {
+                log.warn("{} {} ejecutó {} sentencias SQL (presupuesto {})",
+                        request.getMethod(), request.getRequestURI(), scope.count(), scope.budget(),
+                        scope.overBudgetCall());
+            }
+        }
+    }
+}
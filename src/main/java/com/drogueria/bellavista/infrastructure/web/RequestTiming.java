@@ -0,0 +1,101 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import java.util.Locale;
+
+/**
+ * Desglose de tiempos de la petición HTTP en curso (cabecera Server-Timing)
+ * El tiempo es exclusivo: al entrar en una fase se pausa la anterior, de modo
+ * que las consultas que dispara un servicio cuentan como "db" y no como "service".
+ * Fuera de una petición cronometrada (o con la función desactivada) enter/exit
+ * solo consultan un ThreadLocal vacío.
+ */
+public final class RequestTiming {
+
+    /**
+     * Fases medidas; el nombre es el de la métrica en Server-Timing
+     */
+    public enum Phase {
+        AUTH("auth"),
+        SERVICE("service"),
+        REPOSITORY("db"),
+        MAPPING("mapping"),
+        SERIALIZATION("json");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private Phase active;
+    private long mark = start;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Entra en una fase y devuelve la que estaba activa, para restaurarla con exit()
+     */
+    public static Phase enter(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return null;
+        }
+        Phase previous = timing.active;
+        timing.switchTo(phase);
+        return previous;
+    }
+
+    public static void exit(Phase previous) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.switchTo(previous);
+        }
+    }
+
+    private void switchTo(Phase phase) {
+        long now = System.nanoTime();
+        if (active != null) {
+            nanos[active.ordinal()] += now - mark;
+        }
+        active = phase;
+        mark = now;
+    }
+
+    /**
+     * Valor de la cabecera: fases con tiempo registrado más el total, en milisegundos
+     */
+    String toHeaderValue() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos > 0) {
+                appendMetric(header, phase.metric, phaseNanos);
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - start);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String metric, long phaseNanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.1f", phaseNanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,49 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor que anota en la petición si la hizo un administrador
+ * Corre después de Spring Security; ServerTimingFilter agrega la cabecera de las
+ * respuestas sin cuerpo (204, 304) cuando la cadena ya terminó y el contexto de
+ * seguridad fue limpiado, así que consulta esta anotación en vez del contexto.
+ */
+public class ServerTimingAdminInterceptor implements HandlerInterceptor {
+
+    static final String ADMIN_ATTRIBUTE = ServerTimingAdminInterceptor.class.getName() + ".admin";
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isAdmin()) {
+            request.setAttribute(ADMIN_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    /**
+     * Administrador según la anotación de la petición o, durante la cadena, el contexto de seguridad
+     */
+    static boolean isAdmin(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(ADMIN_ATTRIBUTE)) || isAdmin();
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
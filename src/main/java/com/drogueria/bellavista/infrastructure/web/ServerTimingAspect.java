@@ -0,0 +1,43 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto - Atribuye el tiempo de servicios, repositorios y mapeadores a su
+ * fase de Server-Timing. Solo se registra si la cabecera está activada.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingAspect {
+
+    @Around("execution(public * com.drogueria.bellavista.domain.service.*Service.*(..))"
+            + " || execution(public * com.drogueria.bellavista.application.query.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.SERVICE, joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.infrastructure.adapter.*RepositoryAdapter.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.REPOSITORY, joinPoint);
+    }
+
+    @Around("execution(public * com.drogueria.bellavista.application.mapper.*Mapper.*(..))"
+            + " || execution(public * com.drogueria.bellavista.infrastructure.mapper.*Mapper.*(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.MAPPING, joinPoint);
+    }
+
+    private static Object timed(RequestTiming.Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming.Phase previous = RequestTiming.enter(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtro - Cabecera Server-Timing con el desglose de tiempos de cada petición
+ * Corre antes de la cadena de Spring Security para que la autenticación JWT
+ * quede dentro de la medición. Desactivado por defecto; activo, la cabecera solo
+ * se envía a peticiones muestreadas (sample-rate) o de un administrador, porque
+ * revela cuánto tarda cada fase a cualquier cliente. El rol de administrador lo anota
+ * ServerTimingAdminInterceptor durante la cadena, cuando el contexto de seguridad existe.
+ * El cuerpo no se retiene: la cabecera se agrega justo antes de escribirlo, así que
+ * la fase "json" (la escritura misma) solo aparece en el log muestreado.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    @Value("${app.server-timing.sample-rate:0.0}")
+    private double sampleRate;
+
+    @Value("${app.server-timing.log-sample-rate:0.0}")
+    private double logSampleRate;
+
+    @Value("${app.frontend.url:http://localhost:5173}")
+    private String timingAllowOrigin;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        RequestTiming timing = RequestTiming.begin();
+        TimingResponse wrapper = new TimingResponse(request, response, timing, sampled);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.end();
+            // Respuestas sin cuerpo (204, 304): la cabecera aún puede agregarse
+            wrapper.addHeaderOnce();
+            if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                log.info("{} {} -> {} [{}]", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toHeaderValue());
+            }
+        }
+    }
+
+    /**
+     * Respuesta que agrega Server-Timing antes de que se escriba el primer byte del cuerpo
+     */
+    private final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final RequestTiming timing;
+        private final boolean sampled;
+        private boolean added;
+
+        TimingResponse(HttpServletRequest request, HttpServletResponse response, RequestTiming timing, boolean sampled) {
+            super(response);
+            this.request = request;
+            this.timing = timing;
+            this.sampled = sampled;
+        }
+
+        void addHeaderOnce() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            if (sampled || ServerTimingAdminInterceptor.isAdmin(request)) {
+                setHeader(HEADER, timing.toHeaderValue());
+                setHeader("Timing-Allow-Origin", timingAllowOrigin);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeaderOnce();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeaderOnce();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeaderOnce();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeaderOnce();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeaderOnce();
+            super.sendError(sc);
+        }
+    }
+}
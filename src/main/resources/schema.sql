@@ -40,6 +40,19 @@ CREATE TABLE IF NOT EXISTS password_reset_tokens (
 CREATE INDEX IF NOT EXISTS idx_password_reset_email ON password_reset_tokens(email);
 CREATE INDEX IF NOT EXISTS idx_password_reset_expiry ON password_reset_tokens(expiry_date);
 
+-- Secuencia global de cambios para sincronización incremental (productos, clientes, proveedores)
+CREATE SEQUENCE IF NOT EXISTS catalog_change_seq START WITH 1 INCREMENT BY 1;
+
+-- Tabla: Eliminaciones para sincronización incremental
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    change_seq BIGINT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstone_entity ON sync_tombstones(entity_type, entity_id);
+
 -- Tabla: Clientes
 CREATE TABLE IF NOT EXISTS customers (
     id BIGSERIAL PRIMARY KEY,
@@ -58,15 +71,18 @@ CREATE TABLE IF NOT EXISTS customers (
     active BOOLEAN NOT NULL DEFAULT true,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP,
+    change_seq BIGINT,
     
     CONSTRAINT idx_customers_code UNIQUE (code),
     CONSTRAINT idx_customers_email UNIQUE (email),
     CONSTRAINT idx_customers_document UNIQUE (document_number)
 );
 
-CREATE INDEX IF NOT EXISTS idx_customers_active ON customers(active);
-CREATE INDEX IF NOT EXISTS idx_customers_type ON customers(customer_type);
-CREATE INDEX IF NOT EXISTS idx_customers_pending_balance ON customers(pending_balance);
+CREATE INDEX IF NOT EXISTS idx_customer_type_name ON customers(customer_type, name);
+CREATE INDEX IF NOT EXISTS idx_customer_change_seq ON customers(change_seq);
+-- Parciales, solo PostgreSQL (los crea QueryIndexInitializer): findAllActive y findMorosos
+-- CREATE INDEX IF NOT EXISTS idx_customers_active_name ON customers(name) WHERE active;
+-- CREATE INDEX IF NOT EXISTS idx_customers_morosos ON customers(pending_balance DESC) WHERE active AND pending_balance > 0;
 
 -- Tabla: Proveedores
 CREATE TABLE IF NOT EXISTS suppliers (
@@ -85,12 +101,15 @@ CREATE TABLE IF NOT EXISTS suppliers (
     active BOOLEAN NOT NULL DEFAULT true,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP,
+    change_seq BIGINT,
     
     CONSTRAINT idx_suppliers_code UNIQUE (code),
     CONSTRAINT idx_suppliers_email UNIQUE (email)
 );
 
-CREATE INDEX IF NOT EXISTS idx_suppliers_active ON suppliers(active);
+CREATE INDEX IF NOT EXISTS idx_supplier_change_seq ON suppliers(change_seq);
+-- Parcial, solo PostgreSQL (lo crea QueryIndexInitializer): findAllActive
+-- CREATE INDEX IF NOT EXISTS idx_suppliers_active_name ON suppliers(name) WHERE active;
 
 -- Tabla: Productos (MUST be created before order_items and goods_receipt_items)
 CREATE TABLE IF NOT EXISTS products (
@@ -105,13 +124,15 @@ CREATE TABLE IF NOT EXISTS products (
     active BOOLEAN NOT NULL DEFAULT true,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP,
+    change_seq BIGINT,
+    stock_slots INTEGER,
     
     CONSTRAINT idx_products_code UNIQUE (code)
 );
 
-CREATE INDEX IF NOT EXISTS idx_products_active ON products(active);
-CREATE INDEX IF NOT EXISTS idx_products_category ON products(category);
-CREATE INDEX IF NOT EXISTS idx_products_stock ON products(stock);
+CREATE INDEX IF NOT EXISTS idx_products_category_id ON products(category, id);
+CREATE INDEX IF NOT EXISTS idx_products_stock_slots ON products(stock_slots);
+CREATE INDEX IF NOT EXISTS idx_product_change_seq ON products(change_seq);
 
 -- Tabla: Órdenes de Compra
 CREATE TABLE IF NOT EXISTS orders (
@@ -136,9 +157,8 @@ CREATE TABLE IF NOT EXISTS orders (
     CONSTRAINT fk_order_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers(id)
 );
 
-CREATE INDEX IF NOT EXISTS idx_order_number ON orders(order_number);
-CREATE INDEX IF NOT EXISTS idx_order_customer ON orders(customer_id);
-CREATE INDEX IF NOT EXISTS idx_order_status ON orders(status);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_status_date ON orders(customer_id, status, order_date DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_date ON orders(status, order_date DESC);
 CREATE INDEX IF NOT EXISTS idx_order_date ON orders(order_date);
 
 -- Tabla: Líneas de Orden
@@ -177,10 +197,11 @@ CREATE TABLE IF NOT EXISTS goods_receipts (
     CONSTRAINT fk_receipt_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers(id)
 );
 
-CREATE INDEX IF NOT EXISTS idx_receipt_number ON goods_receipts(receipt_number);
-CREATE INDEX IF NOT EXISTS idx_receipt_order ON goods_receipts(order_id);
-CREATE INDEX IF NOT EXISTS idx_receipt_supplier ON goods_receipts(supplier_id);
-CREATE INDEX IF NOT EXISTS idx_receipt_status ON goods_receipts(status);
+CREATE INDEX IF NOT EXISTS idx_order_id ON goods_receipts(order_id);
+CREATE INDEX IF NOT EXISTS idx_supplier_id ON goods_receipts(supplier_id);
+CREATE INDEX IF NOT EXISTS idx_status ON goods_receipts(status);
+-- Parcial, solo PostgreSQL (lo crea QueryIndexInitializer): findPendingReceipts
+-- CREATE INDEX IF NOT EXISTS idx_receipts_pending_created ON goods_receipts(created_at DESC) WHERE status = 'PENDING';
 
 -- Tabla: Líneas de Recepción de Mercancía
 CREATE TABLE IF NOT EXISTS goods_receipt_items (
@@ -198,3 +219,72 @@ CREATE TABLE IF NOT EXISTS goods_receipt_items (
 
 CREATE INDEX IF NOT EXISTS idx_receipt_items_receipt ON goods_receipt_items(goods_receipt_id);
 CREATE INDEX IF NOT EXISTS idx_receipt_items_product ON goods_receipt_items(product_id);
+
+-- Tabla: Movimientos de Stock (libro de solo inserción)
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    movement_type VARCHAR(30) NOT NULL,
+    quantity INTEGER NOT NULL,
+    reference VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movement_product ON stock_movements(product_id, id);
+CREATE INDEX IF NOT EXISTS idx_stock_movement_product_date ON stock_movements(product_id, created_at);
+
+-- Tabla: Fotos de Stock (punto de partida para consultas a una fecha)
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    last_movement_id BIGINT NOT NULL,
+    taken_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_snapshot_product_date ON stock_snapshots(product_id, taken_at);
+CREATE INDEX IF NOT EXISTS idx_stock_snapshot_product_movement ON stock_snapshots(product_id, last_movement_id);
+
+-- Tabla: Particiones de Stock (SKUs de alta concurrencia, products.stock_slots > 1)
+CREATE TABLE IF NOT EXISTS product_stock_slots (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    slot_no INTEGER NOT NULL,
+    quantity INTEGER NOT NULL DEFAULT 0,
+    
+    CONSTRAINT uk_stock_slot_product_slot UNIQUE (product_id, slot_no),
+    CONSTRAINT fk_stock_slot_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Tabla: Punto de control del motor de inventario en memoria (una sola fila)
+CREATE TABLE IF NOT EXISTS inventory_checkpoints (
+    id BIGINT PRIMARY KEY,
+    journal_epoch BIGINT NOT NULL,
+    journal_position INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Control de concurrencia optimista (@Version)
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE goods_receipts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Secuencias de numeración de documentos (una por prefijo; cada nextval reserva un bloque de app.documents.block-size)
+CREATE SEQUENCE IF NOT EXISTS document_seq_ord START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS document_seq_gr START WITH 1 INCREMENT BY 50;
+
+-- Tabla: Documentos de lectura de órdenes (orden + ítems en un solo JSONB, misma forma que la API)
+CREATE TABLE IF NOT EXISTS order_documents (
+    order_id BIGINT PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    order_date TIMESTAMP,
+    document JSON NOT NULL,  -- JSONB en PostgreSQL (SqlTypes.JSON)
+    updated_at TIMESTAMP NOT NULL,
+    
+    CONSTRAINT uk_order_document_number UNIQUE (order_number),
+    CONSTRAINT fk_order_document_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_document_customer_date ON order_documents(customer_id, order_date);
@@ -0,0 +1,110 @@
+package com.drogueria.bellavista.application.query;
+
+import com.drogueria.bellavista.application.dto.ProductDTO;
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
+import com.drogueria.bellavista.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CatalogQueryService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogQueryService Tests")
+class CatalogQueryServiceTest {
+
+    @Mock
+    private ProductQueryRepository productQueryRepository;
+
+    @Mock
+    private CustomerQueryRepository customerQueryRepository;
+
+    @Mock
+    private SupplierQueryRepository supplierQueryRepository;
+
+    @Mock
+    private InventoryEngine inventoryEngine;
+
+    @InjectMocks
+    private CatalogQueryService catalogQueryService;
+
+    private ProductDTO.Response response(Long id, int stock, int minStock) {
+        return ProductDTO.Response.builder()
+            .id(id).code("MED" + id).active(true)
+            .stock(stock).minStock(minStock)
+            .needsRestock(stock <= minStock).available(stock > 0)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Debe devolver la proyección sin cambios si el motor no gestiona el producto")
+    void shouldReturnProjectionAsIs() {
+        // Given
+        when(productQueryRepository.findById(1L)).thenReturn(Optional.of(response(1L, 50, 10)));
+        when(inventoryEngine.manages(1L)).thenReturn(false);
+
+        // When
+        ProductDTO.Response result = catalogQueryService.getProductById(1L);
+
+        // Then
+        assertEquals(50, result.getStock());
+        assertFalse(result.getNeedsRestock());
+        verify(inventoryEngine, never()).stockOf(any());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el stock del motor y recalcular los campos derivados")
+    void shouldOverlayEngineStock() {
+        // Given
+        when(productQueryRepository.findById(1L)).thenReturn(Optional.of(response(1L, 50, 10)));
+        when(inventoryEngine.manages(1L)).thenReturn(true);
+        when(inventoryEngine.stockOf(1L)).thenReturn(0);
+
+        // When
+        ProductDTO.Response result = catalogQueryService.getProductById(1L);
+
+        // Then
+        assertEquals(0, result.getStock());
+        assertTrue(result.getNeedsRestock());
+        assertFalse(result.getAvailable());
+    }
+
+    @Test
+    @DisplayName("Debe descartar candidatos a reabastecer que el motor ya repuso")
+    void shouldReevaluateRestockCandidatesWithEngineStock() {
+        // Given
+        List<ProductDTO.Response> candidates = new ArrayList<>(List.of(response(1L, 5, 10), response(2L, 3, 10)));
+        when(productQueryRepository.findNeedingRestock()).thenReturn(candidates);
+        when(inventoryEngine.manages(1L)).thenReturn(true);
+        when(inventoryEngine.stockOf(1L)).thenReturn(40);
+        when(inventoryEngine.manages(2L)).thenReturn(false);
+
+        // When
+        List<ProductDTO.Response> result = catalogQueryService.getProductsNeedingRestock();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si el producto no existe")
+    void shouldThrowWhenProductNotFound() {
+        // Given
+        when(productQueryRepository.findByCode("NOPE")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> catalogQueryService.getProductByCode("NOPE"));
+    }
+}
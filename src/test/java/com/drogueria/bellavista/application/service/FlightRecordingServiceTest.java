@@ -0,0 +1,83 @@
+package com.drogueria.bellavista.application.service;
+
+import com.drogueria.bellavista.application.dto.RecordingStatusDTO;
+import com.drogueria.bellavista.domain.service.PipelineStageEvent;
+import com.drogueria.bellavista.exception.BusinessException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para FlightRecordingService
+ */
+@DisplayName("FlightRecordingService Tests")
+class FlightRecordingServiceTest {
+
+    private FlightRecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecordingService();
+        ReflectionTestUtils.setField(service, "settings", "default");
+        ReflectionTestUtils.setField(service, "maxAgeMinutes", 5L);
+        ReflectionTestUtils.setField(service, "maxSizeMb", 20L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if ("RUNNING".equals(service.status().getState())) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe grabar las etapas de los casos de uso y permitir descargarlas")
+    void shouldRecordPipelineStagesAndDump() throws Exception {
+        // Given
+        assertEquals("NONE", service.status().getState());
+        service.start();
+
+        // When
+        PipelineStageEvent.start(PipelineStageEvent.ORDER, "persist").finish();
+        RecordingStatusDTO stopped = service.stop();
+        Path file = service.dump();
+
+        // Then
+        assertEquals("STOPPED", stopped.getState());
+        List<RecordedEvent> stages = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("bellavista.PipelineStage"))
+                .toList();
+        assertEquals(1, stages.size());
+        assertEquals(PipelineStageEvent.ORDER, stages.get(0).getString("pipeline"));
+        assertEquals("persist", stages.get(0).getString("stage"));
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una segunda grabación simultánea")
+    void shouldRejectSecondRecording() {
+        // Given
+        service.start();
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> service.start());
+        assertTrue(exception.getMessage().contains("en curso"));
+    }
+
+    @Test
+    @DisplayName("Debe fallar al detener o descargar sin grabación")
+    void shouldFailWithoutRecording() {
+        assertThrows(BusinessException.class, () -> service.stop());
+        assertThrows(BusinessException.class, () -> service.dump());
+    }
+}
@@ -0,0 +1,35 @@
+package com.drogueria.bellavista.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para GlobalExceptionHandler
+ */
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Un conflicto de concurrencia que agotó los reintentos responde 409")
+    void shouldMapConcurrencyFailureToConflict() {
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> optimistic =
+                handler.handleConcurrencyFailure(new OptimisticLockingFailureException("version vencida"));
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> lock =
+                handler.handleConcurrencyFailure(new CannotAcquireLockException("lock not available"));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, optimistic.getStatusCode());
+        assertEquals(409, optimistic.getBody().getStatus());
+        assertEquals("Concurrent Modification", optimistic.getBody().getError());
+        assertEquals(HttpStatus.CONFLICT, lock.getStatusCode());
+    }
+}
@@ -0,0 +1,23 @@
+package com.drogueria.bellavista.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede ejecutar cada test.
+ * En la clase aplica a todos sus tests; en un método lo reemplaza para ese test.
+ * Un N+1 en un adaptador hace crecer la cuenta con los datos y rompe el presupuesto.
+ * Cada test fija la cuenta medida contra Postgres (incluye su @BeforeEach): un máximo
+ * holgado compartido por la clase no detecta una consulta de más.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int max();
+}
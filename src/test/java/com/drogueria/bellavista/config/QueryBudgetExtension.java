@@ -0,0 +1,42 @@
+package com.drogueria.bellavista.config;
+
+import com.drogueria.bellavista.infrastructure.jdbc.SqlStatementCounter;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Extensión JUnit de {@link QueryBudget}
+ * Compara el total de sentencias del contador de la aplicación antes y después
+ * de cada test. El servidor atiende las peticiones en otros hilos, por eso se
+ * mide el total global y no un alcance por hilo.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+    private static final String START = "start";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, counter(context).total());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow();
+        long executed = counter(context).total() - context.getStore(NAMESPACE).get(START, Long.class);
+        if (executed > budget.max()) {
+            throw new AssertionError(context.getDisplayName() + " ejecutó " + executed
+                    + " sentencias SQL; presupuesto: " + budget.max());
+        }
+    }
+
+    private static SqlStatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementCounter.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.drogueria.bellavista.config;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test configuration for tracing assertions.
+ * Registers an in-memory span exporter in place of OTLP; tests must also
+ * enable tracing with @AutoConfigureObservability.
+ */
+@TestConfiguration
+public class TestTracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+
+    /**
+     * Flush the batch processor and return every finished span so far.
+     */
+    public static List<SpanData> finishedSpans(SdkTracerProvider tracerProvider, InMemorySpanExporter exporter) {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return exporter.getFinishedSpanItems();
+    }
+}
@@ -0,0 +1,68 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.repository.CollectionVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CollectionVersionService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CollectionVersionService Tests")
+class CollectionVersionServiceTest {
+
+    @Mock
+    private CollectionVersionRepository collectionVersionRepository;
+
+    @InjectMocks
+    private CollectionVersionService collectionVersionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(collectionVersionService, "versionCacheMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("Debe recordar la última versión leída sin volver a consultar la base de datos")
+    void shouldRememberLastReadVersion() {
+        // Given
+        when(collectionVersionRepository.currentVersion(CollectionVersionService.PRODUCTS)).thenReturn(7L);
+
+        // When
+        OptionalLong beforeRead = collectionVersionService.recentVersion(CollectionVersionService.PRODUCTS);
+        long current = collectionVersionService.currentVersion(CollectionVersionService.PRODUCTS);
+        OptionalLong afterRead = collectionVersionService.recentVersion(CollectionVersionService.PRODUCTS);
+
+        // Then
+        assertTrue(beforeRead.isEmpty());
+        assertEquals(7L, current);
+        assertEquals(OptionalLong.of(7L), afterRead);
+        verify(collectionVersionRepository, times(1)).currentVersion(CollectionVersionService.PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("Una versión leída hace más de version-cache-ms ya no se usa")
+    void shouldExpireRecentVersion() {
+        // Given
+        ReflectionTestUtils.setField(collectionVersionService, "versionCacheMs", 0L);
+        when(collectionVersionRepository.currentVersion(CollectionVersionService.CUSTOMERS)).thenReturn(3L);
+        collectionVersionService.currentVersion(CollectionVersionService.CUSTOMERS);
+
+        // When
+        OptionalLong recent = collectionVersionService.recentVersion(CollectionVersionService.CUSTOMERS);
+
+        // Then
+        assertTrue(recent.isEmpty());
+    }
+}
@@ -0,0 +1,106 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.repository.DocumentSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para DocumentNumberService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DocumentNumberService Tests")
+class DocumentNumberServiceTest {
+
+    @Mock
+    private DocumentSequenceRepository documentSequenceRepository;
+
+    @InjectMocks
+    private DocumentNumberService documentNumberService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(documentNumberService, "blockSize", 2);
+    }
+
+    @Test
+    @DisplayName("Debe entregar números del bloque reservado y reservar otro al agotarse")
+    void shouldServeNumbersFromReservedBlocks() {
+        // Given
+        when(documentSequenceRepository.allocateBlock("ORD", 2)).thenReturn(41L, 97L);
+
+        // When / Then
+        assertEquals("ORD-00000041", documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX));
+        assertEquals("ORD-00000042", documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX));
+        assertEquals("ORD-00000097", documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX));
+        verify(documentSequenceRepository, times(2)).allocateBlock("ORD", 2);
+    }
+
+    @Test
+    @DisplayName("Debe llevar una secuencia independiente por prefijo")
+    void shouldKeepIndependentSequencePerPrefix() {
+        // Given
+        when(documentSequenceRepository.allocateBlock("ORD", 2)).thenReturn(1L);
+        when(documentSequenceRepository.allocateBlock("GR", 2)).thenReturn(1L);
+
+        // When
+        String order = documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX);
+        String receipt = documentNumberService.nextNumber(DocumentNumberService.GOODS_RECEIPT_PREFIX);
+
+        // Then
+        assertEquals("ORD-00000001", order);
+        assertEquals("GR-00000001", receipt);
+    }
+
+    @Test
+    @DisplayName("No debe truncar números con más dígitos que el relleno")
+    void shouldNotTruncateLongNumbers() {
+        // Given
+        when(documentSequenceRepository.allocateBlock("GR", 2)).thenReturn(123456789L);
+
+        // When
+        String receipt = documentNumberService.nextNumber(DocumentNumberService.GOODS_RECEIPT_PREFIX);
+
+        // Then
+        assertEquals("GR-123456789", receipt);
+    }
+
+    @Test
+    @DisplayName("No debe retener a otros hilos mientras reserva un bloque")
+    void shouldNotHoldMonitorWhileAllocating() throws Exception {
+        // Given - la primera reserva queda detenida en la base
+        CountDownLatch firstAllocationStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstAllocation = new CountDownLatch(1);
+        when(documentSequenceRepository.allocateBlock("ORD", 2))
+                .thenAnswer(invocation -> {
+                    firstAllocationStarted.countDown();
+                    assertTrue(releaseFirstAllocation.await(5, TimeUnit.SECONDS));
+                    return 1L;
+                })
+                .thenReturn(100L);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(
+                () -> documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX));
+        assertTrue(firstAllocationStarted.await(5, TimeUnit.SECONDS));
+
+        // When - otro hilo pide número mientras la primera reserva sigue pendiente
+        String fast = documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX);
+        releaseFirstAllocation.countDown();
+
+        // Then - el bloque reservado tarde queda por detrás del instalado y se descarta
+        assertEquals("ORD-00000100", fast);
+        assertEquals("ORD-00000101", slow.get(5, TimeUnit.SECONDS));
+        verify(documentSequenceRepository, times(2)).allocateBlock("ORD", 2);
+    }
+}
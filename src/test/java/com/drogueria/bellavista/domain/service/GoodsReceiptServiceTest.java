@@ -4,6 +4,7 @@ import com.drogueria.bellavista.domain.model.GoodsReceipt;
 import com.drogueria.bellavista.domain.model.GoodsReceiptItem;
 import com.drogueria.bellavista.domain.model.Order;
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
 import com.drogueria.bellavista.domain.repository.GoodsReceiptRepository;
 import com.drogueria.bellavista.exception.BusinessException;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
@@ -12,13 +13,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -36,6 +42,9 @@ class GoodsReceiptServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private DocumentNumberService documentNumberService;
+
     @InjectMocks
     private GoodsReceiptService goodsReceiptService;
 
@@ -80,22 +89,23 @@ class GoodsReceiptServiceTest {
                 .build();
 
         when(orderService.getOrderById(sampleOrder.getId())).thenReturn(sampleOrder);
-        when(goodsReceiptRepository.findByOrderId(sampleOrder.getId())).thenReturn(Collections.emptyList());
+        when(goodsReceiptRepository.existsByOrderIdAndStatus(sampleOrder.getId(), "RECEIVED")).thenReturn(false);
         when(productService.getProductById(sampleProduct.getId())).thenReturn(sampleProduct);
         when(goodsReceiptRepository.save(any())).thenAnswer(inv -> {
             GoodsReceipt g = (GoodsReceipt) inv.getArgument(0);
             g.setId(1L);
             return g;
         });
-        when(goodsReceiptRepository.existsByReceiptNumber(anyString())).thenReturn(false);
+        when(documentNumberService.nextNumber(DocumentNumberService.GOODS_RECEIPT_PREFIX)).thenReturn("GR-00000001");
 
         GoodsReceipt created = goodsReceiptService.createGoodsReceipt(receipt);
 
         assertThat(created).isNotNull();
         assertThat(created.getId()).isEqualTo(1L);
         assertThat(created.getStatus()).isEqualTo("PENDING");
-        assertThat(created.getReceiptNumber()).isNotNull();
+        assertThat(created.getReceiptNumber()).isEqualTo("GR-00000001");
         verify(goodsReceiptRepository).save(receiptCaptor.capture());
+        verify(goodsReceiptRepository, never()).existsByReceiptNumber(anyString());
     }
 
     @Test
@@ -118,6 +128,7 @@ class GoodsReceiptServiceTest {
 
         GoodsReceipt receipt = GoodsReceipt.builder()
                 .id(99L)
+                .receiptNumber("GR-99")
                 .status("PENDING")
                 .items(Collections.singletonList(item))
                 .build();
@@ -127,11 +138,66 @@ class GoodsReceiptServiceTest {
 
         GoodsReceipt result = goodsReceiptService.receiveGoodsReceipt(99L);
 
-        verify(productService).increaseStockInternal(sampleProduct.getId(), item.getReceivedQuantity());
+        verify(productService).increaseStockInternal(sampleProduct.getId(), item.getReceivedQuantity(),
+                StockMovement.TYPE_GOODS_RECEIPT, "GR-99");
         verify(goodsReceiptRepository).save(any());
         assertThat(result.getStatus()).isIn("RECEIVED", "PARTIALLY_RECEIVED");
     }
 
+    @Test
+    void receiveGoodsReceipts_aggregatesStockPerProductInIdOrder() {
+        GoodsReceipt first = GoodsReceipt.builder()
+                .id(1L)
+                .receiptNumber("GR-1")
+                .status("PENDING")
+                .items(Arrays.asList(
+                        GoodsReceiptItem.builder().productId(200L).orderedQuantity(4).receivedQuantity(4).build(),
+                        GoodsReceiptItem.builder().productId(100L).orderedQuantity(3).receivedQuantity(3).build()))
+                .build();
+        GoodsReceipt second = GoodsReceipt.builder()
+                .id(2L)
+                .receiptNumber("GR-2")
+                .status("PENDING")
+                .items(Collections.singletonList(
+                        GoodsReceiptItem.builder().productId(100L).orderedQuantity(7).receivedQuantity(7).build()))
+                .build();
+
+        when(goodsReceiptRepository.findAllById(Set.of(1L, 2L))).thenReturn(Arrays.asList(second, first));
+        when(goodsReceiptRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<GoodsReceipt> result = goodsReceiptService.receiveGoodsReceipts(Arrays.asList(1L, 2L, 1L));
+
+        InOrder inOrder = inOrder(productService);
+        inOrder.verify(productService).increaseStockInternal(100L, Map.of("GR-1", 3, "GR-2", 7),
+                StockMovement.TYPE_GOODS_RECEIPT);
+        inOrder.verify(productService).increaseStockInternal(200L, Map.of("GR-1", 4),
+                StockMovement.TYPE_GOODS_RECEIPT);
+        verifyNoMoreInteractions(productService);
+        verify(goodsReceiptRepository, never()).findById(any());
+        verify(goodsReceiptRepository, times(2)).save(any());
+        assertThat(result).extracting(GoodsReceipt::getStatus).containsOnly("RECEIVED");
+    }
+
+    @Test
+    void receiveGoodsReceipts_withInvalidReceipt_appliesNothing() {
+        GoodsReceipt pending = GoodsReceipt.builder()
+                .id(1L)
+                .status("PENDING")
+                .items(Collections.singletonList(
+                        GoodsReceiptItem.builder().productId(100L).orderedQuantity(2).receivedQuantity(2).build()))
+                .build();
+        GoodsReceipt rejected = GoodsReceipt.builder().id(2L).status("REJECTED").build();
+
+        when(goodsReceiptRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(Arrays.asList(pending, rejected));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> goodsReceiptService.receiveGoodsReceipts(Arrays.asList(1L, 2L, 3L)));
+
+        assertThat(ex.getMessage()).contains("2: status REJECTED").contains("3: not found");
+        verifyNoInteractions(productService);
+        verify(goodsReceiptRepository, never()).save(any());
+    }
+
     @Test
     void rejectGoodsReceipt_whenReceived_throws() {
         GoodsReceipt receipt = GoodsReceipt.builder().id(50L).status("RECEIVED").build();
@@ -4,6 +4,8 @@ import com.drogueria.bellavista.domain.model.Customer;
 import com.drogueria.bellavista.domain.model.OrderItem;
 import com.drogueria.bellavista.domain.model.Product;
 import com.drogueria.bellavista.domain.model.Order;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.repository.OrderDocumentRepository;
 import com.drogueria.bellavista.domain.repository.OrderRepository;
 import com.drogueria.bellavista.exception.BusinessException;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
@@ -38,8 +40,10 @@ class OrderServiceTest {
     private static final Logger log = LoggerFactory.getLogger(OrderServiceTest.class);
 
     @Mock private OrderRepository orderRepository;
+    @Mock private OrderDocumentRepository orderDocumentRepository;
     @Mock private CustomerService customerService;
     @Mock private ProductService productService;
+    @Mock private DocumentNumberService documentNumberService;
 
     @InjectMocks private OrderService orderService;
 
@@ -92,13 +96,16 @@ class OrderServiceTest {
 
         when(customerService.getCustomerById(1L)).thenReturn(customer);
         when(productService.getProductById(10L)).thenReturn(product);
+        when(documentNumberService.nextNumber(DocumentNumberService.ORDER_PREFIX)).thenReturn("ORD-00000001");
         when(orderRepository.save(any())).thenReturn(order);
 
         Order result = orderService.createOrder(order);
 
         assertNotNull(result);
+        assertEquals("ORD-00000001", order.getOrderNumber());
+        verify(orderDocumentRepository).save(order);
         verify(orderRepository).save(any());
-        verify(productService).reduceStockInternal(10L, 2);
+        verify(productService).reduceStockInternal(eq(10L), eq(2), eq(StockMovement.TYPE_ORDER), any());
         verify(customerService).increasePendingBalance(eq(1L), any());
 
         log.info("✅ Orden creada correctamente");
@@ -183,10 +190,36 @@ class OrderServiceTest {
 
         assertEquals("COMPLETED", result.getStatus());
         verify(orderRepository).save(order);
+        verify(orderDocumentRepository).save(order);
 
         log.info("✅ Orden completada correctamente");
     }
 
+    @Test
+    @DisplayName("Debe devolver el historial del cliente desde los documentos de lectura")
+    void shouldReturnCustomerHistoryFromDocuments() {
+        when(orderDocumentRepository.findByCustomerId(1L)).thenReturn(List.of("{\"id\":2}", "{\"id\":1}"));
+        when(orderRepository.countByCustomerId(1L)).thenReturn(2L);
+
+        Optional<List<String>> result = orderService.getOrderDocumentsByCustomerId(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().size());
+        verify(customerService).validateCustomerExists(1L);
+        verify(orderRepository, never()).findByCustomerId(any());
+    }
+
+    @Test
+    @DisplayName("No debe devolver documentos si alguna orden del cliente aún no tiene documento")
+    void shouldNotReturnCustomerHistoryWhileBackfillIsPending() {
+        when(orderDocumentRepository.findByCustomerId(1L)).thenReturn(List.of("{\"id\":2}"));
+        when(orderRepository.countByCustomerId(1L)).thenReturn(2L);
+
+        Optional<List<String>> result = orderService.getOrderDocumentsByCustomerId(1L);
+
+        assertTrue(result.isEmpty());
+    }
+
     // =============================
     // CANCEL ORDER
     // =============================
@@ -206,8 +239,9 @@ class OrderServiceTest {
 
         assertEquals("CANCELLED", result.getStatus());
 
-        verify(productService).increaseStockInternal(10L, 2);
+        verify(productService).increaseStockInternal(eq(10L), eq(2), eq(StockMovement.TYPE_ORDER_CANCELLATION), any());
         verify(customerService).reducePendingBalance(1L, new BigDecimal("200"));
+        verify(orderDocumentRepository).save(any(Order.class));
 
         log.info("✅ Orden cancelada y revertida correctamente");
     }
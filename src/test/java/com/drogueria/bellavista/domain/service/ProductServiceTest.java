@@ -1,7 +1,10 @@
 package com.drogueria.bellavista.domain.service;
 
 import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
 import com.drogueria.bellavista.domain.repository.ProductRepository;
+import com.drogueria.bellavista.domain.repository.StockSlotRepository;
 import com.drogueria.bellavista.exception.BusinessException;
 import com.drogueria.bellavista.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +18,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +40,15 @@ class ProductServiceTest {
     
     @Mock
     private ProductRepository productRepository;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private StockSlotRepository stockSlotRepository;
+
+    @Mock
+    private InventoryEngine inventoryEngine;
     
     @InjectMocks
     private ProductService productService;
@@ -93,6 +107,7 @@ class ProductServiceTest {
         assertTrue(exception.getMessage().contains("Ya existe un producto"));
         verify(productRepository).existsByCode("MED001");
         verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(stockLedgerService);
     }
     
     @Test
@@ -142,6 +157,7 @@ class ProductServiceTest {
         assertEquals(90, updatedProduct.getStock());
         verify(productRepository).findById(1L);
         verify(productRepository).save(any(Product.class));
+        verify(stockLedgerService).record(updatedProduct, -10, StockMovement.TYPE_ADJUSTMENT, null);
     }
     
     @Test
@@ -177,6 +193,26 @@ class ProductServiceTest {
         verify(productRepository).save(any(Product.class));
     }
     
+    @Test
+    @DisplayName("Debe aumentar stock una vez y registrar un movimiento por documento de origen")
+    void shouldIncreaseStockOnceWithMovementPerReference() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+        Map<String, Integer> quantityByReference = new LinkedHashMap<>();
+        quantityByReference.put("GR-1", 3);
+        quantityByReference.put("GR-2", 7);
+        
+        // When
+        productService.increaseStockInternal(1L, quantityByReference, StockMovement.TYPE_GOODS_RECEIPT);
+        
+        // Then
+        assertEquals(110, sampleProduct.getStock());
+        verify(productRepository, times(1)).save(any(Product.class));
+        verify(stockLedgerService).record(sampleProduct, 3, StockMovement.TYPE_GOODS_RECEIPT, "GR-1");
+        verify(stockLedgerService).record(sampleProduct, 7, StockMovement.TYPE_GOODS_RECEIPT, "GR-2");
+    }
+    
     @Test
     @DisplayName("Debe obtener todos los productos activos")
     void shouldGetAllActiveProducts() {
@@ -273,14 +309,133 @@ class ProductServiceTest {
     @DisplayName("Debe eliminar producto exitosamente")
     void shouldDeleteProductSuccessfully() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(productRepository.findStockSlotsById(1L)).thenReturn(Optional.of(1));
         doNothing().when(productRepository).deleteById(1L);
         
         // When
         productService.deleteProduct(1L);
         
         // Then
-        verify(productRepository).findById(1L);
+        verify(productRepository).findStockSlotsById(1L);
+        verify(productRepository, never()).findById(1L);
         verify(productRepository).deleteById(1L);
     }
+    
+    @Test
+    @DisplayName("Debe descontar stock de las particiones sin escribir la fila del producto")
+    void shouldReduceShardedStockWithoutSavingProduct() {
+        // Given
+        sampleProduct.setStockSlots(4);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(stockSlotRepository.tryDecrement(1L, 4, 10)).thenReturn(true);
+        when(stockSlotRepository.sumQuantity(1L)).thenReturn(90);
+        
+        // When
+        Product updatedProduct = productService.reduceStock(1L, 10);
+        
+        // Then
+        assertEquals(90, updatedProduct.getStock());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(stockLedgerService).record(updatedProduct, -10, StockMovement.TYPE_ADJUSTMENT, null);
+    }
+    
+    @Test
+    @DisplayName("No debe descontar stock particionado si la suma no alcanza")
+    void shouldNotReduceShardedStockIfInsufficient() {
+        // Given
+        sampleProduct.setStockSlots(4);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(stockSlotRepository.tryDecrement(1L, 4, 150)).thenReturn(false);
+        
+        // When & Then
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> productService.reduceStock(1L, 150)
+        );
+        
+        assertTrue(exception.getMessage().contains("Stock insuficiente"));
+        verifyNoInteractions(stockLedgerService);
+    }
+    
+    @Test
+    @DisplayName("Debe repartir el stock al activar las particiones")
+    void shouldEnableStockSharding() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Product updatedProduct = productService.enableStockSharding(1L, 8);
+        
+        // Then
+        assertEquals(8, updatedProduct.getStockSlots());
+        assertTrue(updatedProduct.isStockSharded());
+        verify(stockSlotRepository).resetSlots(1L, 8, 100);
+    }
+    
+    @Test
+    @DisplayName("Debe devolver el stock a la fila del producto al desactivar las particiones")
+    void shouldDisableStockSharding() {
+        // Given
+        sampleProduct.setStockSlots(8);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(stockSlotRepository.collapseSlots(1L)).thenReturn(75);
+        when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Product updatedProduct = productService.disableStockSharding(1L);
+        
+        // Then
+        assertEquals(75, updatedProduct.getStock());
+        assertFalse(updatedProduct.isStockSharded());
+    }
+    
+    @Test
+    @DisplayName("Debe reservar stock en el motor de inventario sin escribir la fila del producto")
+    void shouldReduceStockInInventoryEngine() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(inventoryEngine.manages(1L)).thenReturn(true);
+        when(inventoryEngine.tryReserve(1L, 10)).thenReturn(true);
+        when(inventoryEngine.stockOf(1L)).thenReturn(90);
+        
+        // When
+        Product updatedProduct = productService.reduceStock(1L, 10);
+        
+        // Then
+        assertEquals(90, updatedProduct.getStock());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(stockLedgerService).record(updatedProduct, -10, StockMovement.TYPE_ADJUSTMENT, null);
+    }
+    
+    @Test
+    @DisplayName("No debe reservar en el motor de inventario si el stock no alcanza")
+    void shouldNotReduceStockInInventoryEngineIfInsufficient() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(inventoryEngine.manages(1L)).thenReturn(true);
+        when(inventoryEngine.tryReserve(1L, 150)).thenReturn(false);
+        
+        // When & Then
+        assertThrows(BusinessException.class, () -> productService.reduceStock(1L, 150));
+        verifyNoInteractions(stockLedgerService);
+    }
+    
+    @Test
+    @DisplayName("Debe guardar sin tocar el stock si lo gestiona el motor de inventario")
+    void shouldSaveKeepingStockWhenManagedByInventoryEngine() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+        when(inventoryEngine.manages(1L)).thenReturn(true);
+        when(inventoryEngine.stockOf(1L)).thenReturn(42);
+        when(productRepository.saveKeepingStock(any(Product.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Product updatedProduct = productService.toggleProductStatus(1L);
+        
+        // Then
+        assertEquals(42, updatedProduct.getStock());
+        verify(productRepository).saveKeepingStock(any(Product.class));
+        verify(productRepository, never()).save(any(Product.class));
+    }
 }
@@ -0,0 +1,192 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.StockMovement;
+import com.drogueria.bellavista.domain.model.StockSnapshot;
+import com.drogueria.bellavista.domain.repository.StockMovementRepository;
+import com.drogueria.bellavista.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para StockLedgerService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLedgerService Tests")
+class StockLedgerServiceTest {
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @InjectMocks
+    private StockLedgerService stockLedgerService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockLedgerService, "snapshotInterval", 3);
+        ReflectionTestUtils.setField(stockLedgerService, "snapshotSettleMs", 60_000L);
+        ReflectionTestUtils.setField(stockLedgerService, "maxMovements", 500);
+        product = Product.builder().id(1L).code("MED001").stock(90).build();
+    }
+
+    @Test
+    @DisplayName("Registrar un movimiento no debe consultar fotos ni contar movimientos en la base")
+    void shouldRecordWithSingleInsert() {
+        // Given
+        stubSave();
+
+        // When
+        stockLedgerService.record(product, -10, StockMovement.TYPE_ORDER, "ORD-1");
+
+        // Then
+        verify(stockMovementRepository).save(any(StockMovement.class));
+        verifyNoMoreInteractions(stockMovementRepository);
+    }
+
+    @Test
+    @DisplayName("Debe pedir una sola foto al completar el intervalo de movimientos")
+    void shouldRequestSnapshotWhenIntervalReached() {
+        // Given
+        stubSave();
+        ReflectionTestUtils.setField(stockLedgerService, "snapshotSettleMs", 0L);
+
+        // When
+        stockLedgerService.record(product, -1, StockMovement.TYPE_ORDER, "ORD-1");
+        stockLedgerService.record(product, -1, StockMovement.TYPE_ORDER, "ORD-2");
+        Map<Long, LocalDateTime> beforeInterval = stockLedgerService.takeDueSnapshots();
+        stockLedgerService.record(product, -1, StockMovement.TYPE_ORDER, "ORD-3");
+        Map<Long, LocalDateTime> afterInterval = stockLedgerService.takeDueSnapshots();
+
+        // Then
+        assertTrue(beforeInterval.isEmpty());
+        assertEquals(1, afterInterval.size());
+        assertTrue(afterInterval.containsKey(1L));
+        assertTrue(stockLedgerService.takeDueSnapshots().isEmpty());
+    }
+
+    @Test
+    @DisplayName("No debe entregar una foto hasta que sus movimientos estén confirmados")
+    void shouldWaitSettleBeforeSnapshot() {
+        // Given
+        stubSave();
+        for (int i = 0; i < 3; i++) {
+            stockLedgerService.record(product, -1, StockMovement.TYPE_ORDER, "ORD-" + i);
+        }
+
+        // When
+        Map<Long, LocalDateTime> due = stockLedgerService.takeDueSnapshots();
+
+        // Then
+        assertTrue(due.isEmpty());
+    }
+
+    @Test
+    @DisplayName("La foto debe sumar el libro desde la foto anterior, no el stock del producto")
+    void shouldTakeSnapshotFromLedgerSum() {
+        // Given
+        LocalDateTime upTo = LocalDateTime.of(2024, 1, 31, 12, 0);
+        LocalDateTime lastCreatedAt = LocalDateTime.of(2024, 1, 31, 12, 0, 1);
+        StockSnapshot previous = StockSnapshot.builder().productId(1L).quantity(80).lastMovementId(40L).build();
+        when(stockMovementRepository.findLatestSnapshot(1L)).thenReturn(Optional.of(previous));
+        when(stockMovementRepository.findLastMovementIdUpTo(1L, 40L, upTo)).thenReturn(Optional.of(60L));
+        when(stockMovementRepository.sumQuantityBetween(1L, 40L, 60L)).thenReturn(-15);
+        when(stockMovementRepository.findLatestCreatedAtBetween(1L, 40L, 60L)).thenReturn(lastCreatedAt);
+
+        // When
+        stockLedgerService.takeSnapshot(1L, upTo);
+
+        // Then
+        ArgumentCaptor<StockSnapshot> captor = ArgumentCaptor.forClass(StockSnapshot.class);
+        verify(stockMovementRepository).saveSnapshot(captor.capture());
+        assertEquals(65, captor.getValue().getQuantity());
+        assertEquals(60L, captor.getValue().getLastMovementId());
+        assertEquals(lastCreatedAt, captor.getValue().getTakenAt());
+    }
+
+    @Test
+    @DisplayName("No debe registrar movimientos de cantidad cero")
+    void shouldIgnoreZeroQuantity() {
+        stockLedgerService.record(product, 0, StockMovement.TYPE_ADJUSTMENT, null);
+
+        verifyNoInteractions(stockMovementRepository);
+    }
+
+    @Test
+    @DisplayName("Debe calcular stock a una fecha desde la foto más cercana")
+    void shouldComputeStockAsOf() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2024, 1, 31, 23, 59);
+        StockSnapshot snapshot = StockSnapshot.builder().productId(1L).quantity(80).lastMovementId(40L).build();
+        when(stockMovementRepository.findLatestSnapshotAtOrBefore(1L, at)).thenReturn(Optional.of(snapshot));
+        when(stockMovementRepository.sumQuantityAfter(1L, 40L, at)).thenReturn(-7);
+
+        // When
+        int stock = stockLedgerService.getStockAsOf(1L, at);
+
+        // Then
+        assertEquals(73, stock);
+    }
+
+    @Test
+    @DisplayName("Sin foto previa debe sumar todos los movimientos hasta la fecha")
+    void shouldComputeStockAsOfWithoutSnapshot() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2024, 1, 31, 23, 59);
+        when(stockMovementRepository.findLatestSnapshotAtOrBefore(1L, at)).thenReturn(Optional.empty());
+        when(stockMovementRepository.hasMovementsUpTo(1L, at)).thenReturn(true);
+        when(stockMovementRepository.sumQuantityAfter(1L, 0L, at)).thenReturn(42);
+
+        // When
+        int stock = stockLedgerService.getStockAsOf(1L, at);
+
+        // Then
+        assertEquals(42, stock);
+    }
+
+    @Test
+    @DisplayName("Debe fallar si no hay historial a la fecha")
+    void shouldFailWithoutHistory() {
+        LocalDateTime at = LocalDateTime.of(2020, 1, 1, 0, 0);
+        when(stockMovementRepository.findLatestSnapshotAtOrBefore(1L, at)).thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> stockLedgerService.getStockAsOf(1L, at));
+    }
+
+    @Test
+    @DisplayName("Debe acotar el límite de movimientos recientes al máximo configurado")
+    void shouldClampRecentMovementsLimit() {
+        // When
+        stockLedgerService.getRecentMovements(1L, 1_000_000);
+
+        // Then
+        verify(stockMovementRepository).findRecentByProductId(1L, 500);
+    }
+
+    private void stubSave() {
+        AtomicLong ids = new AtomicLong(50);
+        when(stockMovementRepository.save(any(StockMovement.class)))
+            .thenAnswer(inv -> {
+                StockMovement m = inv.getArgument(0);
+                m.setId(ids.incrementAndGet());
+                return m;
+            });
+    }
+}
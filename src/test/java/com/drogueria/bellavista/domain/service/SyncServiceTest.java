@@ -0,0 +1,136 @@
+package com.drogueria.bellavista.domain.service;
+
+import com.drogueria.bellavista.domain.model.Customer;
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.SyncChangeSet;
+import com.drogueria.bellavista.domain.model.SyncTombstone;
+import com.drogueria.bellavista.domain.repository.CustomerRepository;
+import com.drogueria.bellavista.domain.repository.ProductRepository;
+import com.drogueria.bellavista.domain.repository.SupplierRepository;
+import com.drogueria.bellavista.domain.repository.SyncTombstoneRepository;
+import com.drogueria.bellavista.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para SyncService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncService Tests")
+class SyncServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(syncService, "maxLimit", 1000);
+        lenient().when(productService.withCurrentStock(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Debe combinar cambios y eliminaciones en orden de secuencia")
+    void shouldMergeChangesBySequence() {
+        // Given
+        when(productRepository.findChangedSince(10L, 4)).thenReturn(List.of(product(11L), product(14L)));
+        when(customerRepository.findChangedSince(10L, 4)).thenReturn(List.of(customer(12L)));
+        when(supplierRepository.findChangedSince(10L, 4)).thenReturn(Collections.emptyList());
+        when(tombstoneRepository.findChangedSince(10L, 4)).thenReturn(List.of(tombstone(13L)));
+
+        // When
+        SyncChangeSet changes = syncService.getChangesSince(10L, 3);
+
+        // Then
+        assertEquals(1, changes.getProducts().size());
+        assertEquals(11L, changes.getProducts().get(0).getChangeSeq());
+        assertEquals(1, changes.getCustomers().size());
+        assertEquals(1, changes.getDeleted().size());
+        assertEquals(13L, changes.getNextSince());
+        assertTrue(changes.getHasMore());
+    }
+
+    @Test
+    @DisplayName("Debe devolver la misma secuencia si no hay cambios")
+    void shouldKeepSinceWhenNoChanges() {
+        // Given
+        when(productRepository.findChangedSince(5L, 501)).thenReturn(Collections.emptyList());
+        when(customerRepository.findChangedSince(5L, 501)).thenReturn(Collections.emptyList());
+        when(supplierRepository.findChangedSince(5L, 501)).thenReturn(Collections.emptyList());
+        when(tombstoneRepository.findChangedSince(5L, 501)).thenReturn(Collections.emptyList());
+
+        // When
+        SyncChangeSet changes = syncService.getChangesSince(5L, 500);
+
+        // Then
+        assertEquals(5L, changes.getNextSince());
+        assertFalse(changes.getHasMore());
+    }
+
+    @Test
+    @DisplayName("Debe entregar los productos con su stock vigente")
+    void shouldServeCurrentStock() {
+        // Given - la fila tiene stock 10; las particiones suman 4
+        Product sharded = Product.builder().id(7L).changeSeq(21L).stock(10).stockSlots(4).build();
+        when(productRepository.findChangedSince(20L, 11)).thenReturn(List.of(sharded));
+        when(customerRepository.findChangedSince(20L, 11)).thenReturn(Collections.emptyList());
+        when(supplierRepository.findChangedSince(20L, 11)).thenReturn(Collections.emptyList());
+        when(tombstoneRepository.findChangedSince(20L, 11)).thenReturn(Collections.emptyList());
+        when(productService.withCurrentStock(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setStock(4));
+            return products;
+        });
+
+        // When
+        SyncChangeSet changes = syncService.getChangesSince(20L, 10);
+
+        // Then
+        assertEquals(4, changes.getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("No debe aceptar secuencia negativa")
+    void shouldRejectNegativeSince() {
+        assertThrows(BusinessException.class, () -> syncService.getChangesSince(-1L, 100));
+        verifyNoInteractions(productRepository);
+    }
+
+    private Product product(Long seq) {
+        return Product.builder().id(seq).changeSeq(seq).build();
+    }
+
+    private Customer customer(Long seq) {
+        return Customer.builder().id(seq).changeSeq(seq).build();
+    }
+
+    private SyncTombstone tombstone(Long seq) {
+        return SyncTombstone.builder().changeSeq(seq).entityType(SyncTombstone.PRODUCT).entityId(99L).build();
+    }
+}
@@ -140,7 +140,7 @@ class UserServiceManagementTest {
         
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(adminUser, regularUser));
+        when(userRepository.countByRole(Role.ADMIN)).thenReturn(1L);
         
         // Act & Assert
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -167,7 +167,7 @@ class UserServiceManagementTest {
             .build();
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(adminUser, secondAdmin, regularUser));
+        when(userRepository.countByRole(Role.ADMIN)).thenReturn(2L);
         when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
         
         // Act
@@ -223,7 +223,7 @@ class UserServiceManagementTest {
         
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(adminUser, regularUser));
+        when(userRepository.countByRoleAndActive(Role.ADMIN, true)).thenReturn(1L);
         
         // Act & Assert
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -276,7 +276,7 @@ class UserServiceManagementTest {
         
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(adminUser));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(adminUser, regularUser));
+        when(userRepository.countByRole(Role.ADMIN)).thenReturn(1L);
         
         // Act & Assert
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -0,0 +1,57 @@
+package com.drogueria.bellavista.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para BusinessException y ResourceNotFoundException
+ */
+@DisplayName("BusinessException Tests")
+class BusinessExceptionTest {
+
+    @Test
+    @DisplayName("No debe capturar la pila")
+    void shouldNotCaptureStackTrace() {
+        // When
+        BusinessException business = new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+        ResourceNotFoundException notFound = new ResourceNotFoundException("Customer", "id", 9L);
+
+        // Then
+        assertEquals(0, business.getStackTrace().length);
+        assertEquals(0, notFound.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Debe componer el mensaje a partir del código y sus parámetros")
+    void shouldFormatMessageFromCode() {
+        // When
+        BusinessException exception = new BusinessException(ErrorCode.INSUFFICIENT_CREDIT,
+                new BigDecimal("1000000"), new BigDecimal("950000.50"), new BigDecimal("80000"));
+
+        // Then
+        assertEquals(ErrorCode.INSUFFICIENT_CREDIT, exception.getCode());
+        assertEquals(List.of(new BigDecimal("1000000"), new BigDecimal("950000.50"), new BigDecimal("80000")),
+                exception.getParams());
+        assertEquals("El cliente no tiene crédito suficiente. Límite: 1000000, Pendiente: 950000.50, "
+                + "Requerido: 80000", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Los mensajes libres deben conservarse con el código genérico")
+    void shouldKeepFreeTextMessages() {
+        // When
+        BusinessException business = new BusinessException("Ya existe un producto con el código: MED-001");
+        ResourceNotFoundException notFound = new ResourceNotFoundException("Usuario no encontrado");
+
+        // Then
+        assertEquals(ErrorCode.BUSINESS_RULE, business.getCode());
+        assertEquals("Ya existe un producto con el código: MED-001", business.getMessage());
+        assertEquals(ErrorCode.NOT_FOUND, notFound.getCode());
+        assertEquals("Usuario no encontrado", notFound.getMessage());
+    }
+}
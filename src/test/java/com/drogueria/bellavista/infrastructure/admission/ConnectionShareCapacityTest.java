@@ -0,0 +1,71 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ConnectionShareCapacity
+ */
+@DisplayName("ConnectionShareCapacity Tests")
+class ConnectionShareCapacityTest {
+
+    private final AtomicLong connectionNanos = new AtomicLong();
+    private final ConnectionShareCapacity capacity =
+            new ConnectionShareCapacity(() -> 5, connectionNanos::get, 50, 60_000);
+
+    @Test
+    @DisplayName("Debe admitir tantas peticiones como el pool sostiene según las conexiones que retienen")
+    void shouldSizeFromConnectionShare() {
+        // Given - 10 s de peticiones que retuvieron conexión 1 s en total (0,1 conexiones por petición)
+        capacity.record(TimeUnit.SECONDS.toNanos(10));
+        connectionNanos.set(TimeUnit.SECONDS.toNanos(1));
+
+        // When
+        capacity.recompute();
+
+        // Then
+        assertEquals(50, capacity.getAsInt());
+    }
+
+    @Test
+    @DisplayName("Peticiones que retienen la conexión todo el tiempo dejan la capacidad en el tamaño del pool")
+    void shouldNotGoBelowPoolSize() {
+        // Given - informes que retienen la conexión toda la petición
+        capacity.record(TimeUnit.SECONDS.toNanos(4));
+        connectionNanos.set(TimeUnit.SECONDS.toNanos(4));
+        capacity.recompute();
+        int fullHold = capacity.getAsInt();
+
+        // When - luego peticiones que la retienen la cuarta parte
+        capacity.record(TimeUnit.SECONDS.toNanos(8));
+        connectionNanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        capacity.recompute();
+
+        // Then
+        assertEquals(5, fullHold);
+        assertEquals(20, capacity.getAsInt());
+    }
+
+    @Test
+    @DisplayName("Sin tráfico suficiente o sin métricas del pool no debe cambiar a ciegas")
+    void shouldKeepCapacityWithoutSample() {
+        // Given
+        capacity.record(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // When
+        capacity.recompute();
+        int withoutSample = capacity.getAsInt();
+        connectionNanos.set(-1);
+        capacity.record(TimeUnit.SECONDS.toNanos(10));
+        capacity.recompute();
+
+        // Then
+        assertEquals(5, withoutSample);
+        assertEquals(5, capacity.getAsInt());
+    }
+}
@@ -0,0 +1,102 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PriorityAdmission
+ */
+@DisplayName("PriorityAdmission Tests")
+class PriorityAdmissionTest {
+
+    private PriorityAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        admission = new PriorityAdmission(() -> 3, 1)
+                .bulkhead(RequestClass.CHECKOUT, new PriorityAdmission.Bulkhead(3, 5, 2000))
+                .bulkhead(RequestClass.INTERACTIVE, new PriorityAdmission.Bulkhead(3, 5, 50))
+                .bulkhead(RequestClass.REPORT, new PriorityAdmission.Bulkhead(1, 1, 2000));
+    }
+
+    @Test
+    @DisplayName("Las clases no críticas no deben ocupar la capacidad reservada")
+    void shouldKeepReservedCapacityForCriticalClasses() throws InterruptedException {
+        // Given
+        assertTrue(admission.tryAcquire(RequestClass.INTERACTIVE));
+        assertTrue(admission.tryAcquire(RequestClass.INTERACTIVE));
+
+        // When
+        boolean interactive = admission.tryAcquire(RequestClass.INTERACTIVE);
+        boolean checkout = admission.tryAcquire(RequestClass.CHECKOUT);
+
+        // Then
+        assertFalse(interactive);
+        assertTrue(checkout);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar al instante cuando la cola de la clase está llena")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Given
+        assertTrue(admission.tryAcquire(RequestClass.REPORT));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> acquire(RequestClass.REPORT));
+        awaitWaiting(RequestClass.REPORT, 1);
+
+        // When
+        long start = System.nanoTime();
+        boolean rejected = !admission.tryAcquire(RequestClass.REPORT);
+
+        // Then
+        assertTrue(rejected);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        admission.release(RequestClass.REPORT);
+        assertTrue(queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Al liberarse una plaza debe entrar primero la clase de mayor prioridad")
+    void shouldAdmitHigherPriorityFirst() throws Exception {
+        // Given
+        assertTrue(admission.tryAcquire(RequestClass.CHECKOUT));
+        assertTrue(admission.tryAcquire(RequestClass.CHECKOUT));
+        assertTrue(admission.tryAcquire(RequestClass.CHECKOUT));
+        CompletableFuture<Boolean> report = CompletableFuture.supplyAsync(() -> acquire(RequestClass.REPORT));
+        awaitWaiting(RequestClass.REPORT, 1);
+        CompletableFuture<Boolean> checkout = CompletableFuture.supplyAsync(() -> acquire(RequestClass.CHECKOUT));
+        awaitWaiting(RequestClass.CHECKOUT, 1);
+
+        // When
+        admission.release(RequestClass.CHECKOUT);
+
+        // Then
+        assertTrue(checkout.get(2, TimeUnit.SECONDS));
+        assertFalse(report.isDone());
+        admission.release(RequestClass.CHECKOUT);
+        admission.release(RequestClass.CHECKOUT);
+        assertTrue(report.get(2, TimeUnit.SECONDS));
+    }
+
+    private boolean acquire(RequestClass requestClass) {
+        try {
+            return admission.tryAcquire(requestClass);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void awaitWaiting(RequestClass requestClass, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (admission.waiting(requestClass) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, admission.waiting(requestClass));
+    }
+}
@@ -0,0 +1,37 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RequestClassifier
+ */
+@DisplayName("RequestClassifier Tests")
+class RequestClassifierTest {
+
+    private final RequestClassifier classifier = new RequestClassifier()
+            .rules(RequestClass.REPORT, "GET /orders, GET /customers/status/morosos")
+            .rules(RequestClass.CHECKOUT, "POST /orders, PATCH /orders/*/complete")
+            .rules(RequestClass.AUTH, "/auth/**");
+
+    @Test
+    @DisplayName("Debe clasificar por método y ruta")
+    void shouldClassifyByMethodAndPath() {
+        // When / Then
+        assertEquals(RequestClass.CHECKOUT, classifier.classify("POST", "/orders"));
+        assertEquals(RequestClass.CHECKOUT, classifier.classify("PATCH", "/orders/7/complete"));
+        assertEquals(RequestClass.REPORT, classifier.classify("GET", "/orders"));
+        assertEquals(RequestClass.REPORT, classifier.classify("GET", "/customers/status/morosos"));
+        assertEquals(RequestClass.AUTH, classifier.classify("POST", "/auth/login"));
+    }
+
+    @Test
+    @DisplayName("Lo que no coincide con ninguna regla debe ser interactivo")
+    void shouldDefaultToInteractive() {
+        // When / Then
+        assertEquals(RequestClass.INTERACTIVE, classifier.classify("GET", "/orders/7"));
+        assertEquals(RequestClass.INTERACTIVE, classifier.classify("GET", "/products/search"));
+    }
+}
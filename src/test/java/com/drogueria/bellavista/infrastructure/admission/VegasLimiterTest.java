@@ -0,0 +1,110 @@
+package com.drogueria.bellavista.infrastructure.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para VegasLimiter
+ */
+@DisplayName("VegasLimiter Tests")
+class VegasLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Debe rechazar al instante por encima del límite")
+    void shouldRejectAboveLimit() {
+        // Given
+        VegasLimiter limiter = new VegasLimiter(2, 1, 10, 30);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // When
+        boolean third = limiter.tryAcquire();
+
+        // Then
+        assertFalse(third);
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debe subir el límite mientras la latencia se mantiene cerca de la mínima")
+    void shouldIncreaseLimitWithoutQueueing() {
+        // Given
+        VegasLimiter limiter = new VegasLimiter(10, 2, 50, 30);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, BASE_RTT, false);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() > 10, "límite " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Debe bajar el límite cuando la latencia revela cola")
+    void shouldDecreaseLimitWhenLatencyGrows() {
+        // Given
+        VegasLimiter limiter = new VegasLimiter(20, 2, 50, 30);
+        saturate(limiter, BASE_RTT, false);
+        int before = limiter.getLimit();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            saturate(limiter, BASE_RTT * 4, false);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Los fallos del servidor deben bajar el límite")
+    void shouldDecreaseLimitOnDrops() {
+        // Given
+        VegasLimiter limiter = new VegasLimiter(10, 2, 50, 30);
+        saturate(limiter, BASE_RTT, false);
+        int before = limiter.getLimit();
+
+        // When
+        saturate(limiter, BASE_RTT, true);
+
+        // Then
+        assertTrue(limiter.getLimit() < before);
+    }
+
+    @Test
+    @DisplayName("No debe subir el límite si la demanda no lo usa")
+    void shouldNotIncreaseWhenAppLimited() {
+        // Given
+        VegasLimiter limiter = new VegasLimiter(10, 2, 50, 30);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(BASE_RTT, false);
+        }
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Ocupar todas las plazas y liberarlas con la latencia dada
+     */
+    private static void saturate(VegasLimiter limiter, long rttNanos, boolean dropped) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, dropped);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.drogueria.bellavista.infrastructure.deadline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RequestDeadlineFilter
+ */
+@DisplayName("RequestDeadlineFilter Tests")
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(10000, 30000,
+            "GET /orders=20000, GET /customers/status/morosos=45000, POST /orders=8000");
+
+    @Test
+    @DisplayName("Debe usar el plazo del endpoint o el plazo por defecto")
+    void shouldUseEndpointOrDefaultTimeout() {
+        // When / Then
+        assertEquals(20000, filter.timeoutMs("GET", "/orders", null));
+        assertEquals(8000, filter.timeoutMs("POST", "/orders", null));
+        assertEquals(10000, filter.timeoutMs("GET", "/orders/5", null));
+    }
+
+    @Test
+    @DisplayName("No debe superar el plazo máximo")
+    void shouldCapAtMaxTimeout() {
+        // When / Then
+        assertEquals(30000, filter.timeoutMs("GET", "/customers/status/morosos", null));
+        assertEquals(30000, filter.timeoutMs("GET", "/orders", "120000"));
+    }
+
+    @Test
+    @DisplayName("La cabecera X-Request-Timeout válida debe sustituir al plazo del endpoint")
+    void shouldHonourRequestedTimeout() {
+        // When / Then
+        assertEquals(2500, filter.timeoutMs("GET", "/orders", "2500"));
+        assertEquals(20000, filter.timeoutMs("GET", "/orders", "abc"));
+        assertEquals(20000, filter.timeoutMs("GET", "/orders", "-1"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar definiciones de plazo mal formadas")
+    void shouldRejectMalformedDefinitions() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new RequestDeadlineFilter(10000, 30000, "/orders=5000"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AdaptivePoolSizer
+ */
+@DisplayName("AdaptivePoolSizer Tests")
+class AdaptivePoolSizerTest {
+
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        sizer = new AdaptivePoolSizer(null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sizer, "minSize", 5);
+        ReflectionTestUtils.setField(sizer, "maxSize", 8);
+        ReflectionTestUtils.setField(sizer, "targetWaitMs", 50.0);
+        ReflectionTestUtils.setField(sizer, "shrinkAfterIdleIntervals", 3);
+    }
+
+    @Test
+    @DisplayName("Debe crecer una conexión cuando hay hilos esperando o la espera supera el objetivo")
+    void shouldGrowWhenWaiting() {
+        // When / Then
+        assertEquals(6, sizer.targetSize(5, 5, 2, 0));
+        assertEquals(7, sizer.targetSize(6, 4, 0, 120));
+    }
+
+    @Test
+    @DisplayName("No debe superar el tamaño máximo configurado")
+    void shouldNotGrowBeyondMaxSize() {
+        // When / Then
+        assertEquals(8, sizer.targetSize(8, 8, 4, 300));
+    }
+
+    @Test
+    @DisplayName("Debe decrecer solo tras varios intervalos ociosos seguidos")
+    void shouldShrinkAfterIdleIntervals() {
+        // Given
+        assertEquals(8, sizer.targetSize(8, 1, 0, 0));
+        assertEquals(8, sizer.targetSize(8, 1, 0, 0));
+
+        // When
+        int target = sizer.targetSize(8, 1, 0, 0);
+
+        // Then
+        assertEquals(7, target);
+    }
+
+    @Test
+    @DisplayName("Un intervalo con carga debe reiniciar la cuenta de intervalos ociosos")
+    void shouldResetIdleCountUnderLoad() {
+        // Given
+        sizer.targetSize(8, 1, 0, 0);
+        sizer.targetSize(8, 1, 0, 0);
+        sizer.targetSize(8, 6, 0, 10);
+
+        // When
+        int target = sizer.targetSize(8, 1, 0, 0);
+
+        // Then
+        assertEquals(8, target);
+    }
+
+    @Test
+    @DisplayName("No debe decrecer por debajo del tamaño mínimo")
+    void shouldNotShrinkBelowMinSize() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            sizer.targetSize(5, 0, 0, 0);
+        }
+
+        // Then
+        assertEquals(5, sizer.targetSize(5, 0, 0, 0));
+    }
+}
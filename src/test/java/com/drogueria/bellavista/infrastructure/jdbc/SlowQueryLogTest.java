@@ -0,0 +1,111 @@
+package com.drogueria.bellavista.infrastructure.jdbc;
+
+import com.drogueria.bellavista.application.dto.SlowQueryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SlowQueryLog
+ */
+@DisplayName("SlowQueryLog Tests")
+class SlowQueryLogTest {
+
+    private MutableClock clock;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        slowQueryLog = new SlowQueryLog(clock);
+        ReflectionTestUtils.setField(slowQueryLog, "windowMinutes", 15L);
+        ReflectionTestUtils.setField(slowQueryLog, "capacity", 3);
+    }
+
+    @Test
+    @DisplayName("Debe listar las consultas más lentas primero, hasta el límite")
+    void shouldListSlowestFirst() {
+        // Given
+        slowQueryLog.record("OrderRepositoryAdapter.findByDateRange", "select 1", "[LocalDateTime, LocalDateTime]", 300);
+        slowQueryLog.record("CustomerRepositoryAdapter.findMorosos", "select 2", "[]", 900);
+        slowQueryLog.record("OrderRepositoryAdapter.findById", "select 3", "[Long]", 450);
+
+        // When
+        List<SlowQueryDTO> slowest = slowQueryLog.slowest(2);
+
+        // Then
+        assertEquals(2, slowest.size());
+        assertEquals("CustomerRepositoryAdapter.findMorosos", slowest.get(0).getQuery());
+        assertEquals(900L, slowest.get(0).getElapsedMs());
+        assertEquals("[Long]", slowest.get(1).getParameters());
+    }
+
+    @Test
+    @DisplayName("Debe descartar las entradas fuera de la ventana")
+    void shouldDropEntriesOutsideWindow() {
+        // Given
+        slowQueryLog.record("OrderRepositoryAdapter.findByDateRange", "select 1", "[]", 900);
+        clock.advance(Duration.ofMinutes(16));
+        slowQueryLog.record("OrderRepositoryAdapter.findById", "select 2", "[Long]", 250);
+
+        // When
+        List<SlowQueryDTO> slowest = slowQueryLog.slowest(10);
+
+        // Then
+        assertEquals(1, slowest.size());
+        assertEquals("OrderRepositoryAdapter.findById", slowest.get(0).getQuery());
+    }
+
+    @Test
+    @DisplayName("Debe conservar solo las entradas más recientes al llenarse")
+    void shouldKeepMostRecentEntriesWhenFull() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            slowQueryLog.record("Q" + i, "select " + i, "[]", 1000 - i);
+        }
+
+        // When
+        List<SlowQueryDTO> slowest = slowQueryLog.slowest(10);
+
+        // Then
+        assertEquals(List.of("Q3", "Q4", "Q5"), slowest.stream().map(SlowQueryDTO::getQuery).toList());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
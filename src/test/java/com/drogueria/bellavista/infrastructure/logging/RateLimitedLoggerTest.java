@@ -0,0 +1,98 @@
+package com.drogueria.bellavista.infrastructure.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para RateLimitedLogger
+ */
+@DisplayName("RateLimitedLogger Tests")
+class RateLimitedLoggerTest {
+
+    private static final String TEMPLATE = "JWT token expired: {}";
+
+    private Logger delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(Logger.class);
+        when(delegate.isWarnEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Debe emitir como máximo el límite de mensajes por ventana")
+    void shouldCapMessagesPerWindow() {
+        // Given
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofMinutes(1), 3);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            logger.warn(TEMPLATE, "expired");
+        }
+
+        // Then
+        verify(delegate, times(3)).warn(TEMPLATE, "expired");
+        verify(delegate, never()).warn(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe informar los mensajes suprimidos en la ventana siguiente")
+    void shouldReportSuppressedInNextWindow() throws InterruptedException {
+        // Given
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofMillis(50), 2);
+        for (int i = 0; i < 5; i++) {
+            logger.warn(TEMPLATE, "expired");
+        }
+
+        // When
+        Thread.sleep(80);
+        logger.warn(TEMPLATE, "expired");
+
+        // Then
+        verify(delegate, times(2)).warn(TEMPLATE, "expired");
+        verify(delegate).warn(TEMPLATE + " ({} similar messages suppressed)", "expired", 3L);
+    }
+
+    @Test
+    @DisplayName("No debe construir el argumento de un mensaje suprimido")
+    void shouldNotBuildArgumentWhenSuppressed() {
+        // Given
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofMinutes(1), 1);
+        AtomicInteger built = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            logger.warn(TEMPLATE, () -> "expired-" + built.incrementAndGet());
+        }
+
+        // Then
+        assertEquals(1, built.get());
+        verify(delegate).warn(TEMPLATE, "expired-1");
+    }
+
+    @Test
+    @DisplayName("Debe limitar cada plantilla por separado")
+    void shouldLimitEachTemplateSeparately() {
+        // Given
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofMinutes(1), 1);
+
+        // When
+        logger.warn(TEMPLATE, "a");
+        logger.warn(TEMPLATE, "b");
+        logger.warn("Malformed JWT token: {}", "c");
+
+        // Then
+        verify(delegate).warn(TEMPLATE, "a");
+        verify(delegate, never()).warn(TEMPLATE, "b");
+        verify(delegate).warn("Malformed JWT token: {}", "c");
+    }
+}
@@ -0,0 +1,77 @@
+package com.drogueria.bellavista.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SamplingTurboFilter
+ */
+@DisplayName("SamplingTurboFilter Tests")
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRules("org.hibernate.SQL=0, com.drogueria.bellavista=1.0, com.drogueria.bellavista.infrastructure.security=0.0");
+    }
+
+    @Test
+    @DisplayName("Debe descartar los eventos de un logger con fracción cero y de sus hijos")
+    void shouldDenySampledOutLoggerAndChildren() {
+        assertEquals(FilterReply.DENY, decide("org.hibernate.SQL", Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide("org.hibernate.SQL.statements", Level.INFO));
+    }
+
+    @Test
+    @DisplayName("Debe aplicar la regla más específica")
+    void shouldApplyMostSpecificRule() {
+        assertEquals(FilterReply.NEUTRAL, decide("com.drogueria.bellavista.domain.service.OrderService", Level.INFO));
+        assertEquals(FilterReply.DENY, decide("com.drogueria.bellavista.infrastructure.security.JwtUtils", Level.INFO));
+    }
+
+    @Test
+    @DisplayName("Nunca debe muestrear WARN ni ERROR ni loggers sin regla")
+    void shouldNeverSampleWarningsOrUnmatchedLoggers() {
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL", Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL", Level.ERROR));
+        assertEquals(FilterReply.NEUTRAL, decide("org.springframework.web", Level.DEBUG));
+    }
+
+    @Test
+    @DisplayName("No debe muestrear la consulta isDebugEnabled(), solo la llamada de log que protege")
+    void shouldNotSampleLevelGuard() {
+        // Given
+        Logger logger = context.getLogger("org.hibernate.SQL");
+        logger.setLevel(Level.DEBUG);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        context.addTurboFilter(filter);
+
+        // When
+        boolean guardPassed = logger.isDebugEnabled();
+        logger.debug("select {}", 1);
+
+        // Then - el guard pasa siempre y la regla (fracción cero) descarta el evento
+        assertTrue(guardPassed);
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private FilterReply decide(String logger, Level level) {
+        return filter.decide(null, context.getLogger(logger), level, "msg", null, null);
+    }
+}
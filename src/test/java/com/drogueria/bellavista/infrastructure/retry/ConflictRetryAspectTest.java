@@ -0,0 +1,126 @@
+package com.drogueria.bellavista.infrastructure.retry;
+
+import com.drogueria.bellavista.domain.service.RetryOnConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ConflictRetryAspect
+ */
+@DisplayName("ConflictRetryAspect Tests")
+class ConflictRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictingUseCase target;
+    private ConflictingUseCase proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConflictRetryAspect aspect = new ConflictRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "baseDelayMs", 1L);
+        ReflectionTestUtils.setField(aspect, "maxDelayMs", 2L);
+
+        target = new ConflictingUseCase();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Debe reintentar ante OptimisticLockingFailureException hasta que el caso de uso confirme")
+    void shouldRetryOptimisticLockingFailure() {
+        // Given - los dos primeros intentos pierden la carrera
+        target.conflicts = 2;
+
+        // When
+        String result = proxy.receive();
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, target.calls);
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(0.0, conflicts("exhausted"));
+    }
+
+    @Test
+    @DisplayName("Debe propagar el conflicto al agotar los intentos")
+    void shouldPropagateWhenAttemptsAreExhausted() {
+        // Given
+        target.conflicts = 5;
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> proxy.receive());
+        assertEquals(3, target.calls);
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(1.0, conflicts("exhausted"));
+    }
+
+    @Test
+    @DisplayName("No debe reintentar dentro de una transacción ya abierta")
+    void shouldNotRetryInsideActiveTransaction() {
+        // Given - el caso de uso participa en la transacción de quien lo llamó
+        target.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> proxy.receive());
+        assertEquals(1, target.calls);
+        assertEquals(0.0, conflicts("retried"));
+    }
+
+    @Test
+    @DisplayName("No debe reintentar errores que no son de concurrencia")
+    void shouldNotRetryOtherFailures() {
+        // Given
+        target.failure = new DataIntegrityViolationException("duplicate key");
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> proxy.receive());
+        assertEquals(1, target.calls);
+    }
+
+    private double conflicts(String outcome) {
+        Counter counter = meterRegistry.find(ConflictRetryAspect.CONFLICT_METRIC)
+                .tag("method", "ConflictingUseCase.receive")
+                .tag("outcome", outcome)
+                .counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    static class ConflictingUseCase {
+
+        int conflicts;
+        RuntimeException failure;
+        int calls;
+
+        @RetryOnConflict
+        public String receive() {
+            calls++;
+            if (failure != null) {
+                throw failure;
+            }
+            if (calls <= conflicts) {
+                throw new OptimisticLockingFailureException("version vencida");
+            }
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.domain.service.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ConditionalGetRoutes
+ */
+@DisplayName("ConditionalGetRoutes Tests")
+class ConditionalGetRoutesTest {
+
+    private CollectionVersionService versions;
+    private ConditionalGetRoutes routes;
+
+    @BeforeEach
+    void setUp() {
+        versions = mock(CollectionVersionService.class);
+        when(versions.recentVersion(CollectionVersionService.PRODUCTS)).thenReturn(OptionalLong.of(7L));
+        when(versions.recentVersion(CollectionVersionService.CUSTOMERS)).thenReturn(OptionalLong.of(3L));
+        when(versions.recentVersion(CollectionVersionService.SUPPLIERS)).thenReturn(OptionalLong.empty());
+        routes = new ConditionalGetRoutes(versions, "no-cache", "private, no-cache", "no-cache");
+    }
+
+    @Test
+    @DisplayName("Un GET cuyo If-None-Match coincide con la versión recordada se responderá 304")
+    void shouldDetectNotModified() {
+        // When / Then
+        assertTrue(routes.isNotModified(request("GET", "/products", "\"products-7\"")));
+        assertTrue(routes.isNotModified(request("GET", "/products/5", "W/\"products-7\"")));
+        assertTrue(routes.isNotModified(request("GET", "/customers", "\"customers-2\", \"customers-3\"")));
+    }
+
+    @Test
+    @DisplayName("Sin ETag vigente, escrituras u otras rutas la petición sí pasa por la admisión")
+    void shouldNotExemptOtherRequests() {
+        // When / Then
+        assertFalse(routes.isNotModified(request("GET", "/products", "\"products-6\"")));
+        assertFalse(routes.isNotModified(request("GET", "/products", null)));
+        assertFalse(routes.isNotModified(request("PUT", "/products/5", "\"products-7\"")));
+        assertFalse(routes.isNotModified(request("GET", "/orders", "\"products-7\"")));
+    }
+
+    @Test
+    @DisplayName("Sin versión recordada la petición pasa por la admisión sin consultar la base de datos")
+    void shouldNotQueryVersionBeforeAdmission() {
+        // When
+        boolean notModified = routes.isNotModified(request("GET", "/suppliers", "\"suppliers-4\""));
+        routes.isNotModified(request("GET", "/products", "\"products-7\""));
+
+        // Then
+        assertFalse(notModified);
+        verify(versions, never()).currentVersion(anyString());
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+}
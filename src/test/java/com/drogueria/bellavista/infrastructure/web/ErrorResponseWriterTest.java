@@ -0,0 +1,72 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.exception.ErrorCode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ErrorResponseWriter
+ */
+@DisplayName("ErrorResponseWriter Tests")
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Debe producir el JSON de ErrorResponse con el código de error")
+    void shouldRenderErrorResponseJson() throws Exception {
+        // Given
+        String message = ErrorCode.INSUFFICIENT_PRODUCT_STOCK.format("Acetaminofén 500mg", "MED-001", 3, 10);
+
+        // When
+        ResponseEntity<byte[]> response = ErrorResponseWriter.response(ErrorCode.INSUFFICIENT_PRODUCT_STOCK, message);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode json = objectMapper.readTree(response.getBody());
+        assertEquals(400, json.get("status").asInt());
+        assertEquals("Business Error", json.get("error").asText());
+        assertEquals("INSUFFICIENT_PRODUCT_STOCK", json.get("code").asText());
+        assertEquals("Stock insuficiente para el producto 'Acetaminofén 500mg' (código: MED-001). "
+                + "Disponible: 3, solicitado: 10", json.get("message").asText());
+        assertTrue(json.get("details").isNull());
+        assertDoesNotThrow(() -> LocalDateTime.parse(json.get("timestamp").asText()));
+    }
+
+    @Test
+    @DisplayName("Debe escapar comillas, barras y saltos de línea del mensaje")
+    void shouldEscapeMessage() throws Exception {
+        // Given
+        String message = "Código \"X\\1\"\nno\tválido\u0001";
+
+        // When
+        byte[] body = ErrorResponseWriter.body(ErrorCode.BUSINESS_RULE, message);
+
+        // Then
+        assertEquals(message, objectMapper.readTree(body).get("message").asText());
+    }
+
+    @Test
+    @DisplayName("Cada código debe llevar su estado HTTP")
+    void shouldUseStatusOfCode() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = ErrorResponseWriter.response(ErrorCode.RESOURCE_NOT_FOUND,
+                ErrorCode.RESOURCE_NOT_FOUND.format("Product", "id", 7));
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        JsonNode json = objectMapper.readTree(response.getBody());
+        assertEquals("Not Found", json.get("error").asText());
+        assertEquals("Product no encontrado con id: 7", json.get("message").asText());
+    }
+}
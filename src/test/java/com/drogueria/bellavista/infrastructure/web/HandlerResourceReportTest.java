@@ -0,0 +1,67 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import com.drogueria.bellavista.application.dto.EndpointResourceDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HandlerResourceReport
+ */
+@DisplayName("HandlerResourceReport Tests")
+class HandlerResourceReportTest {
+
+    private MeterRegistry meterRegistry;
+    private HandlerResourceReport report;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        report = new HandlerResourceReport(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe ordenar los endpoints por memoria asignada total")
+    void shouldOrderByTotalAllocatedBytes() {
+        // Given
+        record("ProductController.getAllProducts", 100_000, 2);
+        record("OrderController.getAllOrders", 4_000_000, 30);
+        record("OrderController.getAllOrders", 6_000_000, 50);
+        record("CustomerController.getCustomerById", 20_000, 1);
+
+        // When
+        List<EndpointResourceDTO> heaviest = report.heaviest(2);
+
+        // Then
+        assertEquals(2, heaviest.size());
+        EndpointResourceDTO orders = heaviest.get(0);
+        assertEquals("OrderController.getAllOrders", orders.getHandler());
+        assertEquals(2L, orders.getRequests());
+        assertEquals(10_000_000L, orders.getTotalAllocatedBytes());
+        assertEquals(5_000_000L, orders.getMeanAllocatedBytes());
+        assertEquals(40.0, orders.getMeanCpuMs(), 0.001);
+        assertEquals("ProductController.getAllProducts", heaviest.get(1).getHandler());
+    }
+
+    @Test
+    @DisplayName("Debe devolver una lista vacía sin peticiones registradas")
+    void shouldReturnEmptyWithoutRequests() {
+        assertTrue(report.heaviest(10).isEmpty());
+    }
+
+    private void record(String handler, long allocatedBytes, long cpuMs) {
+        DistributionSummary.builder(HandlerResourceFilter.ALLOCATED).tag("handler", handler)
+                .register(meterRegistry).record(allocatedBytes);
+        Timer.builder(HandlerResourceFilter.CPU).tag("handler", handler)
+                .register(meterRegistry).record(cpuMs, TimeUnit.MILLISECONDS);
+    }
+}
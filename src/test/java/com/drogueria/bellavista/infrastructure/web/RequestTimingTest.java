@@ -0,0 +1,54 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RequestTiming
+ */
+@DisplayName("RequestTiming Tests")
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar las fases fuera de una petición cronometrada")
+    void shouldIgnorePhasesWithoutRequest() {
+        // When
+        RequestTiming.Phase previous = RequestTiming.enter(RequestTiming.Phase.SERVICE);
+        RequestTiming.exit(previous);
+
+        // Then
+        assertNull(previous);
+    }
+
+    @Test
+    @DisplayName("Debe atribuir el tiempo anidado a la fase interior")
+    void shouldAttributeNestedTimeToInnerPhase() throws InterruptedException {
+        // Given
+        RequestTiming timing = RequestTiming.begin();
+
+        // When
+        RequestTiming.Phase outer = RequestTiming.enter(RequestTiming.Phase.SERVICE);
+        RequestTiming.Phase inner = RequestTiming.enter(RequestTiming.Phase.REPOSITORY);
+        Thread.sleep(20);
+        RequestTiming.exit(inner);
+        RequestTiming.exit(outer);
+        String header = timing.toHeaderValue();
+
+        // Then
+        assertNull(outer);
+        assertEquals(RequestTiming.Phase.SERVICE, inner);
+        assertTrue(header.matches("service;dur=\\d+\\.\\d, db;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"), header);
+        double db = Double.parseDouble(header.replaceAll(".*db;dur=([\\d.]+).*", "$1"));
+        double service = Double.parseDouble(header.replaceAll("service;dur=([\\d.]+).*", "$1"));
+        assertTrue(db >= 20.0, header);
+        assertTrue(service < db, header);
+    }
+}
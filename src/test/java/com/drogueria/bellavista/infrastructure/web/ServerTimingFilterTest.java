@@ -0,0 +1,94 @@
+package com.drogueria.bellavista.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ServerTimingFilter
+ */
+@DisplayName("ServerTimingFilter Tests")
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Una petición muestreada recibe la cabecera antes de que se escriba el cuerpo")
+    void shouldAddHeaderBeforeBodyWhenSampled() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] headerAtWrite = new String[1];
+        FilterChain chain = (req, res) -> {
+            res.getWriter().write("[]");
+            headerAtWrite[0] = response.getHeader(ServerTimingFilter.HEADER);
+            res.flushBuffer();
+        };
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), response, chain);
+
+        // Then
+        assertNotNull(headerAtWrite[0]);
+        assertTrue(headerAtWrite[0].contains("total;dur="));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Sin muestreo solo un administrador recibe la cabecera")
+    void shouldOnlyExposeTimingToAdminsWhenNotSampled() throws Exception {
+        // Given
+        FilterChain chain = (req, res) -> res.getWriter().write("[]");
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        MockHttpServletResponse admin = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), anonymous, chain);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), admin, chain);
+
+        // Then
+        assertNull(anonymous.getHeader(ServerTimingFilter.HEADER));
+        assertNotNull(admin.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    @DisplayName("Un administrador recibe la cabecera en una respuesta sin cuerpo aunque el contexto ya se limpió")
+    void shouldExposeTimingToAdminOnBodilessResponse() throws Exception {
+        // Given - la cadena autentica, responde 204 y limpia el contexto al salir (como Spring Security)
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+            new ServerTimingAdminInterceptor().preHandle((HttpServletRequest) req, (HttpServletResponse) res, null);
+            ((HttpServletResponse) res).setStatus(204);
+            SecurityContextHolder.clearContext();
+        };
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/products/1"), response, chain);
+
+        // Then
+        assertEquals(204, response.getStatus());
+        assertNotNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+}
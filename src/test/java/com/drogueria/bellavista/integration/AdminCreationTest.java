@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.integration;
 
+import com.drogueria.bellavista.config.QueryBudget;
 import com.drogueria.bellavista.domain.model.Role;
 import com.drogueria.bellavista.domain.model.User;
 import com.drogueria.bellavista.domain.repository.UserRepository;
@@ -44,6 +45,7 @@ public class AdminCreationTest {
     private PasswordEncoder passwordEncoder;
 
     @Test
+    @QueryBudget(max = 4)
     void testCreateAdminAndVerifyPassword() {
         // Crear admin
         User admin = userService.createUser(
@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.integration;
 
+import com.drogueria.bellavista.config.QueryBudget;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeAll;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -65,6 +66,7 @@ public class AuthOrderIntegrationTest {
     }
 
     @Test
+    @QueryBudget(max = 42)
     void authAndOrderFlow() throws Exception {
         // 1) Register user
         Map<String, Object> reg = new HashMap<>();
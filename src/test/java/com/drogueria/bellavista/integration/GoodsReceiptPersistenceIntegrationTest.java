@@ -0,0 +1,136 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.domain.model.GoodsReceipt;
+import com.drogueria.bellavista.domain.model.GoodsReceiptItem;
+import com.drogueria.bellavista.domain.repository.GoodsReceiptRepository;
+import com.drogueria.bellavista.infrastructure.jdbc.SqlStatementCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración de la persistencia de recepciones contra Postgres:
+ * guardar una recepción solo emite las sentencias de lo que cambió
+ */
+@Testcontainers
+@SpringBootTest
+@DisplayName("Goods Receipt Persistence Integration Tests")
+@org.springframework.context.annotation.Import(com.drogueria.bellavista.config.TestMailConfig.class)
+public class GoodsReceiptPersistenceIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.jwt.secret", () -> "test-secret-key-with-at-least-32-characters-for-testing");
+    }
+
+    @Autowired
+    private GoodsReceiptRepository goodsReceiptRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Cambiar solo la cabecera emite un único UPDATE y no vuelve a leer los items")
+    void headerOnlySave_IssuesSingleUpdate() {
+        // Given
+        Long id = goodsReceiptRepository.save(receipt("GR-STMT-1")).getId();
+
+        // When
+        int statements = statementsToSave(id, receipt -> receipt.setNotes("Llegó con la caja abierta"));
+
+        // Then
+        assertThat(statements).isEqualTo(1);
+        GoodsReceipt reloaded = goodsReceiptRepository.findById(id).orElseThrow();
+        assertThat(reloaded.getNotes()).isEqualTo("Llegó con la caja abierta");
+        assertThat(reloaded.getItems()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Cambiar un item emite un único UPDATE de ese item")
+    void singleItemChange_IssuesSingleUpdate() {
+        // Given
+        Long id = goodsReceiptRepository.save(receipt("GR-STMT-2")).getId();
+
+        // When
+        int statements = statementsToSave(id, receipt -> receipt.getItems().get(1).setReceivedQuantity(3));
+
+        // Then
+        assertThat(statements).isEqualTo(1);
+        assertThat(goodsReceiptRepository.findById(id).orElseThrow().getItems())
+                .extracting(GoodsReceiptItem::getReceivedQuantity)
+                .containsExactly(10, 3);
+    }
+
+    /**
+     * Sentencias que emite guardar la recepción (hasta el commit), después de leerla en la misma transacción
+     */
+    private int statementsToSave(Long id, Consumer<GoodsReceipt> change) {
+        int[] count = new int[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            GoodsReceipt receipt = goodsReceiptRepository.findById(id).orElseThrow();
+            change.accept(receipt);
+            SqlStatementCounter.Scope scope = sqlStatementCounter.beginScope(Integer.MAX_VALUE);
+            goodsReceiptRepository.save(receipt);
+            status.flush();
+            count[0] = scope.count();
+            sqlStatementCounter.endScope();
+        });
+        return count[0];
+    }
+
+    private GoodsReceipt receipt(String number) {
+        GoodsReceipt receipt = GoodsReceipt.builder()
+                .receiptNumber(number)
+                .orderId(1L)
+                .orderNumber("ORD-1")
+                .supplierId(1L)
+                .supplierCode("SUP-1")
+                .supplierName("Proveedor")
+                .status("PENDING")
+                .receiptDate(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        receipt.addItem(item(1L, 10, 10));
+        receipt.addItem(item(2L, 5, 5));
+        return receipt;
+    }
+
+    private GoodsReceiptItem item(Long productId, int ordered, int received) {
+        return GoodsReceiptItem.builder()
+                .productId(productId)
+                .productCode("P-" + productId)
+                .productName("Producto " + productId)
+                .orderedQuantity(ordered)
+                .receivedQuantity(received)
+                .unitPrice(new BigDecimal("100"))
+                .build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.repository.InventoryEngine;
+import com.drogueria.bellavista.domain.service.ProductService;
+import com.drogueria.bellavista.infrastructure.persistence.JpaProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración del motor de inventario contra Postgres:
+ * guardar un producto del motor nunca debe pisar el stock que volcó el flusher
+ */
+@Testcontainers
+@SpringBootTest
+@DisplayName("Inventory Engine Integration Tests")
+@org.springframework.context.annotation.Import(com.drogueria.bellavista.config.TestMailConfig.class)
+public class InventoryEngineIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.jwt.secret", () -> "test-secret-key-with-at-least-32-characters-for-testing");
+        registry.add("app.inventory.engine.enabled", () -> "true");
+        registry.add("app.inventory.engine.journal-path", () -> journalDir.resolve("inventory.journal").toString());
+        registry.add("app.inventory.engine.journal-size-mb", () -> "1");
+        registry.add("app.inventory.engine.flush-interval-ms", () -> "50");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryEngine inventoryEngine;
+
+    @Autowired
+    private JpaProductRepository jpaProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("updateProduct no pisa el stock volcado por el flusher durante la transacción")
+    void updateProduct_AfterInterleavedFlush_KeepsFlushedStock() {
+        // Given - producto gestionado por el motor con stock 10
+        Product created = productService.createProduct(Product.builder()
+                .code("ENG-001")
+                .name("Producto motor")
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build());
+        Long id = created.getId();
+        assertThat(inventoryEngine.manages(id)).isTrue();
+
+        // When - la transacción carga la entidad (stock 10), otro pedido reserva 3, el flusher vuelca 7
+        // y luego se actualiza el nombre
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(jpaProductRepository.findById(id).orElseThrow().getStock()).isEqualTo(10);
+            assertThat(CompletableFuture.supplyAsync(() -> inventoryEngine.tryReserve(id, 3)).join()).isTrue();
+            awaitColumnStock(id, 7);
+
+            Product changes = Product.builder()
+                    .code("ENG-001")
+                    .name("Producto motor renombrado")
+                    .price(new BigDecimal("1200"))
+                    .minStock(1)
+                    .category("TEST")
+                    .active(true)
+                    .build();
+            Product updated = productService.updateProduct(id, changes);
+            assertThat(updated.getStock()).isEqualTo(7);
+        });
+
+        // Then - la columna conserva el valor del flusher y los demás campos se actualizaron
+        assertThat(columnStock(id)).isEqualTo(7);
+        assertThat(inventoryEngine.stockOf(id)).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM products WHERE id = ?", String.class, id))
+                .isEqualTo("Producto motor renombrado");
+    }
+
+    @Test
+    @DisplayName("El volcado del flusher publica el stock en la sincronización")
+    void flush_AssignsNewChangeSeq() {
+        // Given
+        Product created = productService.createProduct(Product.builder()
+                .code("ENG-002")
+                .name("Producto motor sync")
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build());
+        Long id = created.getId();
+        long seqBefore = changeSeq(id);
+
+        // When
+        assertThat(inventoryEngine.tryReserve(id, 4)).isTrue();
+        awaitColumnStock(id, 6);
+
+        // Then
+        assertThat(changeSeq(id)).isGreaterThan(seqBefore);
+    }
+
+    @Test
+    @DisplayName("Una reserva no confirmada no se vuelca y, si se revierte, nunca llega a la base de datos")
+    void reserveInTransaction_IsFlushedOnlyAfterCommit() {
+        // Given - tres productos del motor con stock 10
+        Long rolledBack = engineProduct("ENG-003");
+        Long committed = engineProduct("ENG-004");
+        Long other = engineProduct("ENG-005");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When - una transacción reserva y se revierte; otra reserva y confirma después de un volcado
+        // (el de la reserva que otro pedido confirmó mientras tanto)
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(inventoryEngine.tryReserve(rolledBack, 4)).isTrue();
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(inventoryEngine.tryReserve(committed, 2)).isTrue();
+            assertThat(CompletableFuture.supplyAsync(() -> inventoryEngine.tryReserve(other, 1)).join()).isTrue();
+            awaitColumnStock(other, 9);
+            assertThat(columnStock(committed)).isEqualTo(10);
+        });
+
+        // Then - la reserva revertida se devolvió y solo la confirmada se vuelca
+        assertThat(inventoryEngine.stockOf(rolledBack)).isEqualTo(10);
+        awaitColumnStock(committed, 8);
+        assertThat(columnStock(rolledBack)).isEqualTo(10);
+    }
+
+    private Long engineProduct(String code) {
+        Product created = productService.createProduct(Product.builder()
+                .code(code)
+                .name("Producto motor " + code)
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build());
+        assertThat(inventoryEngine.manages(created.getId())).isTrue();
+        return created.getId();
+    }
+
+    private long changeSeq(Long id) {
+        return jdbcTemplate.queryForObject("SELECT change_seq FROM products WHERE id = ?", Long.class, id);
+    }
+
+    private void awaitColumnStock(Long id, int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (columnStock(id) != expected) {
+            assertThat(System.currentTimeMillis()).as("el flusher no volcó el stock a tiempo").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private int columnStock(Long id) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, id);
+    }
+}
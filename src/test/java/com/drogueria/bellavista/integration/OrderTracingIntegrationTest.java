@@ -0,0 +1,138 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.config.TestMailConfig;
+import com.drogueria.bellavista.config.TestTracingConfig;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Trazas de la creación de órdenes: spans por capa y número acotado de spans de BD.
+ */
+@Testcontainers
+@AutoConfigureObservability(metrics = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import({TestMailConfig.class, TestTracingConfig.class})
+public class OrderTracingIntegrationTest {
+
+    private static final AttributeKey<String> LAYER = AttributeKey.stringKey("bellavista.layer");
+
+    /** Sentencias SQL de POST /orders con un ítem, autenticación incluida */
+    private static final int MAX_DB_SPANS = 20;
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    private String baseUrl() {
+        return "http://localhost:" + port + "/api";
+    }
+
+    @Test
+    void createOrderIsTracedLayerByLayer() {
+        HttpHeaders authHeaders = authenticate();
+        Long productId = create("/products", Map.of("code", "P-TRACE-001", "name", "Producto traza",
+                "price", 10.5, "stock", 10, "minStock", 1), authHeaders);
+        Long customerId = create("/customers", Map.of("code", "C-TRACE-001", "name", "Cliente traza",
+                "email", "traza@test.com", "customerType", "MINORISTA", "creditLimit", 1000), authHeaders);
+        TestTracingConfig.finishedSpans(tracerProvider, spanExporter);
+        spanExporter.reset();
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("customerId", customerId);
+        order.put("items", List.of(Map.of("productId", productId, "quantity", 1)));
+        ResponseEntity<Map> response = restTemplate.exchange(baseUrl() + "/orders", HttpMethod.POST,
+                new HttpEntity<>(order, authHeaders), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        List<SpanData> spans = TestTracingConfig.finishedSpans(tracerProvider, spanExporter);
+        SpanData service = span(spans, "OrderService.createOrder");
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(service.getTraceId()))
+                .toList();
+
+        assertThat(trace).extracting(SpanData::getName)
+                .contains("OrderController.createOrder", "JwtUtils.validateToken",
+                        "OrderRepositoryAdapter.save", "CustomerRepositoryAdapter.findById");
+        assertThat(span(trace, "OrderController.createOrder").getSpanId()).isEqualTo(service.getParentSpanId());
+        assertThat(trace).filteredOn(span -> "db".equals(span.getAttributes().get(LAYER)))
+                .isNotEmpty()
+                .hasSizeLessThanOrEqualTo(MAX_DB_SPANS);
+        assertThat(service.getEndEpochNanos() - service.getStartEpochNanos()).isPositive();
+    }
+
+    private SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private HttpHeaders authenticate() {
+        Map<String, Object> reg = new HashMap<>();
+        reg.put("username", "traceuser");
+        reg.put("email", "traceuser@example.com");
+        reg.put("password", "password123");
+        reg.put("firstName", "Trace");
+        reg.put("lastName", "User");
+        restTemplate.postForEntity(baseUrl() + "/auth/register", reg, Map.class);
+
+        ResponseEntity<Map> login = restTemplate.postForEntity(baseUrl() + "/auth/login",
+                Map.of("username", "traceuser", "password", "password123"), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.getBody().get("token"));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    private Long create(String path, Map<String, Object> body, HttpHeaders headers) {
+        ResponseEntity<Map> response = restTemplate.exchange(baseUrl() + path, HttpMethod.POST,
+                new HttpEntity<>(body, headers), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.integration;
 
+import com.drogueria.bellavista.config.QueryBudget;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -67,6 +68,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(1)
     @DisplayName("Setup: Registrar usuario y obtener token")
+    @QueryBudget(max = 6)
     void setupUserAndGetToken() {
         // Registrar
         Map<String, Object> reg = new HashMap<>();
@@ -98,6 +100,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(2)
     @DisplayName("Debe crear producto exitosamente")
+    @QueryBudget(max = 7)
     void shouldCreateProduct() {
         Map<String, Object> product = new HashMap<>();
         product.put("code", "PROD-001");
@@ -123,6 +126,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(3)
     @DisplayName("No debe crear producto con código duplicado")
+    @QueryBudget(max = 2)
     void shouldNotCreateDuplicateProduct() {
         Map<String, Object> product = new HashMap<>();
         product.put("code", "PROD-001");
@@ -145,6 +149,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(4)
     @DisplayName("Debe obtener producto por ID")
+    @QueryBudget(max = 3)
     void shouldGetProductById() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<Map> response = restTemplate.exchange(
@@ -157,6 +162,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(5)
     @DisplayName("Debe obtener producto por código")
+    @QueryBudget(max = 3)
     void shouldGetProductByCode() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<Map> response = restTemplate.exchange(
@@ -169,6 +175,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(6)
     @DisplayName("Debe listar todos los productos")
+    @QueryBudget(max = 3)
     void shouldListAllProducts() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<List> response = restTemplate.exchange(
@@ -181,6 +188,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(7)
     @DisplayName("Debe retornar 404 para producto inexistente")
+    @QueryBudget(max = 3)
     void shouldReturn404ForNonExistentProduct() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<Map> response = restTemplate.exchange(
@@ -196,6 +204,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(8)
     @DisplayName("Debe actualizar producto")
+    @QueryBudget(max = 6)
     void shouldUpdateProduct() {
         Map<String, Object> updateData = new HashMap<>();
         updateData.put("code", "PROD-001");
@@ -223,6 +232,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(9)
     @DisplayName("Debe reducir stock correctamente")
+    @QueryBudget(max = 7)
     void shouldReduceStock() {
         Map<String, Object> adjustment = new HashMap<>();
         adjustment.put("quantity", 10);
@@ -239,6 +249,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(10)
     @DisplayName("Debe aumentar stock correctamente")
+    @QueryBudget(max = 7)
     void shouldIncreaseStock() {
         Map<String, Object> adjustment = new HashMap<>();
         adjustment.put("quantity", 50);
@@ -255,6 +266,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(11)
     @DisplayName("No debe reducir stock si es insuficiente")
+    @QueryBudget(max = 2)
     void shouldNotReduceStockIfInsufficient() {
         Map<String, Object> adjustment = new HashMap<>();
         adjustment.put("quantity", 1000);
@@ -274,6 +286,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(12)
     @DisplayName("Debe buscar productos por nombre")
+    @QueryBudget(max = 3)
     void shouldSearchProductsByName() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<List> response = restTemplate.exchange(
@@ -287,6 +300,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(13)
     @DisplayName("Debe listar productos por categoría")
+    @QueryBudget(max = 3)
     void shouldListProductsByCategory() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<List> response = restTemplate.exchange(
@@ -304,6 +318,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(14)
     @DisplayName("Debe cambiar estado del producto")
+    @QueryBudget(max = 6)
     void shouldToggleProductStatus() {
         HttpEntity<?> entity = new HttpEntity<>(authHeaders());
         ResponseEntity<Map> response = restTemplate.exchange(
@@ -321,6 +336,7 @@ public class ProductIntegrationTest {
     @Test
     @Order(15)
     @DisplayName("Debe requerir autenticación para crear producto")
+    @QueryBudget(max = 0)
     void shouldRequireAuthToCreateProduct() {
         Map<String, Object> product = new HashMap<>();
         product.put("code", "PROD-002");
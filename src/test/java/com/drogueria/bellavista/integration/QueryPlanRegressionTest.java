@@ -0,0 +1,412 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.infrastructure.persistence.ProductEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regresión de planes de consulta
+ * Ejecuta cada método declarado en los repositorios Spring Data contra una base
+ * PostgreSQL sembrada con volumen, captura el SQL que emite Hibernate con sus
+ * parámetros y corre EXPLAIN sobre él. Falla si aparece un Seq Scan sobre una
+ * tabla grande, salvo en las consultas exentas (con su motivo) de EXEMPT.
+ * Un método nuevo en un repositorio entra solo al conjunto: no hay que registrarlo.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query Plan Regression Tests")
+@Import({com.drogueria.bellavista.config.TestMailConfig.class, QueryPlanRegressionTest.CaptureConfig.class})
+public class QueryPlanRegressionTest {
+
+    private static final String REPOSITORY_PACKAGE = "com.drogueria.bellavista.infrastructure.persistence";
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+        "customers", "products", "product_stock_slots", "orders", "order_items", "order_documents",
+        "goods_receipts", "goods_receipt_items", "stock_movements", "stock_snapshots");
+
+    /** Consultas donde el recorrido completo es el plan correcto */
+    private static final Map<String, String> EXEMPT = Map.ofEntries(
+        Map.entry("JpaCustomerRepository.findAllActive", "listado completo: devuelve casi toda la tabla"),
+        Map.entry("JpaCustomerReadRepository.findAllResponses", "listado completo"),
+        Map.entry("JpaCustomerReadRepository.findActiveResponses", "listado completo: devuelve casi toda la tabla"),
+        Map.entry("JpaProductRepository.findByActiveTrue", "listado completo: devuelve casi toda la tabla"),
+        Map.entry("JpaProductReadRepository.findAllResponses", "listado completo"),
+        Map.entry("JpaProductReadRepository.findActiveResponses", "listado completo: devuelve casi toda la tabla"),
+        Map.entry("JpaProductRepository.findByNameContainingIgnoreCase", "LIKE con comodín inicial"),
+        Map.entry("JpaProductReadRepository.findResponsesByNameContaining", "LIKE con comodín inicial"),
+        Map.entry("JpaProductRepository.findProductsNeedingRestock", "compara dos columnas de la misma fila"),
+        Map.entry("JpaProductReadRepository.findResponsesNeedingRestock", "compara dos columnas de la misma fila"),
+        Map.entry("JpaOrderDocumentRepository.findOrderIdsWithoutDocument", "backfill de arranque, recorre todas las órdenes"),
+        Map.entry("JpaProductRepository.assignMissingChangeSeq", "backfill de arranque"),
+        Map.entry("JpaCustomerRepository.assignMissingChangeSeq", "backfill de arranque"),
+        Map.entry("JpaSupplierRepository.assignMissingChangeSeq", "backfill de arranque"),
+        Map.entry("JpaStockMovementRepository.openMissingLedgers", "backfill de arranque, recorre todos los productos"));
+
+    /** Argumentos realistas donde el valor sintético no representa el uso real */
+    private static final Map<String, Object[]> ARGUMENTS = Map.ofEntries(
+        Map.entry("JpaOrderRepository.findByStatus", new Object[]{"PENDING"}),
+        Map.entry("JpaOrderRepository.findByCustomerIdAndStatus", new Object[]{1L, "PENDING"}),
+        Map.entry("JpaOrderRepository.findByDateRange", new Object[]{BASE.plusDays(3), BASE.plusDays(3).plusHours(6)}),
+        Map.entry("JpaGoodsReceiptRepository.findByStatus", new Object[]{"PENDING"}),
+        Map.entry("JpaGoodsReceiptRepository.existsByOrderIdAndStatus", new Object[]{1L, "PENDING"}),
+        Map.entry("JpaCustomerRepository.findByCustomerType", new Object[]{"MAYORISTA"}),
+        Map.entry("JpaProductRepository.findByCategory", new Object[]{"CAT-7"}),
+        Map.entry("JpaProductReadRepository.findResponsesByCategory", new Object[]{"CAT-7"}),
+        Map.entry("JpaProductRepository.updateExceptStock", new Object[]{ProductEntity.builder()
+            .id(1L).code("P1").name("Producto 1").price(BigDecimal.TEN).minStock(10)
+            .category("CAT-1").active(true).updatedAt(BASE).version(0L).build()}),
+        Map.entry("JpaStockMovementRepository.sumQuantityAfter", new Object[]{1L, 0L, BASE.plusYears(1)}),
+        Map.entry("JpaStockSnapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDescLastMovementIdDesc",
+            new Object[]{1L, BASE.plusYears(1)}));
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.jwt.secret", () -> "test-secret-key-with-at-least-32-characters-for-testing");
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO customers (id, code, name, email, document_number, customer_type, "
+            + "credit_limit, pending_balance, active, created_at, version, change_seq) "
+            + "SELECT i, 'C' || i, 'Cliente ' || i, 'c' || i || '@test.com', 'DOC' || i, "
+            + "CASE WHEN i % 50 = 0 THEN 'MAYORISTA' ELSE 'MINORISTA' END, 1000, "
+            + "CASE WHEN i % 100 = 0 THEN 250 ELSE 0 END, i % 20 <> 0, TIMESTAMP '2025-01-01', 0, i "
+            + "FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO suppliers (id, code, name, email, active, created_at, change_seq) "
+            + "SELECT i, 'S' || i, 'Proveedor ' || i, 's' || i || '@test.com', i % 20 <> 0, TIMESTAMP '2025-01-01', i "
+            + "FROM generate_series(1, 2000) i");
+        jdbcTemplate.execute("INSERT INTO products (id, code, name, price, stock, min_stock, category, active, "
+            + "created_at, version, change_seq, stock_slots) "
+            + "SELECT i, 'P' || i, 'Producto ' || i, 10, 100, 10, 'CAT-' || (i % 200), i % 20 <> 0, "
+            + "TIMESTAMP '2025-01-01', 0, i, CASE WHEN i % 100 = 0 THEN 4 END "
+            + "FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO product_stock_slots (id, product_id, slot_no, quantity) "
+            + "SELECT i, i, 0, 100 FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO orders (id, order_number, customer_id, status, total, order_date, "
+            + "created_at, version) "
+            + "SELECT i, 'ORD-' || lpad(i::text, 8, '0'), 1 + i % 20000, "
+            + "CASE WHEN i % 20 = 0 THEN 'PENDING' WHEN i % 50 = 1 THEN 'CANCELLED' ELSE 'COMPLETED' END, 100, "
+            + "TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute', TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute', 0 "
+            + "FROM generate_series(1, 50000) i");
+        jdbcTemplate.execute("INSERT INTO order_items (id, order_id, product_id, unit_price, quantity, subtotal) "
+            + "SELECT i, 1 + (i - 1) / 2, 1 + i % 20000, 10, 1, 10 FROM generate_series(1, 100000) i");
+        jdbcTemplate.execute("INSERT INTO order_documents (order_id, order_number, customer_id, order_date, "
+            + "document, updated_at) "
+            + "SELECT id, order_number, customer_id, order_date, '{}'::jsonb, order_date FROM orders");
+        jdbcTemplate.execute("INSERT INTO goods_receipts (id, receipt_number, order_id, supplier_id, status, "
+            + "created_at, version) "
+            + "SELECT i, 'GR-' || i, i, 1 + i % 2000, "
+            + "CASE WHEN i % 20 = 0 THEN 'PENDING' WHEN i % 20 = 1 THEN 'REJECTED' ELSE 'RECEIVED' END, "
+            + "TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute', 0 "
+            + "FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO goods_receipt_items (id, goods_receipt_id, product_id, product_code, "
+            + "product_name, ordered_quantity, received_quantity) "
+            + "SELECT i, 1 + (i - 1) / 2, 1 + i % 20000, 'P' || (1 + i % 20000), 'Producto', 5, 5 "
+            + "FROM generate_series(1, 40000) i");
+        jdbcTemplate.execute("INSERT INTO stock_movements (id, product_id, movement_type, quantity, created_at) "
+            + "SELECT i, 1 + i % 20000, 'IN', 1, TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute' "
+            + "FROM generate_series(1, 100000) i");
+        jdbcTemplate.execute("INSERT INTO stock_snapshots (id, product_id, quantity, last_movement_id, taken_at) "
+            + "SELECT i, i, 100, i, TIMESTAMP '2025-01-01' FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Ninguna consulta de repositorio debe recorrer completa una tabla grande")
+    void repositoryQueriesShouldNotSeqScanLargeTables() throws Exception {
+        List<String> violations = new ArrayList<>();
+
+        try (Connection explainConnection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            for (Map.Entry<String, Method> query : repositoryQueries().entrySet()) {
+                if (EXEMPT.containsKey(query.getKey())) {
+                    continue;
+                }
+                List<CapturedStatement> statements;
+                try {
+                    statements = execute(query.getKey(), query.getValue());
+                } catch (Exception ex) {
+                    violations.add(query.getKey() + " falló al ejecutarse: " + ex);
+                    continue;
+                }
+                for (CapturedStatement statement : statements) {
+                    for (String table : seqScannedLargeTables(explainConnection, statement)) {
+                        violations.add(query.getKey() + " -> Seq Scan en " + table + ": " + statement.sql());
+                    }
+                }
+            }
+        }
+
+        assertThat(violations).as(String.join("\n", violations)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Las exenciones y argumentos deben referirse a métodos existentes")
+    void exemptionsShouldReferToExistingQueries() {
+        Set<String> queries = repositoryQueries().keySet();
+
+        assertThat(queries).containsAll(EXEMPT.keySet());
+        assertThat(queries).containsAll(ARGUMENTS.keySet());
+    }
+
+    /**
+     * Métodos declarados en los repositorios de la aplicación (no los heredados de JpaRepository)
+     */
+    private Map<String, Method> repositoryQueries() {
+        Map<String, Method> queries = new TreeMap<>();
+        for (Object repository : applicationContext.getBeansOfType(Repository.class).values()) {
+            for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (!repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    continue;
+                }
+                for (Method method : repositoryInterface.getDeclaredMethods()) {
+                    if (!method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers())) {
+                        queries.put(repositoryInterface.getSimpleName() + "." + method.getName(), method);
+                    }
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Invocar el método en una transacción que se revierte y devolver las sentencias emitidas
+     */
+    private List<CapturedStatement> execute(String key, Method method) {
+        Object repository = applicationContext.getBeanProvider(method.getDeclaringClass()).getObject();
+        Object[] args = ARGUMENTS.containsKey(key) ? ARGUMENTS.get(key) : syntheticArguments(method);
+        CapturingDataSource.CAPTURED.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                method.invoke(repository, args);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException(ex.getCause() != null ? ex.getCause() : ex);
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+        return new ArrayList<>(CapturingDataSource.CAPTURED);
+    }
+
+    private Object[] syntheticArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Long.class || type == long.class) {
+                args[i] = 1L;
+            } else if (type == Integer.class || type == int.class) {
+                args[i] = 1;
+            } else if (type == Boolean.class || type == boolean.class) {
+                args[i] = Boolean.TRUE;
+            } else if (type == String.class) {
+                args[i] = "1";
+            } else if (type == LocalDateTime.class) {
+                args[i] = BASE;
+            } else if (Pageable.class.isAssignableFrom(type)) {
+                args[i] = PageRequest.of(0, 20);
+            } else if (Collection.class.isAssignableFrom(type)) {
+                args[i] = List.of(1L, 2L, 3L);
+            } else if (type.isEnum()) {
+                args[i] = type.getEnumConstants()[0];
+            } else {
+                throw new IllegalArgumentException("Sin argumento sintético para " + type + " en " + method
+                        + "; registrarlo en ARGUMENTS");
+            }
+        }
+        return args;
+    }
+
+    private List<String> seqScannedLargeTables(Connection connection, CapturedStatement statement) throws Exception {
+        try (Statement explain = connection.createStatement();
+             ResultSet plan = explain.executeQuery("EXPLAIN (FORMAT JSON) " + statement.inlined())) {
+            plan.next();
+            List<String> tables = new ArrayList<>();
+            collectSeqScans(objectMapper.readTree(plan.getString(1)).get(0).get("Plan"), tables);
+            return tables;
+        }
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+    }
+
+    /**
+     * Sentencia emitida con los parámetros enlazados, en orden de posición
+     */
+    record CapturedStatement(String sql, List<Object> parameters) {
+
+        String inlined() {
+            StringBuilder sql = new StringBuilder();
+            int next = 0;
+            for (char c : this.sql.toCharArray()) {
+                if (c == '?' && next < parameters.size()) {
+                    sql.append(literal(parameters.get(next++)));
+                } else {
+                    sql.append(c);
+                }
+            }
+            return sql.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            if (value instanceof LocalDateTime || value instanceof java.sql.Timestamp) {
+                return "TIMESTAMP '" + value + "'";
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    /**
+     * DataSource que registra cada PreparedStatement ejecutado con sus parámetros
+     */
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        static final List<CapturedStatement> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(method, connection, args);
+                if (method.getName().equals("prepareStatement")) {
+                    return capture((PreparedStatement) result, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                    CAPTURED.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                }
+                return invoke(method, statement, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
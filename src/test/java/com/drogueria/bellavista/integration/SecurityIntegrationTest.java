@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.integration;
 
+import com.drogueria.bellavista.config.QueryBudget;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -62,6 +63,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(1)
     @DisplayName("Debe registrar usuario exitosamente")
+    @QueryBudget(max = 3)
     void shouldRegisterUserSuccessfully() {
         Map<String, Object> reg = new HashMap<>();
         reg.put("username", "securityuser");
@@ -81,6 +83,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(2)
     @DisplayName("No debe registrar usuario con username duplicado")
+    @QueryBudget(max = 1)
     void shouldNotRegisterDuplicateUsername() {
         Map<String, Object> reg = new HashMap<>();
         reg.put("username", "securityuser");
@@ -98,6 +101,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(3)
     @DisplayName("No debe registrar usuario con password corta")
+    @QueryBudget(max = 0)
     void shouldNotRegisterWithShortPassword() {
         Map<String, Object> reg = new HashMap<>();
         reg.put("username", "shortpass");
@@ -119,6 +123,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(4)
     @DisplayName("Debe hacer login exitosamente")
+    @QueryBudget(max = 3)
     void shouldLoginSuccessfully() {
         Map<String, Object> login = new HashMap<>();
         login.put("username", "securityuser");
@@ -137,6 +142,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(5)
     @DisplayName("No debe hacer login con password incorrecta")
+    @QueryBudget(max = 1)
     void shouldNotLoginWithWrongPassword() {
         Map<String, Object> login = new HashMap<>();
         login.put("username", "securityuser");
@@ -151,6 +157,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(6)
     @DisplayName("No debe hacer login con usuario inexistente")
+    @QueryBudget(max = 1)
     void shouldNotLoginWithNonExistentUser() {
         Map<String, Object> login = new HashMap<>();
         login.put("username", "noexiste");
@@ -169,6 +176,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(7)
     @DisplayName("Debe acceder a endpoint protegido con token válido")
+    @QueryBudget(max = 3)
     void shouldAccessProtectedEndpointWithValidToken() {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(validToken);
@@ -183,6 +191,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(8)
     @DisplayName("No debe acceder a endpoint protegido sin token")
+    @QueryBudget(max = 0)
     void shouldNotAccessProtectedEndpointWithoutToken() {
         ResponseEntity<Map> response = restTemplate.getForEntity(
                 baseUrl() + "/products", Map.class);
@@ -193,6 +202,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(9)
     @DisplayName("No debe acceder a endpoint protegido con token inválido")
+    @QueryBudget(max = 0)
     void shouldNotAccessProtectedEndpointWithInvalidToken() {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth("token.invalido.falso");
@@ -211,6 +221,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(10)
     @DisplayName("Endpoint de registro debe ser público")
+    @QueryBudget(max = 3)
     void registerEndpointShouldBePublic() {
         Map<String, Object> reg = new HashMap<>();
         reg.put("username", "publictest");
@@ -229,6 +240,7 @@ public class SecurityIntegrationTest {
     @Test
     @Order(11)
     @DisplayName("Endpoint de login debe ser público")
+    @QueryBudget(max = 1)
     void loginEndpointShouldBePublic() {
         Map<String, Object> login = new HashMap<>();
         login.put("username", "cualquiera");
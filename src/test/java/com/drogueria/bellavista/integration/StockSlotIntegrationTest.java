@@ -0,0 +1,195 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.repository.StockSlotRepository;
+import com.drogueria.bellavista.domain.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración de las particiones de stock contra Postgres:
+ * el préstamo entre particiones no debe interbloquear dos pedidos
+ */
+@Testcontainers
+@SpringBootTest
+@DisplayName("Stock Slot Integration Tests")
+@org.springframework.context.annotation.Import(com.drogueria.bellavista.config.TestMailConfig.class)
+public class StockSlotIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.jwt.secret", () -> "test-secret-key-with-at-least-32-characters-for-testing");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockSlotRepository stockSlotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Quien ya retiene una partición no espera por las demás: falla y se reintenta")
+    void borrowWhileHoldingSlot_FailsFastInsteadOfDeadlocking() throws Exception {
+        // Given - 10 unidades en 2 particiones de 5
+        Product created = productService.createProduct(Product.builder()
+                .code("SLOT-001")
+                .name("Producto particionado")
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build());
+        Long id = created.getId();
+        productService.enableStockSharding(id, 2);
+
+        CountDownLatch firstLocked = new CountDownLatch(1);
+        CountDownLatch secondLocked = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+
+        // When - cada pedido toma una partición y luego pide más de lo que tiene la suya
+        CompletableFuture<Throwable> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    assertThat(stockSlotRepository.tryDecrement(id, 2, 1)).isTrue();
+                    firstLocked.countDown();
+                    await(secondLocked);
+                    stockSlotRepository.tryDecrement(id, 2, 6);
+                });
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            } finally {
+                firstDone.countDown();
+            }
+        });
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    await(firstLocked);
+                    assertThat(stockSlotRepository.tryDecrement(id, 2, 1)).isTrue();
+                    secondLocked.countDown();
+                    await(firstDone);
+                    return stockSlotRepository.tryDecrement(id, 2, 6);
+                }));
+
+        // Then - el primero falla con un conflicto reintentable y el segundo completa su préstamo
+        assertThat(first.get(10, TimeUnit.SECONDS)).isInstanceOf(ConcurrencyFailureException.class);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(stockSlotRepository.sumQuantity(id)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Quien retiene una partición de otro producto tampoco espera: no hay ciclo entre productos")
+    void borrowWhileHoldingSlotOfOtherProduct_FailsFastInsteadOfDeadlocking() throws Exception {
+        // Given - dos productos con 10 unidades en 2 particiones de 5
+        Long first = shardedProduct("SLOT-003");
+        Long second = shardedProduct("SLOT-004");
+
+        CountDownLatch firstLocked = new CountDownLatch(1);
+        CountDownLatch secondLocked = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+
+        // When - cada pedido toma una partición de un producto y luego pide prestado del otro
+        CompletableFuture<Throwable> firstOrder = CompletableFuture.supplyAsync(() -> {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    assertThat(stockSlotRepository.tryDecrement(first, 2, 1)).isTrue();
+                    firstLocked.countDown();
+                    await(secondLocked);
+                    stockSlotRepository.tryDecrement(second, 2, 6);
+                });
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            } finally {
+                firstDone.countDown();
+            }
+        });
+        CompletableFuture<Boolean> secondOrder = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    await(firstLocked);
+                    assertThat(stockSlotRepository.tryDecrement(second, 2, 1)).isTrue();
+                    secondLocked.countDown();
+                    await(firstDone);
+                    return stockSlotRepository.tryDecrement(first, 2, 6);
+                }));
+
+        // Then - el primero falla sin esperar y el segundo completa su préstamo
+        assertThat(firstOrder.get(10, TimeUnit.SECONDS)).isInstanceOf(ConcurrencyFailureException.class);
+        assertThat(secondOrder.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(stockSlotRepository.sumQuantity(first)).isEqualTo(4);
+        assertThat(stockSlotRepository.sumQuantity(second)).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Aumentar stock de un producto particionado sin filas recrea la partición")
+    void increment_WithoutSlots_CreatesSlot() {
+        // Given
+        Product created = productService.createProduct(Product.builder()
+                .code("SLOT-002")
+                .name("Producto sin particiones")
+                .price(new BigDecimal("1000"))
+                .stock(0)
+                .minStock(1)
+                .category("TEST")
+                .build());
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                stockSlotRepository.increment(created.getId(), 4, 5));
+
+        // Then
+        assertThat(stockSlotRepository.sumQuantity(created.getId())).isEqualTo(5);
+    }
+
+    private Long shardedProduct(String code) {
+        Product created = productService.createProduct(Product.builder()
+                .code(code)
+                .name("Producto particionado " + code)
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build());
+        productService.enableStockSharding(created.getId(), 2);
+        return created.getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.drogueria.bellavista.integration;
+
+import com.drogueria.bellavista.domain.model.Customer;
+import com.drogueria.bellavista.domain.model.Product;
+import com.drogueria.bellavista.domain.model.SyncChangeSet;
+import com.drogueria.bellavista.domain.repository.CustomerRepository;
+import com.drogueria.bellavista.domain.service.CollectionVersionService;
+import com.drogueria.bellavista.domain.service.CustomerService;
+import com.drogueria.bellavista.domain.service.ProductService;
+import com.drogueria.bellavista.domain.service.SyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Tests de integración de la sincronización incremental contra Postgres:
+ * orden de secuencias por confirmación, publicación de cambios de stock y versión
+ * de las colecciones derivada de esas secuencias
+ */
+@Testcontainers
+@SpringBootTest
+@DisplayName("Sync Change Feed Integration Tests")
+@org.springframework.context.annotation.Import(com.drogueria.bellavista.config.TestMailConfig.class)
+public class SyncChangeFeedIntegrationTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.jwt.secret", () -> "test-secret-key-with-at-least-32-characters-for-testing");
+        registry.add("app.sync.deferred-stamp-interval-ms", () -> "50");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @SpyBean
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Una transacción que confirma después recibe una secuencia mayor aunque escribió antes")
+    void changeSeq_FollowsCommitOrder() throws Exception {
+        // Given - la transacción lenta escribe su producto y queda abierta
+        long since = currentMaxSeq();
+        CountDownLatch slowWrote = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        CompletableFuture<Product> slow = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    Product created = productService.createProduct(product("SYNC-SLOW"));
+                    slowWrote.countDown();
+                    await(releaseSlow);
+                    return created;
+                }));
+        assertThat(slowWrote.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When - otra transacción escribe y confirma antes
+        Product fast = productService.createProduct(product("SYNC-FAST"));
+        SyncChangeSet beforeSlowCommit = syncService.getChangesSince(since, 100);
+        releaseSlow.countDown();
+        Product slowProduct = slow.get(10, TimeUnit.SECONDS);
+        SyncChangeSet afterSlowCommit = syncService.getChangesSince(beforeSlowCommit.getNextSince(), 100);
+
+        // Then - el cliente que avanzó hasta el cambio rápido igual recibe el lento
+        assertThat(beforeSlowCommit.getProducts()).extracting(Product::getId).containsExactly(fast.getId());
+        assertThat(afterSlowCommit.getProducts()).extracting(Product::getId).containsExactly(slowProduct.getId());
+    }
+
+    @Test
+    @DisplayName("Un cambio confirmado entre las lecturas de productos y clientes no se salta")
+    void changesCommittedBetweenReads_AreNotSkipped() throws Exception {
+        // Given - entre la lectura de productos y la de clientes otra transacción
+        // confirma un producto y después un cliente (con secuencia mayor)
+        long since = jdbcTemplate.queryForObject("SELECT last_value FROM catalog_change_seq", Long.class);
+        AtomicBoolean interleave = new AtomicBoolean(true);
+        Product[] committed = new Product[1];
+        doAnswer(invocation -> {
+            if (interleave.getAndSet(false)) {
+                CompletableFuture.runAsync(() -> {
+                    committed[0] = productService.createProduct(product("SYNC-BETWEEN"));
+                    customerService.createCustomer(customer("SYNC-BETWEEN"));
+                }).get(10, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(customerRepository).findChangedSince(anyLong(), anyInt());
+
+        // When - el cliente sincroniza dos veces seguidas
+        SyncChangeSet first = syncService.getChangesSince(since, 100);
+        SyncChangeSet second = syncService.getChangesSince(first.getNextSince(), 100);
+
+        // Then - la primera página no ve ninguno de los dos y la segunda recibe ambos
+        assertThat(first.getProducts()).isEmpty();
+        assertThat(first.getCustomers()).isEmpty();
+        assertThat(second.getProducts()).extracting(Product::getId).containsExactly(committed[0].getId());
+        assertThat(second.getCustomers()).extracting(Customer::getCode).containsExactly("SYNC-BETWEEN");
+    }
+
+    @Test
+    @DisplayName("Un cambio de stock en particiones se publica con el stock vigente")
+    void stockChangeOnSlots_IsPublishedWithCurrentStock() throws InterruptedException {
+        // Given - producto con stock repartido en particiones
+        Product created = productService.createProduct(product("SYNC-SLOTS"));
+        productService.enableStockSharding(created.getId(), 4);
+        long since = currentMaxSeq();
+
+        // When - un pedido descuenta de las particiones sin escribir la fila del producto
+        productService.reduceStock(created.getId(), 3);
+
+        // Then - el cambio aparece en la sincronización con la suma de las particiones
+        long deadline = System.currentTimeMillis() + 5000;
+        SyncChangeSet changes = syncService.getChangesSince(since, 100);
+        while (changes.getProducts().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            changes = syncService.getChangesSince(since, 100);
+        }
+        assertThat(changes.getProducts()).hasSize(1);
+        assertThat(changes.getProducts().get(0).getStock()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("La versión de la colección sigue a los cambios confirmados por cualquier instancia")
+    void collectionVersion_FollowsCommittedChanges() {
+        // Given
+        Product created = productService.createProduct(product("SYNC-VERSION"));
+        long afterCreate = collectionVersionService.currentVersion(CollectionVersionService.PRODUCTS);
+
+        // When - otra instancia confirma un cambio (solo la base de datos lo sabe)
+        jdbcTemplate.update("UPDATE products SET change_seq = nextval('catalog_change_seq') WHERE id = ?", created.getId());
+        long afterOtherInstance = collectionVersionService.currentVersion(CollectionVersionService.PRODUCTS);
+        productService.deleteProduct(created.getId());
+        long afterDelete = collectionVersionService.currentVersion(CollectionVersionService.PRODUCTS);
+
+        // Then
+        assertThat(afterCreate).isGreaterThanOrEqualTo(currentMaxSeq());
+        assertThat(afterOtherInstance).isGreaterThan(afterCreate);
+        assertThat(afterDelete).isGreaterThan(afterOtherInstance);
+    }
+
+    private Product product(String code) {
+        return Product.builder()
+                .code(code)
+                .name("Producto " + code)
+                .price(new BigDecimal("1000"))
+                .stock(10)
+                .minStock(1)
+                .category("TEST")
+                .build();
+    }
+
+    private Customer customer(String code) {
+        return Customer.builder()
+                .code(code)
+                .name("Cliente " + code)
+                .documentNumber(code)
+                .creditLimit(new BigDecimal("1000"))
+                .build();
+    }
+
+    private long currentMaxSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM products", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.drogueria.bellavista.integration;
 
+import com.drogueria.bellavista.config.QueryBudget;
 import com.drogueria.bellavista.application.dto.LoginRequestDTO;
 import com.drogueria.bellavista.application.dto.RegisterRequestDTO;
 import com.drogueria.bellavista.application.dto.UpdateRoleRequestDTO;
@@ -112,6 +113,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("GET /users - Admin debe poder listar usuarios")
+    @QueryBudget(max = 20)
     void getAllUsers_asAdmin_shouldSucceed() throws Exception {
         mockMvc.perform(get("/users")
                 .header("Authorization", "Bearer " + adminToken))
@@ -124,6 +126,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("GET /users - Usuario regular no debe poder listar usuarios")
+    @QueryBudget(max = 19)
     void getAllUsers_asUser_shouldFail() throws Exception {
         mockMvc.perform(get("/users")
                 .header("Authorization", "Bearer " + userToken))
@@ -132,6 +135,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("GET /users - Sin token debe fallar")
+    @QueryBudget(max = 18)
     void getAllUsers_withoutToken_shouldFail() throws Exception {
         mockMvc.perform(get("/users"))
             .andExpect(status().isUnauthorized());
@@ -139,6 +143,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("GET /users/{id} - Admin debe poder ver usuario específico")
+    @QueryBudget(max = 18)
     void getUserById_asAdmin_shouldSucceed() throws Exception {
         // Obtener el ID del testuser desde la lista de usuarios
         MvcResult result = mockMvc.perform(get("/users")
@@ -167,6 +172,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("PATCH /users/{id}/role - Admin debe poder cambiar rol")
+    @QueryBudget(max = 23)
     void updateUserRole_asAdmin_shouldSucceed() throws Exception {
         // Obtener el ID del testuser
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -197,6 +203,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("PATCH /users/{id}/role - Usuario regular no debe poder cambiar roles")
+    @QueryBudget(max = 21)
     void updateUserRole_asUser_shouldFail() throws Exception {
         // Obtener el ID del admin
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -226,6 +233,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("PATCH /users/{id}/role - No debe permitir cambiar rol del único admin")
+    @QueryBudget(max = 23)
     void updateUserRole_lastAdmin_shouldFail() throws Exception {
         // Obtener el ID del admin
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -256,6 +264,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("PATCH /users/{id}/status - Admin debe poder desactivar usuario")
+    @QueryBudget(max = 21)
     void updateUserStatus_asAdmin_shouldSucceed() throws Exception {
         // Obtener el ID del testuser
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -285,6 +294,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("PATCH /users/{id}/status - No debe desactivar único admin")
+    @QueryBudget(max = 23)
     void updateUserStatus_lastAdmin_shouldFail() throws Exception {
         // Obtener el ID del admin
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -315,6 +325,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("DELETE /users/{id} - Admin debe poder eliminar usuario")
+    @QueryBudget(max = 25)
     void deleteUser_asAdmin_shouldSucceed() throws Exception {
         // Obtener el ID del testuser
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -343,6 +354,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("DELETE /users/{id} - No debe eliminar único admin")
+    @QueryBudget(max = 23)
     void deleteUser_lastAdmin_shouldFail() throws Exception {
         // Obtener el ID del admin
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -367,6 +379,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("DELETE /users/{id} - Usuario regular no debe poder eliminar")
+    @QueryBudget(max = 21)
     void deleteUser_asUser_shouldFail() throws Exception {
         // Obtener el ID del admin
         MvcResult listResult = mockMvc.perform(get("/users")
@@ -390,6 +403,7 @@ class UserManagementIntegrationTest {
     
     @Test
     @DisplayName("Flujo completo: Registrar, listar, cambiar rol, desactivar")
+    @QueryBudget(max = 30)
     void completeUserManagementFlow() throws Exception {
         // 1. Registrar nuevo usuario
         RegisterRequestDTO newUser = RegisterRequestDTO.builder()